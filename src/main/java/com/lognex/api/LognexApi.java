@@ -2,36 +2,111 @@ package com.lognex.api;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.lognex.api.clients.AsyncClient;
 import com.lognex.api.clients.EntityClient;
-import com.lognex.api.entities.AttributeEntity;
+import com.lognex.api.entities.ConsignmentEntity;
 import com.lognex.api.entities.CurrencyEntity;
+import com.lognex.api.entities.Meta;
 import com.lognex.api.entities.agents.AgentEntity;
-import com.lognex.api.entities.discounts.DiscountEntity;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.entities.agents.EmployeeEntity;
+import com.lognex.api.entities.agents.OrganizationEntity;
+import com.lognex.api.entities.discounts.*;
+import com.lognex.api.entities.documents.CashInDocumentEntity;
+import com.lognex.api.entities.documents.CashOutDocumentEntity;
+import com.lognex.api.entities.documents.PaymentInDocumentEntity;
+import com.lognex.api.entities.documents.PaymentOutDocumentEntity;
 import com.lognex.api.entities.documents.markers.FinanceDocumentMarker;
 import com.lognex.api.entities.documents.markers.FinanceInDocumentMarker;
 import com.lognex.api.entities.documents.markers.FinanceOutDocumentMarker;
+import com.lognex.api.entities.products.BundleEntity;
+import com.lognex.api.entities.products.ProductEntity;
+import com.lognex.api.entities.products.ServiceEntity;
+import com.lognex.api.entities.products.VariantEntity;
 import com.lognex.api.entities.products.markers.ConsignmentParentMarker;
 import com.lognex.api.entities.products.markers.ProductMarker;
 import com.lognex.api.entities.products.markers.SingleProductMarker;
-import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.HttpClientConfig;
+import com.lognex.api.utils.RateLimiter;
+import com.lognex.api.utils.ResponseCache;
+import com.lognex.api.utils.RetryPolicy;
+import com.lognex.api.utils.TokenBucketRateLimiter;
 import com.lognex.api.utils.json.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Коннектор API. Экземпляр, созданный без собственного HTTP-клиента, создаёт пул соединений
+ * с фоновыми потоками (см. {@link HttpClientConfig}), поэтому его нужно закрыть
+ * ({@link #close()}), когда он больше не нужен. Экземпляр потокобезопасен, и обычно
+ * на приложение достаточно одного экземпляра на учётную запись
+ */
 @Getter
-public final class LognexApi {
+public final class LognexApi implements Closeable {
     public static final String API_PATH = "/api/remap/1.1";
+
+    /**
+     * Количество потоков общего пула асинхронных вызовов по умолчанию (см. {@link #getAsyncExecutor()}).
+     * Равно размеру пула соединений HTTP-клиента по умолчанию: остальные потоки всё равно ждали бы
+     * свободного соединения
+     */
+    public static final int DEFAULT_ASYNC_THREADS = 32;
+
+    /**
+     * Общие экземпляры GSON для всех сочетаний настроек форматированного вывода и
+     * миллисекунд в датах. Индекс в массиве — {@link #gsonIndex(boolean, boolean)}
+     */
+    private static final Gson[] sharedGson = {
+            createGson(false, false),
+            createGson(false, true),
+            createGson(true, false),
+            createGson(true, true)
+    };
+
+    /**
+     * Общие кодеки JSON по умолчанию для дат без миллисекунд и с миллисекундами
+     */
+    private static final JsonCodec[] sharedCodecs = {
+            new GsonCodec(getGson(false, false)),
+            new GsonCodec(getGson(false, true))
+    };
+
     private final String host;
     private String login;
     private String password;
     private CloseableHttpClient client;
+    @Getter(AccessLevel.NONE)
+    private CloseableHttpAsyncClient asyncClient;
+    @Getter(AccessLevel.NONE)
+    private HttpClientConfig httpClientConfig;
+    @Getter(AccessLevel.NONE)
+    private CloseableHttpClient ownClient;
+    @Getter(AccessLevel.NONE)
+    private CloseableHttpAsyncClient ownAsyncClient;
     private boolean timeWithMilliseconds = false;
     private boolean prettyPrintJson = false;
     private boolean pricePrecision = false;
     private boolean withoutWebhookContent = false;
+    private boolean responseCompression = true;
+    private boolean requestCompression = false;
+    private Executor asyncExecutor;
+    private RateLimiter rateLimiter;
+    private RetryPolicy retryPolicy;
+    private JsonCodec codec;
+    private ResponseCache responseCache;
 
     /**
      * Создаёт экземпляр коннектора API
@@ -42,7 +117,22 @@ public final class LognexApi {
      * @param password   пароль пользователя
      */
     public LognexApi(String host, boolean forceHttps, String login, String password) {
-        this(host, forceHttps, login, password, HttpClients.createDefault());
+        this(host, forceHttps, login, password, new HttpClientConfig());
+    }
+
+    /**
+     * Создаёт экземпляр коннектора API
+     *
+     * @param host             хост, на котором располагается API
+     * @param forceHttps       форсировать запрос через HTTPS
+     * @param login            логин пользователя
+     * @param password         пароль пользователя
+     * @param httpClientConfig настройки пула соединений и таймаутов HTTP-клиента
+     */
+    public LognexApi(String host, boolean forceHttps, String login, String password, HttpClientConfig httpClientConfig) {
+        this(host, forceHttps, login, password, httpClientConfig.build());
+        this.httpClientConfig = httpClientConfig;
+        this.ownClient = this.client;
     }
 
     /**
@@ -91,6 +181,55 @@ public final class LognexApi {
         this.client = client;
     }
 
+    /**
+     * Неблокирующий HTTP-клиент, которым выполняются запросы {@link #async()}.entity(). Если он
+     * не был задан с помощью {@link #setHttpAsyncClient(CloseableHttpAsyncClient)}, создаётся
+     * и запускается при первом обращении с настройками, переданными в конструктор
+     * (или с настройками {@link HttpClientConfig} по умолчанию)
+     */
+    public synchronized CloseableHttpAsyncClient getAsyncClient() {
+        if (asyncClient == null) {
+            asyncClient = (httpClientConfig == null ? new HttpClientConfig() : httpClientConfig).buildAsync();
+            asyncClient.start();
+            ownAsyncClient = asyncClient;
+        }
+
+        return asyncClient;
+    }
+
+    /**
+     * Устанавливает пользовательский неблокирующий HTTP-клиент для асинхронных запросов.
+     * Клиент должен быть запущен ({@link CloseableHttpAsyncClient#start()})
+     */
+    public synchronized void setHttpAsyncClient(CloseableHttpAsyncClient asyncClient) {
+        this.asyncClient = asyncClient;
+    }
+
+    /**
+     * Закрывает HTTP-клиенты, созданные этим экземпляром (пул соединений по умолчанию и неблокирующий
+     * клиент асинхронных запросов), и останавливает их фоновые потоки. Клиенты, переданные
+     * в конструктор или установленные с помощью {@link #setHttpClient(CloseableHttpClient)}
+     * и {@link #setHttpAsyncClient(CloseableHttpAsyncClient)}, не закрываются
+     */
+    @Override
+    public void close() throws IOException {
+        CloseableHttpClient client;
+        CloseableHttpAsyncClient asyncClient;
+        synchronized (this) {
+            client = ownClient;
+            asyncClient = ownAsyncClient;
+            if (this.asyncClient == ownAsyncClient) this.asyncClient = null;
+            ownClient = null;
+            ownAsyncClient = null;
+        }
+
+        try {
+            if (asyncClient != null) asyncClient.close();
+        } finally {
+            if (client != null) client.close();
+        }
+    }
+
     /**
      * Группа методов API, соответствующих пути <code>/entity/*</code><br/>
      * <br/>
@@ -102,6 +241,60 @@ public final class LognexApi {
         return new EntityClient(this);
     }
 
+    /**
+     * Группа асинхронных вызовов API: неблокирующие запросы к сущностям
+     * (<code>api.async().entity().product().get(id)</code>) и выполнение произвольных
+     * вызовов в пуле потоков (см. {@link AsyncClient})
+     */
+    public AsyncClient async() {
+        return new AsyncClient(this);
+    }
+
+    /**
+     * Пул потоков, в котором выполняются асинхронные вызовы API ({@link AsyncClient#call(AsyncClient.ApiCall)}).
+     * Если он не был задан с помощью {@link #asyncExecutor(Executor)}, используется общий для всех
+     * экземпляров пул из {@link #DEFAULT_ASYNC_THREADS} потоков-демонов: вызовы сверх этого
+     * количества ждут в очереди
+     */
+    public Executor getAsyncExecutor() {
+        return asyncExecutor == null ? DefaultAsyncExecutor.INSTANCE : asyncExecutor;
+    }
+
+    /**
+     * Возвращает общий экземпляр GSON с настроенными сериализаторами и десериализаторами
+     * для некоторых классов и сущностей. В отличие от {@link #createGson(boolean, boolean)},
+     * не создаёт новый экземпляр при каждом вызове: экземпляры GSON потокобезопасны и
+     * переиспользуют кеш адаптеров типов между запросами
+     *
+     * @param prettyPrinting       форматированный вывод
+     * @param timeWithMilliseconds даты с миллисекундами
+     */
+    public static Gson getGson(boolean prettyPrinting, boolean timeWithMilliseconds) {
+        return sharedGson[gsonIndex(prettyPrinting, timeWithMilliseconds)];
+    }
+
+    /**
+     * Возвращает общий кодек JSON по умолчанию (на основе {@link #getGson(boolean, boolean)})
+     *
+     * @param timeWithMilliseconds даты с миллисекундами
+     */
+    public static JsonCodec getDefaultCodec(boolean timeWithMilliseconds) {
+        return sharedCodecs[timeWithMilliseconds ? 1 : 0];
+    }
+
+    /**
+     * Кодек JSON, с помощью которого читаются ответы и пишутся тела запросов. Если он не был
+     * задан с помощью {@link #codec(JsonCodec)}, используется кодек по умолчанию
+     * с учётом настройки {@link #timeWithMilliseconds(boolean)}
+     */
+    public JsonCodec getCodec() {
+        return codec == null ? getDefaultCodec(timeWithMilliseconds) : codec;
+    }
+
+    private static int gsonIndex(boolean prettyPrinting, boolean timeWithMilliseconds) {
+        return (prettyPrinting ? 2 : 0) + (timeWithMilliseconds ? 1 : 0);
+    }
+
     /**
      * Создаёт экземпляр GSON с настроенными сериализаторами и десериализаторами для
      * некоторых классов и сущностей
@@ -131,26 +324,57 @@ public final class LognexApi {
             gb.setPrettyPrinting();
         }
 
-        ProductMarkerSerializer pmse = new ProductMarkerSerializer();
-        gb.registerTypeAdapter(ProductMarker.class, pmse);
-        gb.registerTypeAdapter(SingleProductMarker.class, pmse);
-        gb.registerTypeAdapter(ConsignmentParentMarker.class, pmse);
-
-        FinanceDocumentMarkerSerializer fdms = new FinanceDocumentMarkerSerializer();
-        gb.registerTypeAdapter(FinanceDocumentMarker.class, fdms);
-        gb.registerTypeAdapter(FinanceInDocumentMarker.class, fdms);
-        gb.registerTypeAdapter(FinanceOutDocumentMarker.class, fdms);
+        for (MetaTypeAdapterFactory factory : createMetaTypeAdapterFactories()) {
+            gb.registerTypeAdapterFactory(factory);
+        }
 
-        gb.registerTypeAdapter(AgentEntity.class, new AgentDeserializer());
-        gb.registerTypeAdapter(AttributeEntity.class, new AttributeSerializer(timeWithMilliseconds));
+        gb.registerTypeAdapterFactory(new AttributeTypeAdapterFactory(timeWithMilliseconds));
+        gb.registerTypeAdapterFactory(new ImageTypeAdapterFactory());
+        gb.registerTypeAdapterFactory(new BulkResponseTypeAdapterFactory());
         gb.registerTypeAdapter(CurrencyEntity.MultiplicityType.class, new CurrencyEntity.MultiplicityType.Serializer());
-        gb.registerTypeAdapter(DiscountEntity.class, new DiscountDeserializer());
-        gb.registerTypeAdapter(ListEntity.class, new ListEntityDeserializer());
+        gb.registerTypeAdapterFactory(new ListEntityTypeAdapterFactory());
         gb.registerTypeAdapter(LocalDateTime.class, new LocalDateTimeSerializer(timeWithMilliseconds));
 
         return gb.create();
     }
 
+    /**
+     * Создаёт фабрики адаптеров полей, класс которых выбирается по <code>meta.type</code>
+     * (<code>ProductMarker</code>, <code>FinanceDocumentMarker</code>, <code>AgentEntity</code>,
+     * <code>DiscountEntity</code>). Используются экземплярами GSON из {@link #createGson(boolean, boolean)}
+     * и другими реализациями {@link JsonCodec}
+     */
+    public static List<MetaTypeAdapterFactory> createMetaTypeAdapterFactories() {
+        return Arrays.asList(
+                new MetaTypeAdapterFactory("product", ProductMarker.class, SingleProductMarker.class, ConsignmentParentMarker.class).
+                        subtype(Meta.Type.product, ProductEntity.class).
+                        subtype(Meta.Type.service, ServiceEntity.class).
+                        subtype(Meta.Type.bundle, BundleEntity.class).
+                        subtype(Meta.Type.variant, VariantEntity.class).
+                        subtype(Meta.Type.consignment, ConsignmentEntity.class),
+
+                new MetaTypeAdapterFactory("payments", FinanceDocumentMarker.class, FinanceInDocumentMarker.class, FinanceOutDocumentMarker.class).
+                        subtype(Meta.Type.cashin, CashInDocumentEntity.class).
+                        subtype(Meta.Type.cashout, CashOutDocumentEntity.class).
+                        subtype(Meta.Type.paymentin, PaymentInDocumentEntity.class).
+                        subtype(Meta.Type.paymentout, PaymentOutDocumentEntity.class),
+
+                new MetaTypeAdapterFactory("agent", AgentEntity.class).
+                        subtype(Meta.Type.organization, OrganizationEntity.class).
+                        subtype(Meta.Type.counterparty, CounterpartyEntity.class).
+                        subtype(Meta.Type.employee, EmployeeEntity.class).
+                        serializeRuntimeType(false),
+
+                new MetaTypeAdapterFactory("discount", DiscountEntity.class).
+                        subtype(Meta.Type.accumulationdiscount, AccumulationDiscountEntity.class).
+                        subtype(Meta.Type.bonusprogram, BonusProgramDiscountEntity.class).
+                        subtype(Meta.Type.discount, DiscountEntity.class).
+                        subtype(Meta.Type.personaldiscount, PersonalDiscountEntity.class).
+                        subtype(Meta.Type.specialpricediscount, SpecialPriceDiscountEntity.class).
+                        serializeRuntimeType(false)
+        );
+    }
+
     public LognexApi timeWithMilliseconds() {
         return timeWithMilliseconds(true);
     }
@@ -186,4 +410,114 @@ public final class LognexApi {
         this.withoutWebhookContent = without;
         return this;
     }
+
+    /**
+     * Включает или отключает запрос сжатых ответов (заголовок <code>Accept-Encoding: gzip, deflate</code>).
+     * Ответы распаковываются по мере чтения. По умолчанию включено
+     */
+    public LognexApi responseCompression(boolean value) {
+        this.responseCompression = value;
+        return this;
+    }
+
+    /**
+     * Включает сжатие в gzip больших тел запросов (например, массового создания и обновления сущностей)
+     */
+    public LognexApi requestCompression() {
+        return requestCompression(true);
+    }
+
+    /**
+     * Включает или отключает сжатие в gzip тел запросов размером от
+     * {@link com.lognex.api.utils.HttpRequestExecutor#REQUEST_COMPRESSION_MIN_SIZE} байт.
+     * По умолчанию отключено: включайте, только если сервер принимает запросы
+     * с заголовком <code>Content-Encoding: gzip</code>
+     */
+    public LognexApi requestCompression(boolean value) {
+        this.requestCompression = value;
+        return this;
+    }
+
+    /**
+     * Задаёт пул потоков, в котором будут выполняться асинхронные вызовы API. Каждый вызов
+     * занимает поток на всё время запроса, поэтому пул должен быть ограниченного размера
+     * (например, {@link java.util.concurrent.Executors#newFixedThreadPool(int)}). Запросы
+     * {@link #async()}.entity() выполняются без пула потоков и от этой настройки не зависят
+     */
+    public LognexApi asyncExecutor(Executor executor) {
+        this.asyncExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Включает ограничение запросов на стороне клиента в соответствии с лимитами API.
+     * Ограничитель общий для всех экземпляров LognexApi с текущим логином
+     * (см. {@link TokenBucketRateLimiter#forLogin(String)})
+     */
+    public LognexApi rateLimit() {
+        return rateLimiter(TokenBucketRateLimiter.forLogin(login));
+    }
+
+    /**
+     * Задаёт ограничитель запросов на стороне клиента (<code>null</code> — без ограничений)
+     */
+    public LognexApi rateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    /**
+     * Включает повтор запросов при временных ошибках с политикой по умолчанию
+     * (см. {@link RetryPolicy})
+     */
+    public LognexApi retry() {
+        return retryPolicy(new RetryPolicy());
+    }
+
+    /**
+     * Задаёт политику повтора запросов при временных ошибках (<code>null</code> — без повторов)
+     */
+    public LognexApi retryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * Задаёт кеш ответов на запросы сущностей по идентификатору и по ссылке из метаданных
+     * (<code>null</code> — без кеширования, по умолчанию). Кеш можно использовать
+     * в нескольких экземплярах LognexApi с одинаковыми правами доступа
+     * (см. {@link com.lognex.api.utils.InMemoryResponseCache})
+     */
+    public LognexApi responseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
+    /**
+     * Задаёт кодек JSON для запросов и ответов (<code>null</code> — кодек по умолчанию на основе GSON).
+     * Кодек отвечает за формат дат сам, поэтому настройка {@link #timeWithMilliseconds(boolean)}
+     * на него не влияет
+     */
+    public LognexApi codec(JsonCodec codec) {
+        this.codec = codec;
+        return this;
+    }
+
+    private static final class DefaultAsyncExecutor {
+        private static final AtomicInteger threadCounter = new AtomicInteger();
+        private static final ThreadPoolExecutor INSTANCE = new ThreadPoolExecutor(
+                DEFAULT_ASYNC_THREADS, DEFAULT_ASYNC_THREADS,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "lognex-api-async-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        static {
+            INSTANCE.allowCoreThreadTimeOut(true);
+        }
+    }
 }
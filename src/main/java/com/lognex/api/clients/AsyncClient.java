@@ -0,0 +1,79 @@
+package com.lognex.api.clients;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.async.AsyncEntityClient;
+import com.lognex.api.utils.LognexApiException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Асинхронные вызовы методов API. Запросы к сущностям ({@link #entity()}) выполняются
+ * неблокирующим HTTP-клиентом. Произвольные вызовы ({@link #call(ApiCall)}, {@link #run(ApiAction)})
+ * выполняются в пуле потоков, заданном в {@link LognexApi#asyncExecutor(java.util.concurrent.Executor)},
+ * и занимают поток на всё время вызова. Результат возвращается в виде {@link CompletableFuture}.
+ * Ошибки ({@link IOException}, {@link LognexApiException}) завершают CompletableFuture
+ * исключением без обёрток.<br/>
+ * <br/>
+ * Пример:
+ * <pre>
+ * api.async().entity().product().get(id).thenAccept(...);
+ * api.async().call(a -&gt; a.entity().product().iterate()...);
+ * </pre>
+ */
+public final class AsyncClient {
+    private final LognexApi api;
+
+    public AsyncClient(LognexApi api) {
+        this.api = api;
+    }
+
+    /**
+     * Неблокирующие запросы к методам API, соответствующим пути <code>/entity/*</code>
+     * (см. {@link AsyncEntityClient})
+     */
+    public AsyncEntityClient entity() {
+        return new AsyncEntityClient(api);
+    }
+
+    /**
+     * Асинхронно выполняет вызов API, возвращающий результат
+     */
+    public <T> CompletableFuture<T> call(ApiCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        try {
+            api.getAsyncExecutor().execute(() -> {
+                try {
+                    future.complete(call.call(api));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Асинхронно выполняет вызов API, не возвращающий результат (например <code>delete()</code>)
+     */
+    public CompletableFuture<Void> run(ApiAction action) {
+        return call(a -> {
+            action.run(a);
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    public interface ApiCall<T> {
+        T call(LognexApi api) throws IOException, LognexApiException;
+    }
+
+    @FunctionalInterface
+    public interface ApiAction {
+        void run(LognexApi api) throws IOException, LognexApiException;
+    }
+}
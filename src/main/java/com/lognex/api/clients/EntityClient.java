@@ -280,4 +280,9 @@ public final class EntityClient {
     public TaskClient task() {
         return new TaskClient(api);
     }
+
+    @ApiChainElement
+    public WebHookClient webhook() {
+        return new WebHookClient(api);
+    }
 }
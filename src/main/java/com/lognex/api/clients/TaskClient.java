@@ -14,7 +14,7 @@ public final class TaskClient
         PutByIdEndpoint<TaskEntity>,
         DeleteByIdEndpoint {
 
-    TaskClient(LognexApi api) {
+    public TaskClient(LognexApi api) {
         super(api, "/entity/task/");
     }
 
@@ -0,0 +1,25 @@
+package com.lognex.api.clients;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.endpoints.*;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.entities.WebHookEntity;
+
+public final class WebHookClient
+        extends ApiClient
+        implements
+        GetListEndpoint<WebHookEntity>,
+        PostEndpoint<WebHookEntity>,
+        DeleteByIdEndpoint,
+        GetByIdEndpoint<WebHookEntity>,
+        PutByIdEndpoint<WebHookEntity> {
+
+    public WebHookClient(LognexApi api) {
+        super(api, "/entity/webhook/");
+    }
+
+    @Override
+    public Class<? extends MetaEntity> entityClass() {
+        return WebHookEntity.class;
+    }
+}
@@ -0,0 +1,32 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.endpoints.Endpoint;
+import com.lognex.api.entities.MetaEntity;
+
+/**
+ * Асинхронный клиент, обращающийся к тому же методу API, что и синхронный клиент
+ * из {@link com.lognex.api.clients.EntityClient}
+ */
+public abstract class AsyncApiClient implements AsyncEndpoint {
+    protected final Endpoint endpoint;
+
+    public AsyncApiClient(Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public String path() {
+        return endpoint.path();
+    }
+
+    @Override
+    public LognexApi api() {
+        return endpoint.api();
+    }
+
+    @Override
+    public Class<? extends MetaEntity> entityClass() {
+        return endpoint.entityClass();
+    }
+}
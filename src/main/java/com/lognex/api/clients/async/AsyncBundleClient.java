@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.BundleClient;
+import com.lognex.api.entities.products.BundleEntity;
+
+public final class AsyncBundleClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<BundleEntity>,
+        AsyncPostEndpoint<BundleEntity>,
+        AsyncGetByIdEndpoint<BundleEntity>,
+        AsyncPutByIdEndpoint<BundleEntity>,
+        AsyncDeleteByIdEndpoint {
+
+    public AsyncBundleClient(LognexApi api) {
+        super(new BundleClient(api));
+    }
+}
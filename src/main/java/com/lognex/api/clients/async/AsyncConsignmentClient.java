@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.ConsignmentClient;
+import com.lognex.api.entities.ConsignmentEntity;
+
+public final class AsyncConsignmentClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<ConsignmentEntity>,
+        AsyncPostEndpoint<ConsignmentEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<ConsignmentEntity>,
+        AsyncPutByIdEndpoint<ConsignmentEntity> {
+
+    public AsyncConsignmentClient(LognexApi api) {
+        super(new ConsignmentClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.ContractClient;
+import com.lognex.api.entities.ContractEntity;
+
+public final class AsyncContractClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<ContractEntity>,
+        AsyncPostEndpoint<ContractEntity> {
+
+    public AsyncContractClient(LognexApi api) {
+        super(new ContractClient(api));
+    }
+}
@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.CounterpartyClient;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+
+public final class AsyncCounterpartyClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<CounterpartyEntity>,
+        AsyncPostEndpoint<CounterpartyEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<CounterpartyEntity>,
+        AsyncPutByIdEndpoint<CounterpartyEntity> {
+
+    public AsyncCounterpartyClient(LognexApi api) {
+        super(new CounterpartyClient(api));
+    }
+}
@@ -0,0 +1,18 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.CountryClient;
+import com.lognex.api.entities.CountryEntity;
+
+public final class AsyncCountryClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<CountryEntity>,
+        AsyncPostEndpoint<CountryEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<CountryEntity> {
+
+    public AsyncCountryClient(LognexApi api) {
+        super(new CountryClient(api));
+    }
+}
@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.CurrencyClient;
+import com.lognex.api.entities.CurrencyEntity;
+
+public final class AsyncCurrencyClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<CurrencyEntity>,
+        AsyncPostEndpoint<CurrencyEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<CurrencyEntity>,
+        AsyncPutByIdEndpoint<CurrencyEntity> {
+
+    public AsyncCurrencyClient(LognexApi api) {
+        super(new CurrencyClient(api));
+    }
+}
@@ -0,0 +1,17 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.CustomEntityClient;
+import com.lognex.api.entities.CustomEntity;
+
+public final class AsyncCustomEntityClient
+        extends AsyncApiClient
+        implements
+        AsyncPostEndpoint<CustomEntity>,
+        AsyncPutByIdEndpoint<CustomEntity>,
+        AsyncDeleteByIdEndpoint {
+
+    public AsyncCustomEntityClient(LognexApi api) {
+        super(new CustomEntityClient(api));
+    }
+}
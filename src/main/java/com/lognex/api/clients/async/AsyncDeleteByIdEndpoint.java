@@ -0,0 +1,21 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.utils.HttpRequestExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncDeleteByIdEndpoint extends AsyncEndpoint {
+    /**
+     * Асинхронно удаляет сущность по id
+     */
+    default CompletableFuture<Void> delete(String id) {
+        return HttpRequestExecutor.
+                path(api(), path() + id).
+                deleteAsync();
+    }
+
+    default CompletableFuture<Void> delete(MetaEntity entity) {
+        return delete(entity.getId());
+    }
+}
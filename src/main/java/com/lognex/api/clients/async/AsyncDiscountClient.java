@@ -0,0 +1,15 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.DiscountClient;
+import com.lognex.api.entities.discounts.DiscountEntity;
+
+public final class AsyncDiscountClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<DiscountEntity> {
+
+    public AsyncDiscountClient(LognexApi api) {
+        super(new DiscountClient(api));
+    }
+}
@@ -0,0 +1,17 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentCashInClient;
+import com.lognex.api.entities.documents.CashInDocumentEntity;
+
+public final class AsyncDocumentCashInClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<CashInDocumentEntity>,
+        AsyncPostEndpoint<CashInDocumentEntity>,
+        AsyncDeleteByIdEndpoint {
+
+    public AsyncDocumentCashInClient(LognexApi api) {
+        super(new DocumentCashInClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentCashOutClient;
+import com.lognex.api.entities.documents.CashOutDocumentEntity;
+
+public final class AsyncDocumentCashOutClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<CashOutDocumentEntity>,
+        AsyncPostEndpoint<CashOutDocumentEntity> {
+
+    public AsyncDocumentCashOutClient(LognexApi api) {
+        super(new DocumentCashOutClient(api));
+    }
+}
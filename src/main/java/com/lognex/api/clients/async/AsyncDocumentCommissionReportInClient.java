@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentCommissionReportInClient;
+import com.lognex.api.entities.documents.CommissionReportInDocumentEntity;
+
+public final class AsyncDocumentCommissionReportInClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<CommissionReportInDocumentEntity>,
+        AsyncPostEndpoint<CommissionReportInDocumentEntity> {
+
+    public AsyncDocumentCommissionReportInClient(LognexApi api) {
+        super(new DocumentCommissionReportInClient(api));
+    }
+}
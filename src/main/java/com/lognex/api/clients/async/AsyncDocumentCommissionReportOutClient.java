@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentCommissionReportOutClient;
+import com.lognex.api.entities.documents.CommissionReportOutDocumentEntity;
+
+public final class AsyncDocumentCommissionReportOutClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<CommissionReportOutDocumentEntity>,
+        AsyncPostEndpoint<CommissionReportOutDocumentEntity> {
+
+    public AsyncDocumentCommissionReportOutClient(LognexApi api) {
+        super(new DocumentCommissionReportOutClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentCustomerOrderClient;
+import com.lognex.api.entities.documents.CustomerOrderDocumentEntity;
+
+public final class AsyncDocumentCustomerOrderClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<CustomerOrderDocumentEntity>,
+        AsyncPostEndpoint<CustomerOrderDocumentEntity> {
+
+    public AsyncDocumentCustomerOrderClient(LognexApi api) {
+        super(new DocumentCustomerOrderClient(api));
+    }
+}
@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentDemandClient;
+import com.lognex.api.entities.documents.DemandDocumentEntity;
+
+public final class AsyncDocumentDemandClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<DemandDocumentEntity>,
+        AsyncPostEndpoint<DemandDocumentEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<DemandDocumentEntity>,
+        AsyncPutByIdEndpoint<DemandDocumentEntity> {
+
+    public AsyncDocumentDemandClient(LognexApi api) {
+        super(new DocumentDemandClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentEnterClient;
+import com.lognex.api.entities.documents.EnterDocumentEntity;
+
+public final class AsyncDocumentEnterClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<EnterDocumentEntity>,
+        AsyncPostEndpoint<EnterDocumentEntity> {
+
+    public AsyncDocumentEnterClient(LognexApi api) {
+        super(new DocumentEnterClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentFactureInClient;
+import com.lognex.api.entities.documents.FactureInDocumentEntity;
+
+public final class AsyncDocumentFactureInClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<FactureInDocumentEntity>,
+        AsyncPostEndpoint<FactureInDocumentEntity> {
+
+    public AsyncDocumentFactureInClient(LognexApi api) {
+        super(new DocumentFactureInClient(api));
+    }
+}
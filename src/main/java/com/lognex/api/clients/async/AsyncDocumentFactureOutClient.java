@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentFactureOutClient;
+import com.lognex.api.entities.documents.FactureOutDocumentEntity;
+
+public final class AsyncDocumentFactureOutClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<FactureOutDocumentEntity>,
+        AsyncPostEndpoint<FactureOutDocumentEntity>,
+        AsyncGetByIdEndpoint<FactureOutDocumentEntity>,
+        AsyncPutByIdEndpoint<FactureOutDocumentEntity>,
+        AsyncDeleteByIdEndpoint {
+
+    public AsyncDocumentFactureOutClient(LognexApi api) {
+        super(new DocumentFactureOutClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentInternalOrderClient;
+import com.lognex.api.entities.documents.InternalOrderDocumentEntity;
+
+public final class AsyncDocumentInternalOrderClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<InternalOrderDocumentEntity>,
+        AsyncPostEndpoint<InternalOrderDocumentEntity> {
+
+    public AsyncDocumentInternalOrderClient(LognexApi api) {
+        super(new DocumentInternalOrderClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentInventoryClient;
+import com.lognex.api.entities.documents.InventoryDocumentEntity;
+
+public final class AsyncDocumentInventoryClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<InventoryDocumentEntity>,
+        AsyncPostEndpoint<InventoryDocumentEntity> {
+
+    public AsyncDocumentInventoryClient(LognexApi api) {
+        super(new DocumentInventoryClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentInvoiceInClient;
+import com.lognex.api.entities.documents.InvoiceInDocumentEntity;
+
+public final class AsyncDocumentInvoiceInClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<InvoiceInDocumentEntity>,
+        AsyncPostEndpoint<InvoiceInDocumentEntity> {
+
+    public AsyncDocumentInvoiceInClient(LognexApi api) {
+        super(new DocumentInvoiceInClient(api));
+    }
+}
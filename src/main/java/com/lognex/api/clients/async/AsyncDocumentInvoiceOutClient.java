@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentInvoiceOutClient;
+import com.lognex.api.entities.documents.InvoiceOutDocumentEntity;
+
+public final class AsyncDocumentInvoiceOutClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<InvoiceOutDocumentEntity>,
+        AsyncPostEndpoint<InvoiceOutDocumentEntity> {
+
+    public AsyncDocumentInvoiceOutClient(LognexApi api) {
+        super(new DocumentInvoiceOutClient(api));
+    }
+}
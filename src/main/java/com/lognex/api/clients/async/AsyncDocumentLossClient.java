@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentLossClient;
+import com.lognex.api.entities.documents.LossDocumentEntity;
+
+public final class AsyncDocumentLossClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<LossDocumentEntity>,
+        AsyncPostEndpoint<LossDocumentEntity> {
+
+    public AsyncDocumentLossClient(LognexApi api) {
+        super(new DocumentLossClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentMoveClient;
+import com.lognex.api.entities.documents.MoveDocumentEntity;
+
+public final class AsyncDocumentMoveClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<MoveDocumentEntity>,
+        AsyncPostEndpoint<MoveDocumentEntity> {
+
+    public AsyncDocumentMoveClient(LognexApi api) {
+        super(new DocumentMoveClient(api));
+    }
+}
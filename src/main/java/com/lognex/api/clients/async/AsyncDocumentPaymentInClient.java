@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentPaymentInClient;
+import com.lognex.api.entities.documents.PaymentInDocumentEntity;
+
+public final class AsyncDocumentPaymentInClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<PaymentInDocumentEntity>,
+        AsyncPostEndpoint<PaymentInDocumentEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<PaymentInDocumentEntity>,
+        AsyncPutByIdEndpoint<PaymentInDocumentEntity> {
+
+    public AsyncDocumentPaymentInClient(LognexApi api) {
+        super(new DocumentPaymentInClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentPaymentOutClient;
+import com.lognex.api.entities.documents.PaymentOutDocumentEntity;
+
+public final class AsyncDocumentPaymentOutClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<PaymentOutDocumentEntity>,
+        AsyncPostEndpoint<PaymentOutDocumentEntity> {
+
+    public AsyncDocumentPaymentOutClient(LognexApi api) {
+        super(new DocumentPaymentOutClient(api));
+    }
+}
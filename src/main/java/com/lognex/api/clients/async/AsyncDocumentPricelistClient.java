@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentPricelistClient;
+import com.lognex.api.entities.documents.PricelistDocumentEntity;
+
+public final class AsyncDocumentPricelistClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<PricelistDocumentEntity>,
+        AsyncPostEndpoint<PricelistDocumentEntity> {
+
+    public AsyncDocumentPricelistClient(LognexApi api) {
+        super(new DocumentPricelistClient(api));
+    }
+}
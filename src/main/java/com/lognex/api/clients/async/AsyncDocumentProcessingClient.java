@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentProcessingClient;
+import com.lognex.api.entities.documents.ProcessingDocumentEntity;
+
+public final class AsyncDocumentProcessingClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<ProcessingDocumentEntity>,
+        AsyncPostEndpoint<ProcessingDocumentEntity> {
+
+    public AsyncDocumentProcessingClient(LognexApi api) {
+        super(new DocumentProcessingClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentProcessingOrderClient;
+import com.lognex.api.entities.documents.ProcessingOrderDocumentEntity;
+
+public final class AsyncDocumentProcessingOrderClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<ProcessingOrderDocumentEntity>,
+        AsyncPostEndpoint<ProcessingOrderDocumentEntity> {
+
+    public AsyncDocumentProcessingOrderClient(LognexApi api) {
+        super(new DocumentProcessingOrderClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentProcessingPlanClient;
+import com.lognex.api.entities.documents.ProcessingPlanDocumentEntity;
+
+public final class AsyncDocumentProcessingPlanClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<ProcessingPlanDocumentEntity>,
+        AsyncPostEndpoint<ProcessingPlanDocumentEntity> {
+
+    public AsyncDocumentProcessingPlanClient(LognexApi api) {
+        super(new DocumentProcessingPlanClient(api));
+    }
+}
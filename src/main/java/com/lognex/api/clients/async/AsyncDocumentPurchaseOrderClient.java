@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentPurchaseOrderClient;
+import com.lognex.api.entities.documents.PurchaseOrderDocumentEntity;
+
+public final class AsyncDocumentPurchaseOrderClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<PurchaseOrderDocumentEntity>,
+        AsyncPostEndpoint<PurchaseOrderDocumentEntity> {
+
+    public AsyncDocumentPurchaseOrderClient(LognexApi api) {
+        super(new DocumentPurchaseOrderClient(api));
+    }
+}
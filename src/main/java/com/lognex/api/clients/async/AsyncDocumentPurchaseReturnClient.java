@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentPurchaseReturnClient;
+import com.lognex.api.entities.documents.PurchaseReturnDocumentEntity;
+
+public final class AsyncDocumentPurchaseReturnClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<PurchaseReturnDocumentEntity>,
+        AsyncPostEndpoint<PurchaseReturnDocumentEntity> {
+
+    public AsyncDocumentPurchaseReturnClient(LognexApi api) {
+        super(new DocumentPurchaseReturnClient(api));
+    }
+}
@@ -0,0 +1,17 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentRetailDemandClient;
+import com.lognex.api.entities.documents.RetailDemandDocumentEntity;
+
+public final class AsyncDocumentRetailDemandClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<RetailDemandDocumentEntity>,
+        AsyncPostEndpoint<RetailDemandDocumentEntity>,
+        AsyncDeleteByIdEndpoint {
+
+    public AsyncDocumentRetailDemandClient(LognexApi api) {
+        super(new DocumentRetailDemandClient(api));
+    }
+}
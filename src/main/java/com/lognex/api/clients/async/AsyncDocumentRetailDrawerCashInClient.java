@@ -0,0 +1,17 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentRetailDrawerCashInClient;
+import com.lognex.api.entities.documents.RetailDrawerCashInEntity;
+
+public final class AsyncDocumentRetailDrawerCashInClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<RetailDrawerCashInEntity>,
+        AsyncPostEndpoint<RetailDrawerCashInEntity>,
+        AsyncDeleteByIdEndpoint {
+
+    public AsyncDocumentRetailDrawerCashInClient(LognexApi api) {
+        super(new DocumentRetailDrawerCashInClient(api));
+    }
+}
@@ -0,0 +1,17 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentRetailDrawerCashOutClient;
+import com.lognex.api.entities.documents.RetailDrawerCashOutEntity;
+
+public final class AsyncDocumentRetailDrawerCashOutClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<RetailDrawerCashOutEntity>,
+        AsyncPostEndpoint<RetailDrawerCashOutEntity>,
+        AsyncDeleteByIdEndpoint {
+
+    public AsyncDocumentRetailDrawerCashOutClient(LognexApi api) {
+        super(new DocumentRetailDrawerCashOutClient(api));
+    }
+}
@@ -0,0 +1,17 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentRetailSalesReturnClient;
+import com.lognex.api.entities.documents.RetailSalesReturnEntity;
+
+public final class AsyncDocumentRetailSalesReturnClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<RetailSalesReturnEntity>,
+        AsyncPostEndpoint<RetailSalesReturnEntity>,
+        AsyncDeleteByIdEndpoint {
+
+    public AsyncDocumentRetailSalesReturnClient(LognexApi api) {
+        super(new DocumentRetailSalesReturnClient(api));
+    }
+}
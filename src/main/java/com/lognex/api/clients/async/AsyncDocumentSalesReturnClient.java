@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentSalesReturnClient;
+import com.lognex.api.entities.documents.SalesReturnDocumentEntity;
+
+public final class AsyncDocumentSalesReturnClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<SalesReturnDocumentEntity>,
+        AsyncPostEndpoint<SalesReturnDocumentEntity> {
+
+    public AsyncDocumentSalesReturnClient(LognexApi api) {
+        super(new DocumentSalesReturnClient(api));
+    }
+}
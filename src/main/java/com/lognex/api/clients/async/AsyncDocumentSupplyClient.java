@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.documents.DocumentSupplyClient;
+import com.lognex.api.entities.documents.SupplyDocumentEntity;
+
+public final class AsyncDocumentSupplyClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<SupplyDocumentEntity>,
+        AsyncPostEndpoint<SupplyDocumentEntity> {
+
+    public AsyncDocumentSupplyClient(LognexApi api) {
+        super(new DocumentSupplyClient(api));
+    }
+}
@@ -0,0 +1,18 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.EmployeeClient;
+import com.lognex.api.entities.agents.EmployeeEntity;
+
+public final class AsyncEmployeeClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<EmployeeEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<EmployeeEntity>,
+        AsyncPutByIdEndpoint<EmployeeEntity> {
+
+    public AsyncEmployeeClient(LognexApi api) {
+        super(new EmployeeClient(api));
+    }
+}
@@ -0,0 +1,12 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.MetaEntity;
+
+public interface AsyncEndpoint {
+    String path();
+
+    LognexApi api();
+
+    Class<? extends MetaEntity> entityClass();
+}
@@ -0,0 +1,235 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+
+/**
+ * Неблокирующие запросы к методам API, соответствующим пути <code>/entity/*</code>
+ * (см. {@link com.lognex.api.clients.EntityClient}). Запросы выполняются неблокирующим
+ * HTTP-клиентом ({@link LognexApi#getAsyncClient()}) и не занимают потоков во время ожидания
+ * соединения и ответа, поэтому тысячи одновременных вызовов не создают тысячи потоков. Результат возвращается
+ * в виде {@link java.util.concurrent.CompletableFuture}, а ошибки ({@link java.io.IOException},
+ * {@link com.lognex.api.utils.LognexApiException}) завершают его исключением без обёрток.<br/>
+ * <br/>
+ * Продолжения CompletableFuture вызываются в потоке ввода-вывода клиента: долгую обработку
+ * результатов выполняйте в своём пуле потоков (<code>thenApplyAsync(..., executor)</code>).<br/>
+ * <br/>
+ * Пример:
+ * <pre>
+ * api.async().entity().product().get(id).thenAccept(product -&gt; ...);
+ * </pre>
+ */
+public final class AsyncEntityClient {
+    private final LognexApi api;
+
+    public AsyncEntityClient(LognexApi api) {
+        this.api = api;
+    }
+
+    public AsyncCounterpartyClient counterparty() {
+        return new AsyncCounterpartyClient(api);
+    }
+
+    public AsyncOrganizationClient organization() {
+        return new AsyncOrganizationClient(api);
+    }
+
+    public AsyncGroupClient group() {
+        return new AsyncGroupClient(api);
+    }
+
+    public AsyncEmployeeClient employee() {
+        return new AsyncEmployeeClient(api);
+    }
+
+    public AsyncDocumentCustomerOrderClient customerorder() {
+        return new AsyncDocumentCustomerOrderClient(api);
+    }
+
+    public AsyncDocumentDemandClient demand() {
+        return new AsyncDocumentDemandClient(api);
+    }
+
+    public AsyncDocumentEnterClient enter() {
+        return new AsyncDocumentEnterClient(api);
+    }
+
+    public AsyncDocumentInternalOrderClient internalorder() {
+        return new AsyncDocumentInternalOrderClient(api);
+    }
+
+    public AsyncDocumentLossClient loss() {
+        return new AsyncDocumentLossClient(api);
+    }
+
+    public AsyncDocumentMoveClient move() {
+        return new AsyncDocumentMoveClient(api);
+    }
+
+    public AsyncDocumentPurchaseOrderClient purchaseorder() {
+        return new AsyncDocumentPurchaseOrderClient(api);
+    }
+
+    public AsyncDocumentProcessingOrderClient processingorder() {
+        return new AsyncDocumentProcessingOrderClient(api);
+    }
+
+    public AsyncDocumentProcessingPlanClient processingplan() {
+        return new AsyncDocumentProcessingPlanClient(api);
+    }
+
+    public AsyncDocumentSalesReturnClient salesreturn() {
+        return new AsyncDocumentSalesReturnClient(api);
+    }
+
+    public AsyncDocumentPurchaseReturnClient purchasereturn() {
+        return new AsyncDocumentPurchaseReturnClient(api);
+    }
+
+    public AsyncDocumentSupplyClient supply() {
+        return new AsyncDocumentSupplyClient(api);
+    }
+
+    public AsyncStoreClient store() {
+        return new AsyncStoreClient(api);
+    }
+
+    public AsyncProductClient product() {
+        return new AsyncProductClient(api);
+    }
+
+    public AsyncVariantClient variant() {
+        return new AsyncVariantClient(api);
+    }
+
+    public AsyncCountryClient country() {
+        return new AsyncCountryClient(api);
+    }
+
+    public AsyncCurrencyClient currency() {
+        return new AsyncCurrencyClient(api);
+    }
+
+    public AsyncDiscountClient discount() {
+        return new AsyncDiscountClient(api);
+    }
+
+    public AsyncContractClient contract() {
+        return new AsyncContractClient(api);
+    }
+
+    public AsyncConsignmentClient consignment() {
+        return new AsyncConsignmentClient(api);
+    }
+
+    public AsyncProductFolderClient productfolder() {
+        return new AsyncProductFolderClient(api);
+    }
+
+    public AsyncServiceClient service() {
+        return new AsyncServiceClient(api);
+    }
+
+    public AsyncBundleClient bundle() {
+        return new AsyncBundleClient(api);
+    }
+
+    public AsyncUomClient uom() {
+        return new AsyncUomClient(api);
+    }
+
+    public AsyncDocumentCashInClient cashin() {
+        return new AsyncDocumentCashInClient(api);
+    }
+
+    public AsyncDocumentCashOutClient cashout() {
+        return new AsyncDocumentCashOutClient(api);
+    }
+
+    public AsyncRetailShiftClient retailshift() {
+        return new AsyncRetailShiftClient(api);
+    }
+
+    public AsyncRetailStoreClient retailstore() {
+        return new AsyncRetailStoreClient(api);
+    }
+
+    public AsyncDocumentRetailDemandClient retaildemand() {
+        return new AsyncDocumentRetailDemandClient(api);
+    }
+
+    public AsyncDocumentRetailSalesReturnClient retailsalesreturn() {
+        return new AsyncDocumentRetailSalesReturnClient(api);
+    }
+
+    public AsyncDocumentRetailDrawerCashInClient retaildrawercashin() {
+        return new AsyncDocumentRetailDrawerCashInClient(api);
+    }
+
+    public AsyncDocumentRetailDrawerCashOutClient retaildrawercashout() {
+        return new AsyncDocumentRetailDrawerCashOutClient(api);
+    }
+
+    public AsyncDocumentCommissionReportInClient commissionreportin() {
+        return new AsyncDocumentCommissionReportInClient(api);
+    }
+
+    public AsyncDocumentInvoiceInClient invoicein() {
+        return new AsyncDocumentInvoiceInClient(api);
+    }
+
+    public AsyncDocumentInvoiceOutClient invoiceout() {
+        return new AsyncDocumentInvoiceOutClient(api);
+    }
+
+    public AsyncDocumentInventoryClient inventory() {
+        return new AsyncDocumentInventoryClient(api);
+    }
+
+    public AsyncDocumentCommissionReportOutClient commissionreportout() {
+        return new AsyncDocumentCommissionReportOutClient(api);
+    }
+
+    public AsyncDocumentPaymentInClient paymentin() {
+        return new AsyncDocumentPaymentInClient(api);
+    }
+
+    public AsyncDocumentPaymentOutClient paymentout() {
+        return new AsyncDocumentPaymentOutClient(api);
+    }
+
+    public AsyncProjectClient project() {
+        return new AsyncProjectClient(api);
+    }
+
+    public AsyncExpenseItemClient expenseitem() {
+        return new AsyncExpenseItemClient(api);
+    }
+
+    public AsyncDocumentProcessingClient processing() {
+        return new AsyncDocumentProcessingClient(api);
+    }
+
+    public AsyncDocumentFactureInClient facturein() {
+        return new AsyncDocumentFactureInClient(api);
+    }
+
+    public AsyncDocumentFactureOutClient factureout() {
+        return new AsyncDocumentFactureOutClient(api);
+    }
+
+    public AsyncDocumentPricelistClient pricelist() {
+        return new AsyncDocumentPricelistClient(api);
+    }
+
+    public AsyncCustomEntityClient customentity() {
+        return new AsyncCustomEntityClient(api);
+    }
+
+    public AsyncTaskClient task() {
+        return new AsyncTaskClient(api);
+    }
+
+    public AsyncWebHookClient webhook() {
+        return new AsyncWebHookClient(api);
+    }
+}
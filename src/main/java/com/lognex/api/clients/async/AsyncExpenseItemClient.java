@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.ExpenseItemClient;
+import com.lognex.api.entities.ExpenseItemEntity;
+
+public final class AsyncExpenseItemClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<ExpenseItemEntity>,
+        AsyncPostEndpoint<ExpenseItemEntity> {
+
+    public AsyncExpenseItemClient(LognexApi api) {
+        super(new ExpenseItemClient(api));
+    }
+}
@@ -0,0 +1,23 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.utils.HttpRequestExecutor;
+import com.lognex.api.utils.params.ApiParam;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncGetByIdEndpoint<T extends MetaEntity> extends AsyncEndpoint {
+    /**
+     * Асинхронно запрашивает сущность по id (с учётом кеша ответов, если он задан)
+     */
+    default CompletableFuture<T> get(String id, ApiParam... params) {
+        return HttpRequestExecutor.
+                path(api(), path() + id).
+                apiParams(params).
+                getCachedAsync((Class<T>) entityClass());
+    }
+
+    default CompletableFuture<T> get(MetaEntity entity, ApiParam... params) {
+        return get(entity.getId(), params);
+    }
+}
@@ -0,0 +1,20 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.HttpRequestExecutor;
+import com.lognex.api.utils.params.ApiParam;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncGetListEndpoint<T extends MetaEntity> extends AsyncEndpoint {
+    /**
+     * Асинхронно запрашивает страницу списка
+     */
+    default CompletableFuture<ListEntity<T>> get(ApiParam... params) {
+        return HttpRequestExecutor.
+                path(api(), path()).
+                apiParams(params).
+                listAsync((Class<T>) entityClass());
+    }
+}
@@ -0,0 +1,17 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.GroupClient;
+import com.lognex.api.entities.GroupEntity;
+
+public final class AsyncGroupClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<GroupEntity>,
+        AsyncGetByIdEndpoint<GroupEntity>,
+        AsyncPostEndpoint<GroupEntity> {
+
+    public AsyncGroupClient(LognexApi api) {
+        super(new GroupClient(api));
+    }
+}
@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.OrganizationClient;
+import com.lognex.api.entities.agents.OrganizationEntity;
+
+public final class AsyncOrganizationClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<OrganizationEntity>,
+        AsyncPostEndpoint<OrganizationEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<OrganizationEntity>,
+        AsyncPutByIdEndpoint<OrganizationEntity> {
+
+    public AsyncOrganizationClient(LognexApi api) {
+        super(new OrganizationClient(api));
+    }
+}
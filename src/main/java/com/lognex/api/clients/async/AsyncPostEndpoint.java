@@ -0,0 +1,22 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.utils.HttpRequestExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncPostEndpoint<T extends MetaEntity> extends AsyncEndpoint {
+    /**
+     * Асинхронно создаёт сущность. Ответ API копируется в исходную сущность
+     */
+    default CompletableFuture<T> post(T newEntity) {
+        return HttpRequestExecutor.
+                path(api(), path()).
+                body(newEntity).
+                postAsync((Class<T>) entityClass()).
+                thenApply(responseEntity -> {
+                    newEntity.set(responseEntity);
+                    return newEntity;
+                });
+    }
+}
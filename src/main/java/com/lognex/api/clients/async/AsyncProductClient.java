@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.ProductClient;
+import com.lognex.api.entities.products.ProductEntity;
+
+public final class AsyncProductClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<ProductEntity>,
+        AsyncPostEndpoint<ProductEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<ProductEntity>,
+        AsyncPutByIdEndpoint<ProductEntity> {
+
+    public AsyncProductClient(LognexApi api) {
+        super(new ProductClient(api));
+    }
+}
@@ -0,0 +1,18 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.ProductFolderClient;
+import com.lognex.api.entities.ProductFolderEntity;
+
+public final class AsyncProductFolderClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<ProductFolderEntity>,
+        AsyncPostEndpoint<ProductFolderEntity>,
+        AsyncPutByIdEndpoint<ProductFolderEntity>,
+        AsyncDeleteByIdEndpoint {
+
+    public AsyncProductFolderClient(LognexApi api) {
+        super(new ProductFolderClient(api));
+    }
+}
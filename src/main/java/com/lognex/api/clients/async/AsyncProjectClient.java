@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.ProjectClient;
+import com.lognex.api.entities.ProjectEntity;
+
+public final class AsyncProjectClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<ProjectEntity>,
+        AsyncPostEndpoint<ProjectEntity> {
+
+    public AsyncProjectClient(LognexApi api) {
+        super(new ProjectClient(api));
+    }
+}
@@ -0,0 +1,23 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.utils.HttpRequestExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncPutByIdEndpoint<T extends MetaEntity> extends AsyncEndpoint {
+    /**
+     * Асинхронно обновляет сущность. Ответ API копируется в исходную сущность
+     */
+    default CompletableFuture<Void> put(String id, T updatedEntity) {
+        return HttpRequestExecutor.
+                path(api(), path() + id).
+                body(updatedEntity).
+                <T>putAsync((Class<T>) entityClass()).
+                thenAccept(updatedEntity::set);
+    }
+
+    default CompletableFuture<Void> put(T updatedEntity) {
+        return put(updatedEntity.getId(), updatedEntity);
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.RetailShiftClient;
+import com.lognex.api.entities.documents.RetailShiftDocumentEntity;
+
+public final class AsyncRetailShiftClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<RetailShiftDocumentEntity>,
+        AsyncDeleteByIdEndpoint {
+
+    public AsyncRetailShiftClient(LognexApi api) {
+        super(new RetailShiftClient(api));
+    }
+}
@@ -0,0 +1,15 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.RetailStoreClient;
+import com.lognex.api.entities.RetailStoreEntity;
+
+public final class AsyncRetailStoreClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<RetailStoreEntity> {
+
+    public AsyncRetailStoreClient(LognexApi api) {
+        super(new RetailStoreClient(api));
+    }
+}
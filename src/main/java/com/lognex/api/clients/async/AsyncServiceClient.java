@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.ServiceClient;
+import com.lognex.api.entities.products.ServiceEntity;
+
+public final class AsyncServiceClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<ServiceEntity>,
+        AsyncPostEndpoint<ServiceEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<ServiceEntity>,
+        AsyncPutByIdEndpoint<ServiceEntity> {
+
+    public AsyncServiceClient(LognexApi api) {
+        super(new ServiceClient(api));
+    }
+}
@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.StoreClient;
+import com.lognex.api.entities.StoreEntity;
+
+public final class AsyncStoreClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<StoreEntity>,
+        AsyncPostEndpoint<StoreEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<StoreEntity>,
+        AsyncPutByIdEndpoint<StoreEntity> {
+
+    public AsyncStoreClient(LognexApi api) {
+        super(new StoreClient(api));
+    }
+}
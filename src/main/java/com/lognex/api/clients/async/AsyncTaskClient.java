@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.TaskClient;
+import com.lognex.api.entities.TaskEntity;
+
+public final class AsyncTaskClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<TaskEntity>,
+        AsyncGetByIdEndpoint<TaskEntity>,
+        AsyncPostEndpoint<TaskEntity>,
+        AsyncPutByIdEndpoint<TaskEntity>,
+        AsyncDeleteByIdEndpoint {
+
+    public AsyncTaskClient(LognexApi api) {
+        super(new TaskClient(api));
+    }
+}
@@ -0,0 +1,16 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.UomClient;
+import com.lognex.api.entities.UomEntity;
+
+public final class AsyncUomClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<UomEntity>,
+        AsyncPostEndpoint<UomEntity> {
+
+    public AsyncUomClient(LognexApi api) {
+        super(new UomClient(api));
+    }
+}
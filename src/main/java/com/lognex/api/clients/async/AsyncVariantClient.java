@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.VariantClient;
+import com.lognex.api.entities.products.VariantEntity;
+
+public final class AsyncVariantClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<VariantEntity>,
+        AsyncPostEndpoint<VariantEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<VariantEntity>,
+        AsyncPutByIdEndpoint<VariantEntity> {
+
+    public AsyncVariantClient(LognexApi api) {
+        super(new VariantClient(api));
+    }
+}
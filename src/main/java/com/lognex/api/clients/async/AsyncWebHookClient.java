@@ -0,0 +1,19 @@
+package com.lognex.api.clients.async;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.clients.WebHookClient;
+import com.lognex.api.entities.WebHookEntity;
+
+public final class AsyncWebHookClient
+        extends AsyncApiClient
+        implements
+        AsyncGetListEndpoint<WebHookEntity>,
+        AsyncPostEndpoint<WebHookEntity>,
+        AsyncDeleteByIdEndpoint,
+        AsyncGetByIdEndpoint<WebHookEntity>,
+        AsyncPutByIdEndpoint<WebHookEntity> {
+
+    public AsyncWebHookClient(LognexApi api) {
+        super(new WebHookClient(api));
+    }
+}
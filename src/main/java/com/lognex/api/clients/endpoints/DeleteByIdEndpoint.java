@@ -1,10 +1,18 @@
 package com.lognex.api.clients.endpoints;
 
+import com.google.gson.JsonElement;
+import com.google.gson.reflect.TypeToken;
 import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.utils.BulkOperationException;
+import com.lognex.api.utils.ConcurrentRequests;
 import com.lognex.api.utils.HttpRequestExecutor;
 import com.lognex.api.utils.LognexApiException;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.stream.Collectors;
 
 public interface DeleteByIdEndpoint extends Endpoint {
     @ApiEndpoint
@@ -18,4 +26,78 @@ public interface DeleteByIdEndpoint extends Endpoint {
     default void delete(MetaEntity entity) throws IOException, LognexApiException {
         delete(entity.getId());
     }
+
+    /**
+     * Удаляет сущности с указанными id. Запросы на удаление выполняются параллельно
+     * (не более {@link ConcurrentRequests#DEFAULT_PARALLELISM} одновременно), ошибка удаления
+     * одной сущности не прерывает удаление остальных
+     *
+     * @return результат по каждому id в порядке коллекции
+     */
+    @ApiEndpoint
+    default BulkResponse<String> delete(Collection<String> ids) throws IOException {
+        return ConcurrentRequests.run(api(), ids, ConcurrentRequests.DEFAULT_PARALLELISM, this::delete);
+    }
+
+    /**
+     * Удаляет сущности. Если у всех сущностей есть <code>meta</code>, используется массовое удаление
+     * (<code>POST {path}delete</code>) пачками по {@link BulkResponse#MAX_BATCH_SIZE}, иначе — параллельные
+     * запросы на удаление по id, как в {@link #delete(Collection)}. Если массовое удаление не поддерживается
+     * для этого типа сущностей (ответ 404 или 405 на запрос любой пачки), эта и следующие пачки удаляются
+     * по id.<br/>
+     * <br/>
+     * Если запрос любой пачки завершился другой ошибкой, выбрасывается {@link BulkOperationException}
+     * с результатом уже обработанных пачек
+     *
+     * @return результат по каждому id в порядке коллекции
+     * @throws BulkOperationException когда запрос одной из пачек завершился ошибкой
+     * @throws InterruptedIOException когда поток был прерван во время удаления по id
+     */
+    @ApiEndpoint
+    default BulkResponse<String> deleteEntities(Collection<? extends MetaEntity> entities) throws IOException {
+        List<String> ids = entities.stream().map(MetaEntity::getId).collect(Collectors.toList());
+        if (entities.isEmpty() || entities.stream().anyMatch(e -> e.getMeta() == null || e.getMeta().getHref() == null)) {
+            return delete(ids);
+        }
+
+        List<MetaEntity> list = new ArrayList<>(entities);
+        BulkResponse<String> result = new BulkResponse<>();
+
+        for (int from = 0; from < list.size(); from += BulkResponse.MAX_BATCH_SIZE) {
+            int to = Math.min(list.size(), from + BulkResponse.MAX_BATCH_SIZE);
+
+            List<Map<String, Object>> body = new ArrayList<>(to - from);
+            for (MetaEntity entity : list.subList(from, to)) {
+                body.add(Collections.singletonMap("meta", entity.getMeta()));
+            }
+
+            BulkResponse<JsonElement> response;
+            try {
+                response = HttpRequestExecutor.
+                        path(api(), path() + "delete").
+                        body(body).
+                        post(TypeToken.getParameterized(BulkResponse.class, JsonElement.class).getType());
+
+                if (response.getItems().size() != to - from) {
+                    throw new IOException(
+                            "Количество элементов в ответе на массовое удаление (" + response.getItems().size() +
+                                    ") не совпадает с количеством отправленных сущностей (" + (to - from) + ")"
+                    );
+                }
+            } catch (IOException | LognexApiException e) {
+                int statusCode = e instanceof LognexApiException ? ((LognexApiException) e).getStatusCode() : 0;
+                if (statusCode == 404 || statusCode == 405) {
+                    result.getItems().addAll(delete(ids.subList(from, ids.size())).getItems());
+                    return result;
+                }
+                throw new BulkOperationException(result, to - from, e);
+            }
+
+            for (int i = 0; i < to - from; i++) {
+                result.getItems().add(new BulkResponse.Item<>(ids.get(from + i), response.getItems().get(i).getError()));
+            }
+        }
+
+        return result;
+    }
 }
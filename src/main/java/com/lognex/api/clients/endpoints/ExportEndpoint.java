@@ -9,6 +9,8 @@ import com.lognex.api.utils.LognexApiException;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 
 public interface ExportEndpoint extends Endpoint {
@@ -72,6 +74,62 @@ public interface ExportEndpoint extends Endpoint {
         req.postAndSaveTo(file);
     }
 
+    @ApiEndpoint
+    default void export(TemplateEntity template, ExportExtension extension, OutputStream out) throws IOException, LognexApiException {
+        ExportRequestEntity exportRequestEntity = new ExportRequestEntity();
+        exportRequestEntity.setTemplate(template);
+        exportRequestEntity.setExtension(extension);
+        export(exportRequestEntity, out, false);
+    }
+
+    @ApiEndpoint
+    default void export(ExportRequestEntity exportRequestEntity, OutputStream out) throws IOException, LognexApiException {
+        export(exportRequestEntity, out, false);
+    }
+
+    /**
+     * Записывает печатную форму в поток по мере её получения, не загружая её в память целиком.
+     * Поток не закрывается
+     */
+    @ApiEndpoint
+    default void export(ExportRequestEntity exportRequestEntity, OutputStream out, boolean addPrintDocumentContentHeader) throws IOException, LognexApiException {
+        HttpRequestExecutor req = HttpRequestExecutor.
+                path(api(), path() + "export/").
+                body(exportRequestEntity);
+
+        if (addPrintDocumentContentHeader) req.header("X-Lognex-Get-Content", "true");
+
+        req.postAndWriteTo(out);
+    }
+
+    @ApiEndpoint
+    default void export(TemplateEntity template, ExportExtension extension, WritableByteChannel channel) throws IOException, LognexApiException {
+        ExportRequestEntity exportRequestEntity = new ExportRequestEntity();
+        exportRequestEntity.setTemplate(template);
+        exportRequestEntity.setExtension(extension);
+        export(exportRequestEntity, channel, false);
+    }
+
+    @ApiEndpoint
+    default void export(ExportRequestEntity exportRequestEntity, WritableByteChannel channel) throws IOException, LognexApiException {
+        export(exportRequestEntity, channel, false);
+    }
+
+    /**
+     * Записывает печатную форму в канал по мере её получения, не загружая её в память целиком.
+     * Канал не закрывается
+     */
+    @ApiEndpoint
+    default void export(ExportRequestEntity exportRequestEntity, WritableByteChannel channel, boolean addPrintDocumentContentHeader) throws IOException, LognexApiException {
+        HttpRequestExecutor req = HttpRequestExecutor.
+                path(api(), path() + "export/").
+                body(exportRequestEntity);
+
+        if (addPrintDocumentContentHeader) req.header("X-Lognex-Get-Content", "true");
+
+        req.postAndWriteTo(channel);
+    }
+
     public static class PrintRequest {
         private TemplateEntity template;
         private int count;
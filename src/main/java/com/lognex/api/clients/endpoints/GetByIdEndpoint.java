@@ -13,7 +13,7 @@ public interface GetByIdEndpoint<T extends MetaEntity> extends Endpoint {
         return HttpRequestExecutor.
                 path(api(), path() + id).
                 apiParams(params).
-                get((Class<T>) entityClass());
+                getCached((Class<T>) entityClass());
     }
 
     @ApiEndpoint
@@ -3,10 +3,16 @@ package com.lognex.api.clients.endpoints;
 import com.lognex.api.entities.MetaEntity;
 import com.lognex.api.responses.ListEntity;
 import com.lognex.api.utils.HttpRequestExecutor;
+import com.lognex.api.utils.ListEntityIterator;
 import com.lognex.api.utils.LognexApiException;
+import com.lognex.api.utils.ParallelListEntityIterator;
 import com.lognex.api.utils.params.ApiParam;
 
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface GetListEndpoint<T extends MetaEntity> extends Endpoint {
     @ApiEndpoint
@@ -16,4 +22,54 @@ public interface GetListEndpoint<T extends MetaEntity> extends Endpoint {
                 apiParams(params).
                 list((Class<T>) entityClass());
     }
+
+    /**
+     * Запрашивает страницу списка и передаёт её элементы обработчику по мере чтения ответа,
+     * не сохраняя их в памяти. Возвращает список с метаданными, но без элементов
+     */
+    @ApiEndpoint
+    default ListEntity<T> get(Consumer<? super T> rowConsumer, ApiParam... params) throws IOException, LognexApiException {
+        return HttpRequestExecutor.
+                path(api(), path()).
+                apiParams(params).
+                list((Class<T>) entityClass(), rowConsumer);
+    }
+
+    /**
+     * Возвращает итератор по всем элементам списка. Страницы максимального размера
+     * запрашиваются по мере продвижения итератора, в памяти хранится только текущая.
+     * Параметры <code>limit</code> и <code>offset</code> игнорируются
+     */
+    @ApiEndpoint
+    default Iterator<T> iterate(ApiParam... params) {
+        return new ListEntityIterator<>(this::get, params);
+    }
+
+    /**
+     * Возвращает ленивый поток всех элементов списка (см. {@link #iterate(ApiParam...)})
+     */
+    @ApiEndpoint
+    default Stream<T> stream(ApiParam... params) {
+        return ListEntityIterator.stream(iterate(params));
+    }
+
+    /**
+     * Возвращает итератор по всем элементам списка, запрашивающий страницы заранее и параллельно
+     * (не более <code>concurrency</code> одновременно) в указанном пуле потоков. Элементы выдаются
+     * в исходном порядке. Параметры <code>limit</code> и <code>offset</code> игнорируются
+     */
+    @ApiEndpoint
+    default ParallelListEntityIterator<T> iterate(Executor executor, int concurrency, ApiParam... params) {
+        return new ParallelListEntityIterator<>(this::get, executor, concurrency, params);
+    }
+
+    /**
+     * Возвращает поток всех элементов списка, страницы которого запрашиваются параллельно
+     * (см. {@link #iterate(Executor, int, ApiParam...)}). Закрытие потока прекращает запрос новых страниц
+     */
+    @ApiEndpoint
+    default Stream<T> stream(Executor executor, int concurrency, ApiParam... params) {
+        ParallelListEntityIterator<T> iterator = iterate(executor, concurrency, params);
+        return ListEntityIterator.stream(iterator).onClose(iterator::close);
+    }
 }
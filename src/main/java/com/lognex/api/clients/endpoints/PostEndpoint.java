@@ -1,10 +1,14 @@
 package com.lognex.api.clients.endpoints;
 
+import com.google.gson.reflect.TypeToken;
 import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.utils.BulkOperationException;
 import com.lognex.api.utils.HttpRequestExecutor;
 import com.lognex.api.utils.LognexApiException;
 
 import java.io.IOException;
+import java.util.List;
 
 public interface PostEndpoint<T extends MetaEntity> extends Endpoint {
     @ApiEndpoint
@@ -17,4 +21,54 @@ public interface PostEndpoint<T extends MetaEntity> extends Endpoint {
         newEntity.set(responseEntity);
         return newEntity;
     }
+
+    /**
+     * Массово создаёт или обновляет сущности (сущности с <code>meta</code> обновляются, без — создаются).
+     * Сущности отправляются пачками по {@link BulkResponse#MAX_BATCH_SIZE}, а ответ API копируется
+     * в исходные сущности. Ошибки отдельных сущностей не прерывают операцию и возвращаются
+     * в результате на их местах.<br/>
+     * <br/>
+     * Если запрос любой пачки завершился ошибкой, выбрасывается {@link BulkOperationException}
+     * с результатом уже обработанных пачек. Если ответа на запрос нет, API мог успеть сохранить
+     * сущности этой пачки ({@link BulkOperationException#isOutcomeUnknown()})
+     *
+     * @return результат по каждой сущности в порядке списка
+     * @throws BulkOperationException когда запрос одной из пачек завершился ошибкой
+     */
+    @ApiEndpoint
+    default BulkResponse<T> post(List<T> newEntities) throws BulkOperationException {
+        BulkResponse<T> result = new BulkResponse<>();
+
+        for (int from = 0; from < newEntities.size(); from += BulkResponse.MAX_BATCH_SIZE) {
+            List<T> batch = newEntities.subList(from, Math.min(newEntities.size(), from + BulkResponse.MAX_BATCH_SIZE));
+
+            BulkResponse<T> response;
+            try {
+                response = HttpRequestExecutor.
+                        path(api(), path()).
+                        body(batch).
+                        post(TypeToken.getParameterized(BulkResponse.class, entityClass()).getType());
+
+                if (response.getItems().size() != batch.size()) {
+                    throw new IOException(
+                            "Количество элементов в ответе на массовую операцию (" + response.getItems().size() +
+                                    ") не совпадает с количеством отправленных сущностей (" + batch.size() + ")"
+                    );
+                }
+            } catch (IOException | LognexApiException e) {
+                throw new BulkOperationException(result, batch.size(), e);
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                BulkResponse.Item<T> item = response.getItems().get(i);
+                if (item.isSuccessful()) {
+                    batch.get(i).set(item.getEntity());
+                    item.setEntity(batch.get(i));
+                }
+                result.getItems().add(item);
+            }
+        }
+
+        return result;
+    }
 }
@@ -0,0 +1,174 @@
+package com.lognex.api.entities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * План копирования полей из сущности одного класса в сущность другого (как правило, того же) класса:
+ * пары геттер-сеттер, найденные один раз и сохранённые в виде {@link MethodHandle}.
+ * Используется в {@link Entity#set(Entity)}, где значения полей передаются по ссылке, и в
+ * {@link Entity#clone(Entity)}, где они копируются глубоко, чтобы копия не разделяла изменяемых
+ * объектов с оригиналом
+ */
+final class EntityCopier {
+    private static final Logger logger = LogManager.getLogger(EntityCopier.class);
+
+    private static final MethodType getterType = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType constructorType = MethodType.methodType(Object.class);
+
+    /**
+     * Пакет классов SDK, объекты которых копируются по полям
+     */
+    private static final String SDK_PACKAGE = "com.lognex.api.";
+
+    /**
+     * Планы копирования по классу-получателю и классу-источнику
+     */
+    private static final ClassValue<Map<Class<?>, EntityCopier>> copiers = new ClassValue<Map<Class<?>, EntityCopier>>() {
+        @Override
+        protected Map<Class<?>, EntityCopier> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Конструкторы без параметров (null, если конструктора нет или он недоступен)
+     */
+    private static final ClassValue<MethodHandle> constructors = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.publicLookup().findConstructor(type, MethodType.methodType(void.class)).asType(constructorType);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                logger.trace("У класса " + type.getName() + " нет публичного конструктора без параметров");
+                return null;
+            }
+        }
+    };
+
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+
+    private EntityCopier(Class<?> target, Class<?> source) {
+        List<MethodHandle> getters = new ArrayList<>();
+        List<MethodHandle> setters = new ArrayList<>();
+
+        for (Method getter : source.getMethods()) {
+            if (!getter.getName().startsWith("get") || getter.getParameterCount() != 0 || Modifier.isStatic(getter.getModifiers())) {
+                continue;
+            }
+
+            String setterName = "set" + getter.getName().substring(3);
+            Method setter;
+            try {
+                setter = target.getMethod(setterName, getter.getReturnType());
+            } catch (NoSuchMethodException e) {
+                logger.trace("Не удалось найти метод " + setterName + ". Поле не будет скопировано.");
+                continue;
+            }
+
+            try {
+                getters.add(MethodHandles.publicLookup().unreflect(getter).asType(getterType));
+                setters.add(MethodHandles.publicLookup().unreflect(setter).asType(setterType));
+            } catch (IllegalAccessException e) {
+                logger.error("Метод " + getter.getName() + " или " + setterName + " недоступен. Поле не будет скопировано.", e);
+            }
+        }
+
+        this.getters = getters.toArray(new MethodHandle[0]);
+        this.setters = setters.toArray(new MethodHandle[0]);
+    }
+
+    static EntityCopier of(Class<?> target, Class<?> source) {
+        return copiers.get(target).computeIfAbsent(source, s -> new EntityCopier(target, s));
+    }
+
+    /**
+     * Создаёт пустой объект того же класса (null, если у класса нет публичного конструктора без параметров)
+     */
+    static <T> T newInstance(Class<T> type) {
+        MethodHandle constructor = constructors.get(type);
+        if (constructor == null) return null;
+
+        try {
+            return type.cast(constructor.invokeExact());
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            logger.error("Ошибка при создании сущности " + type.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Копирует значения полей по ссылке
+     */
+    void copy(Object target, Object source) {
+        copy(target, source, false);
+    }
+
+    /**
+     * Копирует значения полей глубоко (см. {@link #copyValue(Object)})
+     */
+    void deepCopy(Object target, Object source) {
+        copy(target, source, true);
+    }
+
+    private void copy(Object target, Object source, boolean deep) {
+        for (int i = 0; i < getters.length; i++) {
+            try {
+                Object o = (Object) getters[i].invokeExact(source);
+                setters[i].invokeExact(target, deep ? copyValue(o) : o);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                logger.error("Ошибка при копировании полей сущности", e);
+            }
+        }
+    }
+
+    /**
+     * Глубокая копия значения поля: вложенные сущности клонируются, для списков и словарей создаются
+     * новые коллекции с копиями элементов, а объекты остальных классов SDK (например, {@link Meta})
+     * копируются так же, как сущности. Значения других классов (строки, числа, даты, enum'ы)
+     * неизменяемы и копируются по ссылке
+     */
+    private static Object copyValue(Object o) {
+        if (o == null || o instanceof Enum) return o;
+        if (o instanceof Entity) return Entity.clone((Entity) o);
+
+        if (o instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<?>) o).size());
+            for (Object e : (List<?>) o) copy.add(copyValue(e));
+            return copy;
+        }
+
+        if (o instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) o).entrySet()) copy.put(e.getKey(), copyValue(e.getValue()));
+            return copy;
+        }
+
+        if (o.getClass().getName().startsWith(SDK_PACKAGE)) {
+            Object copy = newInstance(o.getClass());
+            if (copy != null) {
+                of(o.getClass(), o.getClass()).deepCopy(copy, o);
+                return copy;
+            }
+        }
+
+        return o;
+    }
+}
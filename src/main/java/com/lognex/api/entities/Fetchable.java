@@ -1,10 +1,16 @@
 package com.lognex.api.entities;
 
 import com.lognex.api.LognexApi;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.responses.ErrorResponse;
+import com.lognex.api.utils.ConcurrentRequests;
 import com.lognex.api.utils.HttpRequestExecutor;
 import com.lognex.api.utils.LognexApiException;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Интерфейс, определяющий, может ли данный объект дозапрашивать у API данные
@@ -14,8 +20,63 @@ public interface Fetchable {
     default void fetch(LognexApi api) throws IOException, LognexApiException {
         if (this instanceof MetaEntity) {
             MetaEntity current = (MetaEntity) this;
-            MetaEntity fetched = HttpRequestExecutor.url(api, current.getMeta().getHref()).get(current.getClass());
+            MetaEntity fetched = HttpRequestExecutor.url(api, current.getMeta().getHref()).getCached(current.getClass());
             current.set(fetched);
         }
     }
+
+    /**
+     * Дозапрашивает данные для набора ссылок на сущности (например, контрагентов, складов
+     * и организаций списка документов) и заполняет их на месте. Каждая уникальная ссылка
+     * (<code>meta.href</code>) запрашивается один раз, запросы выполняются параллельно
+     * (см. {@link ConcurrentRequests#DEFAULT_PARALLELISM})
+     *
+     * @return результат по каждой ссылке в порядке коллекции
+     * @throws InterruptedIOException когда поток был прерван во время ожидания
+     */
+    static <T extends MetaEntity> BulkResponse<T> fetchAll(LognexApi api, Collection<T> references) throws InterruptedIOException {
+        return fetchAll(api, references, ConcurrentRequests.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Дозапрашивает данные для набора ссылок на сущности и заполняет их на месте.
+     * Каждая уникальная ссылка (<code>meta.href</code>) запрашивается один раз,
+     * не более <code>parallelism</code> запросов одновременно. Ссылки без <code>meta.href</code>
+     * возвращаются с ошибкой. Ссылки с одинаковой <code>meta.href</code> заполняются одним ответом
+     * (см. {@link Entity#set(Entity)}) и разделяют его вложенные объекты
+     *
+     * @return результат по каждой ссылке в порядке коллекции
+     * @throws InterruptedIOException когда поток был прерван во время ожидания
+     */
+    static <T extends MetaEntity> BulkResponse<T> fetchAll(LognexApi api, Collection<T> references, int parallelism) throws InterruptedIOException {
+        Map<String, Class<? extends MetaEntity>> classes = new LinkedHashMap<>();
+        for (T reference : references) {
+            String href = reference.getMeta() == null ? null : reference.getMeta().getHref();
+            if (href != null) classes.putIfAbsent(href, reference.getClass());
+        }
+
+        Map<String, MetaEntity> fetched = new ConcurrentHashMap<>();
+        BulkResponse<String> fetchResponse = ConcurrentRequests.run(
+                api, classes.keySet(), parallelism,
+                href -> fetched.put(href, HttpRequestExecutor.url(api, href).getCached(classes.get(href)))
+        );
+
+        Map<String, ErrorResponse> errors = new HashMap<>();
+        for (BulkResponse.Item<String> item : fetchResponse.getFailed()) {
+            errors.put(item.getEntity(), item.getError());
+        }
+
+        BulkResponse<T> result = new BulkResponse<>();
+        for (T reference : references) {
+            String href = reference.getMeta() == null ? null : reference.getMeta().getHref();
+            ErrorResponse error = href == null ?
+                    ConcurrentRequests.errorResponse(new IllegalArgumentException("У сущности нет ссылки в метаданных")) :
+                    errors.get(href);
+
+            if (error == null && fetched.get(href) != null) reference.set(fetched.get(href));
+            result.getItems().add(new BulkResponse.Item<>(reference, error));
+        }
+
+        return result;
+    }
 }
@@ -4,13 +4,14 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.io.FileUtils;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
+import java.util.Base64;
 
 @Getter
 @Setter
@@ -53,15 +54,54 @@ public class ImageEntity extends MetaEntity {
     private MetaEntity tiny;
 
     /**
-     * Считывает файл и заполняет поля <pre>filename</pre> и <pre>content</pre>.
+     * Файл изображения, содержимое которого будет закодировано в Base64
+     * при отправке запроса (см. {@link #setContent(File)}). Переносится в копии сущности
+     * (см. {@link Entity#clone(Entity)}) без чтения файла
+     */
+    private transient File contentFile;
+
+    /**
+     * Возвращает изображение, закодированное в формате Base64: значение поля <code>content</code>
+     * или, если изображение задано файлом (см. {@link #setContent(File)}), содержимое файла.
+     * Файл читается и кодируется целиком при каждом вызове
+     *
+     * @throws UncheckedIOException когда файл не удалось прочитать
+     */
+    public String encodeContent() {
+        if (contentFile == null) return content;
+
+        try {
+            return Base64.getEncoder().encodeToString(Files.readAllBytes(contentFile.toPath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Задаёт изображение, закодированное в формате Base64. Непустое значение заменяет
+     * файл, заданный с помощью {@link #setContent(File)}
+     */
+    public void setContent(String content) {
+        this.content = content;
+        if (content != null) this.contentFile = null;
+    }
+
+    /**
+     * Заполняет поле <pre>filename</pre> и запоминает файл, содержимое которого будет
+     * отправлено в поле <pre>content</pre>. Файл читается и кодируется в Base64 по мере
+     * отправки запроса, поэтому до этого момента его нельзя изменять или удалять.
      * Нужно для упрощения загрузки изображения.
      *
      * @param file Файл изображения, который нужно загрузить
-     * @throws IOException когда возникла проблема с чтением файла
+     * @throws IOException когда файл не существует или не может быть прочитан
      */
     public void setContent(File file) throws IOException {
-        byte[] encoded = Base64.encodeBase64(FileUtils.readFileToByteArray(file));
+        if (!file.isFile() || !file.canRead()) {
+            throw new FileNotFoundException("Файл " + file + " не существует или не может быть прочитан");
+        }
+
         filename = file.getName();
-        content = new String(encoded, StandardCharsets.UTF_8);
+        content = null;
+        contentFile = file;
     }
 }
@@ -38,7 +38,7 @@ public class StateEntity extends MetaEntity implements Fetchable {
     @Override
     public void fetch(LognexApi api) throws IOException, LognexApiException {
         this.set(
-                HttpRequestExecutor.url(api, meta.getHref()).get(StateEntity.class)
+                HttpRequestExecutor.url(api, meta.getHref()).getCached(StateEntity.class)
         );
     }
 
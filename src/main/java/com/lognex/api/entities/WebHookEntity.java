@@ -5,15 +5,38 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+/**
+ * Веб-хук: подписка на уведомления об изменении сущностей указанного типа
+ * (см. {@link com.lognex.api.utils.WebHookReceiver})
+ */
 @Getter
 @Setter
 @NoArgsConstructor
-@EqualsAndHashCode
-public class WebHookEntity {
+@EqualsAndHashCode(callSuper = true)
+public class WebHookEntity extends MetaEntity {
+    /**
+     * Тип сущностей, об изменении которых приходят уведомления (например, <code>product</code>)
+     */
     private String entityType;
+
+    /**
+     * URL, на который отправляются уведомления
+     */
     private String url;
+
+    /**
+     * HTTP-метод, которым отправляются уведомления
+     */
     private HttpMethod method;
+
+    /**
+     * Включён ли веб-хук
+     */
     private Boolean enabled;
+
+    /**
+     * Действие с сущностью, о котором приходят уведомления
+     */
     private EntityAction action;
 
     public enum HttpMethod {
@@ -0,0 +1,43 @@
+package com.lognex.api.entities;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Событие из уведомления веб-хука: действие с сущностью и ссылка на неё
+ * (см. {@link com.lognex.api.utils.WebHookReceiver})
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+public class WebHookEventEntity {
+    /**
+     * Метаданные изменённой сущности
+     */
+    private Meta meta;
+
+    /**
+     * Действие с сущностью
+     */
+    private WebHookEntity.EntityAction action;
+
+    /**
+     * ID учётной записи
+     */
+    private String accountId;
+
+    /**
+     * Возвращает ID изменённой сущности (последний сегмент ссылки в метаданных)
+     */
+    public String getEntityId() {
+        if (meta == null || meta.getHref() == null) return null;
+
+        String href = meta.getHref();
+        int query = href.indexOf('?');
+        if (query >= 0) href = href.substring(0, query);
+        return href.substring(href.lastIndexOf('/') + 1);
+    }
+}
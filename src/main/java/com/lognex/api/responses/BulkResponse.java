@@ -0,0 +1,60 @@
+package com.lognex.api.responses;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Результат массовой операции: по одному элементу на каждую сущность из запроса, в том же порядке.
+ * Элемент содержит либо сущность, либо ошибки, возникшие при её обработке
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+public final class BulkResponse<T> {
+    /**
+     * Максимальное количество сущностей в одном запросе массовой операции
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private List<Item<T>> items = new ArrayList<>();
+
+    /**
+     * Есть ли среди элементов ошибки
+     */
+    public boolean hasErrors() {
+        return items.stream().anyMatch(i -> !i.isSuccessful());
+    }
+
+    /**
+     * Элементы, при обработке которых возникли ошибки
+     */
+    public List<Item<T>> getFailed() {
+        return items.stream().filter(i -> !i.isSuccessful()).collect(Collectors.toList());
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static final class Item<T> {
+        private T entity;
+        private ErrorResponse error;
+
+        public Item(T entity, ErrorResponse error) {
+            this.entity = entity;
+            this.error = error;
+        }
+
+        public boolean isSuccessful() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.responses.BulkResponse;
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * Ошибка запроса одной из пачек массовой операции. Результаты пачек, обработанных до неё,
+ * доступны через {@link #getResult()}, а причина ошибки — через {@link #getCause()}
+ * ({@link IOException} или {@link LognexApiException}).<br/>
+ * <br/>
+ * Пачка, запрос которой завершился ошибкой, начинается с сущности с индексом {@link #getFailedFrom()}.
+ * Если API ответил ошибкой 4xx, пачка не применена. Если ответа нет (например, истекло время ожидания)
+ * или это ошибка 5xx, API мог успеть применить пачку ({@link #isOutcomeUnknown()}), и перед повторной
+ * отправкой её сущности нужно проверить, иначе они могут быть созданы повторно.
+ * Следующие пачки не отправлялись
+ */
+@Getter
+public class BulkOperationException extends IOException {
+    private final BulkResponse<?> result;
+    private final int failedFrom;
+    private final int batchSize;
+    private final boolean outcomeUnknown;
+
+    public BulkOperationException(BulkResponse<?> result, int batchSize, Exception cause) {
+        super(message(result.getItems().size(), batchSize, cause), cause);
+
+        this.result = result;
+        this.failedFrom = result.getItems().size();
+        this.batchSize = batchSize;
+        this.outcomeUnknown = isOutcomeUnknown(cause);
+    }
+
+    /**
+     * Результат пачек, обработанных до ошибки: по одному элементу на каждую сущность
+     * с индексом меньше {@link #getFailedFrom()}
+     */
+    public <T> BulkResponse<T> getResult() {
+        return (BulkResponse<T>) result;
+    }
+
+    private static boolean isOutcomeUnknown(Exception cause) {
+        return !(cause instanceof LognexApiException) || ((LognexApiException) cause).getStatusCode() >= 500;
+    }
+
+    private static String message(int from, int batchSize, Exception cause) {
+        return "Ошибка запроса пачки сущностей " + from + "-" + (from + batchSize - 1) +
+                (isOutcomeUnknown(cause) ? " (пачка могла быть применена)" : "") + ": " + cause.getMessage();
+    }
+}
@@ -0,0 +1,111 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.responses.ErrorResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Выполнение однотипных запросов к API для набора ключей (например, id сущностей) параллельно,
+ * но не более <code>parallelism</code> запросов одновременно. Запросы выполняет вызывающий поток
+ * и до <code>parallelism - 1</code> помощников в пуле потоков {@link LognexApi#getAsyncExecutor()};
+ * все они подчиняются {@link RateLimiter} и {@link RetryPolicy} API.<br/>
+ * <br/>
+ * Вызывающий поток ждёт только запросы, которые помощники уже начали выполнять, а не запуска
+ * самих помощников. Поэтому операцию можно вызывать и из задачи, которая сама выполняется в этом
+ * пуле (например, {@link com.lognex.api.clients.AsyncClient#call(com.lognex.api.clients.AsyncClient.ApiCall)}):
+ * если свободных потоков нет, все запросы выполнит вызывающий поток
+ */
+public final class ConcurrentRequests {
+    /**
+     * Количество одновременных запросов по умолчанию (равно лимиту API на параллельные запросы)
+     */
+    public static final int DEFAULT_PARALLELISM = TokenBucketRateLimiter.DEFAULT_MAX_CONCURRENT;
+
+    private ConcurrentRequests() {
+    }
+
+    /**
+     * Выполняет запрос для каждого ключа и возвращает результат по каждому ключу в порядке коллекции.
+     * Ошибка одного запроса не прерывает остальные
+     *
+     * @throws InterruptedIOException когда поток был прерван во время ожидания
+     */
+    public static <K> BulkResponse<K> run(LognexApi api, Collection<K> keys, int parallelism, Request<K> request) throws InterruptedIOException {
+        if (parallelism < 1) throw new IllegalArgumentException("Количество одновременных запросов должно быть больше нуля!");
+
+        List<K> list = new ArrayList<>(keys);
+        BulkResponse.Item<K>[] items = new BulkResponse.Item[list.size()];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(list.size());
+
+        // Каждый исполнитель берёт следующий ключ, пока они не закончатся или поток не будет прерван.
+        // Помощник, запущенный пулом слишком поздно, не находит ключей и сразу завершается
+        Runnable worker = () -> {
+            int i;
+            while (!Thread.currentThread().isInterrupted() && (i = next.getAndIncrement()) < list.size()) {
+                K key = list.get(i);
+                try {
+                    request.run(key);
+                    items[i] = new BulkResponse.Item<>(key, null);
+                } catch (Throwable e) {
+                    items[i] = new BulkResponse.Item<>(key, errorResponse(e));
+                } finally {
+                    completed.countDown();
+                }
+            }
+        };
+
+        for (int i = 1; i < Math.min(parallelism, list.size()); i++) {
+            try {
+                api.getAsyncExecutor().execute(worker);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+
+        try {
+            worker.run();
+            completed.await();
+        } catch (InterruptedException e) {
+            next.set(list.size());
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ожидание выполнения запросов было прервано");
+        }
+
+        BulkResponse<K> result = new BulkResponse<>();
+        result.getItems().addAll(Arrays.asList(items));
+        return result;
+    }
+
+    /**
+     * Преобразует ошибку запроса в {@link ErrorResponse} для элемента результата массовой операции
+     */
+    public static ErrorResponse errorResponse(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) e = e.getCause();
+
+        if (e instanceof LognexApiException && ((LognexApiException) e).getErrorResponse() != null) {
+            return ((LognexApiException) e).getErrorResponse();
+        }
+
+        ErrorResponse.Error error = new ErrorResponse.Error();
+        error.setError(e.getMessage() == null ? e.toString() : e.getMessage());
+        if (e instanceof LognexApiException) error.setCode(((LognexApiException) e).getStatusCode());
+
+        ErrorResponse er = new ErrorResponse();
+        er.setErrors(Collections.singletonList(error));
+        return er;
+    }
+
+    @FunctionalInterface
+    public interface Request<K> {
+        void run(K key) throws IOException, LognexApiException;
+    }
+}
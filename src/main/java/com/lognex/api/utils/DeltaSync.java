@@ -0,0 +1,184 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.clients.endpoints.GetListEndpoint;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.json.LocalDateTimeCodec;
+import com.lognex.api.utils.params.ApiParam;
+import com.lognex.api.utils.params.FilterParam;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import static com.lognex.api.utils.params.FilterParam.filter;
+import static com.lognex.api.utils.params.OrderParam.Direction.asc;
+import static com.lognex.api.utils.params.OrderParam.order;
+
+/**
+ * Инкрементальная синхронизация списка сущностей по полю <code>updated</code>. Первая синхронизация
+ * получает весь список, следующие — только сущности, изменённые с момента предыдущей
+ * (<code>filter=updated&gt;=отметка</code>, <code>order=updated,asc;id,asc</code>).
+ * Каждая полученная сущность передаётся обработчику, после каждой страницы отметка
+ * сохраняется в {@link WatermarkStore}, поэтому прерванная синхронизация продолжается
+ * с последней обработанной страницы.<br/>
+ * <br/>
+ * Фильтр по <code>updated</code> работает с точностью до секунды, поэтому сущности, изменённые
+ * в секунду отметки, возвращаются повторно. Их идентификаторы хранятся вместе с отметкой,
+ * и обработчик получает их снова, только если они изменились ещё раз в следующие секунды.
+ * Удаления сущностей синхронизацией не отслеживаются.<br/>
+ * <br/>
+ * Пример:
+ * <pre>
+ * DeltaSync&lt;ProductEntity&gt; sync = new DeltaSync&lt;&gt;(api.entity().product(), new FileWatermarkStore(file));
+ * sync.sync(product -&gt; db.upsert(product));
+ * </pre>
+ */
+public final class DeltaSync<T extends MetaEntity> {
+    private static final String UPDATED = "updated";
+
+    /**
+     * Ключ, под которым отметка хранится в {@link WatermarkStore}
+     */
+    @Getter
+    private final String key;
+
+    private final ListEntityIterator.PageLoader<T> loader;
+    private final MethodHandle updatedGetter;
+    private final WatermarkStore store;
+    private List<ApiParam> params = Collections.emptyList();
+
+    /**
+     * Синхронизация списка сущностей метода API. Ключ отметки — путь метода
+     * (например, <code>/entity/product/</code>)
+     *
+     * @throws IllegalArgumentException если у сущностей нет поля <code>updated</code>
+     */
+    @SuppressWarnings("unchecked")
+    public DeltaSync(GetListEndpoint<T> endpoint, WatermarkStore store) {
+        this(endpoint.path(), (Class<T>) endpoint.entityClass(), endpoint::get, store);
+    }
+
+    /**
+     * @param key         ключ, под которым отметка хранится в <code>store</code>
+     * @param entityClass класс сущностей списка
+     * @param loader      метод, запрашивающий страницу списка с указанными параметрами
+     * @throws IllegalArgumentException если у сущностей нет поля <code>updated</code>
+     */
+    public DeltaSync(String key, Class<T> entityClass, ListEntityIterator.PageLoader<T> loader, WatermarkStore store) {
+        this.key = key;
+        this.loader = loader;
+        this.store = store;
+
+        this.updatedGetter = Getters.getter(entityClass, "getUpdated", LocalDateTime.class);
+        if (updatedGetter == null) {
+            throw new IllegalArgumentException("У сущности " + entityClass.getSimpleName() + " нет поля updated");
+        }
+    }
+
+    /**
+     * Дополнительные параметры запроса списка (например, <code>filter</code> или <code>expand</code>).
+     * Параметры <code>limit</code>, <code>offset</code> и <code>order</code> выставляются синхронизацией
+     * самостоятельно. Параметры должны быть одинаковыми во всех синхронизациях с этим ключом
+     */
+    public DeltaSync<T> params(ApiParam... params) {
+        List<ApiParam> result = new ArrayList<>();
+        for (ApiParam param : ListEntityIterator.withoutPaging(params)) {
+            if (param.getType() != ApiParam.Type.order) result.add(param);
+        }
+        this.params = result;
+        return this;
+    }
+
+    /**
+     * Текущая отметка синхронизации (null, если синхронизация ещё не выполнялась)
+     */
+    public WatermarkStore.Watermark watermark() throws IOException {
+        return store.load(key);
+    }
+
+    /**
+     * Удаляет отметку: следующая синхронизация получит весь список заново
+     */
+    public void reset() throws IOException {
+        store.remove(key);
+    }
+
+    /**
+     * Получает сущности, изменённые с момента предыдущей синхронизации, и передаёт их
+     * обработчику в порядке изменения. Если обработчик выбросил исключение, отметка
+     * остаётся на последней полностью обработанной странице
+     *
+     * @return количество сущностей, переданных обработчику
+     * @throws IOException        когда возникла сетевая ошибка или ошибка обработчика
+     * @throws LognexApiException когда возникла ошибка API
+     */
+    public int sync(Listener<? super T> listener) throws IOException, LognexApiException {
+        WatermarkStore.Watermark watermark = store.load(key);
+        LocalDateTime cursor = watermark == null ? null : watermark.getUpdated();
+        Set<String> boundary = watermark == null ? new LinkedHashSet<>() : new LinkedHashSet<>(watermark.getIds());
+
+        int pageSize = ListEntityIterator.maxPageSize(params);
+        int offset = 0;
+        int upserts = 0;
+
+        while (true) {
+            List<ApiParam> query = new ArrayList<>(params);
+            if (cursor != null) {
+                query.add(filter(UPDATED, FilterParam.FilterType.greater_or_equals, LocalDateTimeCodec.format(cursor, false)));
+            }
+            query.add(order(UPDATED, asc));
+            query.add(order("id", asc));
+
+            ListEntity<T> page = loader.load(ListEntityIterator.pageParams(query, offset, pageSize));
+            List<T> rows = page == null || page.getRows() == null ? Collections.emptyList() : page.getRows();
+
+            boolean advanced = false;
+            boolean changed = false;
+            for (T entity : rows) {
+                LocalDateTime updated = updated(entity);
+                if (cursor != null && updated != null && updated.equals(cursor) && boundary.contains(entity.getId())) {
+                    continue;
+                }
+
+                listener.upsert(entity);
+                upserts++;
+
+                if (updated == null || (cursor != null && updated.isBefore(cursor))) continue;
+                if (cursor == null || updated.isAfter(cursor)) {
+                    cursor = updated;
+                    boundary.clear();
+                    advanced = true;
+                }
+                boundary.add(entity.getId());
+                changed = true;
+            }
+
+            if (changed) store.save(key, new WatermarkStore.Watermark(cursor, boundary));
+            if (rows.size() < pageSize) return upserts;
+
+            // Запрос с новой отметкой начинается сначала, а страница, целиком состоящая
+            // из сущностей, изменённых в ту же секунду, пропускается смещением
+            offset = advanced ? 0 : offset + rows.size();
+        }
+    }
+
+    private LocalDateTime updated(T entity) {
+        LocalDateTime updated = (LocalDateTime) Getters.invoke(updatedGetter, entity);
+        return updated == null ? null : updated.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /**
+     * Обработчик сущностей, полученных синхронизацией
+     */
+    @FunctionalInterface
+    public interface Listener<T> {
+        /**
+         * Сущность создана или изменена с момента предыдущей синхронизации
+         */
+        void upsert(T entity) throws IOException;
+    }
+}
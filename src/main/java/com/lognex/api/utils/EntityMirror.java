@@ -0,0 +1,507 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.clients.endpoints.GetListEndpoint;
+import com.lognex.api.entities.Entity;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.json.JsonCodec;
+import com.lognex.api.utils.params.ApiParam;
+import com.lognex.api.utils.params.FilterParam;
+import com.lognex.api.utils.params.LimitParam;
+import com.lognex.api.utils.params.OffsetParam;
+
+import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Локальная копия списка сущностей одного типа, которая хранится в файлах и обновляется
+ * инкрементально по полю <code>updated</code> (см. {@link DeltaSync}). Чтение выполняется
+ * из памяти без запросов к API: по идентификатору ({@link #get(String)}), по индексируемым
+ * полям ({@link #find(Index, String)}) и страницами в формате списка ({@link #get(ApiParam...)}).
+ * Возвращаются копии сущностей (см. {@link Entity#clone(Entity)}), поэтому их можно изменять.<br/>
+ * <br/>
+ * В каталоге копии хранятся снимок сущностей и журнал изменений (по одной сущности в JSON
+ * на строку), а также отметка синхронизации (у каждой копии свои файлы). Обновление дописывает полученные сущности в журнал,
+ * а отметка сохраняется только после записи журнала на диск, поэтому прерванное обновление
+ * не теряет изменений. Когда журнал становится больше снимка, он сворачивается в новый снимок
+ * (см. {@link #compact()}). Удаления сущностей не отслеживаются, для их учёта копию нужно
+ * пересоздать (см. {@link #clear()}).<br/>
+ * <br/>
+ * Пример:
+ * <pre>
+ * EntityMirror&lt;ProductEntity&gt; products = EntityMirror.open(api.entity().product(), new File("mirror"));
+ * products.refresh();
+ * ProductEntity product = products.find(EntityMirror.Index.article, "A-100").get(0);
+ * </pre>
+ */
+public final class EntityMirror<T extends MetaEntity> {
+    private static final String SNAPSHOT = ".snapshot.jsonl";
+    private static final String JOURNAL = ".journal.jsonl";
+    private static final String WATERMARKS = ".watermarks.properties";
+
+    /**
+     * Минимальное количество записей в журнале, после которого он сворачивается в снимок
+     */
+    private static final int MIN_COMPACT_JOURNAL_SIZE = 1000;
+
+    private final Class<T> entityClass;
+    private final JsonCodec codec;
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final DeltaSync<T> sync;
+    private final Map<Index, MethodHandle> indexGetters = new EnumMap<>(Index.class);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, T> entities = new LinkedHashMap<>();
+    private final Map<Index, Map<String, Set<String>>> indexes = new EnumMap<>(Index.class);
+    private int journalSize;
+
+    private OutputStream journalOut;
+    private FileDescriptor journalFd;
+
+    private EntityMirror(String name, Class<T> entityClass, ListEntityIterator.PageLoader<T> loader, JsonCodec codec, File directory) {
+        this.entityClass = entityClass;
+        this.codec = codec;
+
+        Path dir = directory.toPath().toAbsolutePath();
+        this.snapshotFile = dir.resolve(name + SNAPSHOT);
+        this.journalFile = dir.resolve(name + JOURNAL);
+        this.sync = new DeltaSync<>(name, entityClass, loader, new JournalWatermarkStore(new FileWatermarkStore(dir.resolve(name + WATERMARKS).toFile())));
+
+        for (Index index : Index.values()) {
+            if (index == Index.id) continue;
+            MethodHandle getter = Getters.getter(entityClass, index.getter, String.class);
+            if (getter != null) {
+                indexGetters.put(index, getter);
+                indexes.put(index, new HashMap<>());
+            }
+        }
+    }
+
+    /**
+     * Открывает копию списка сущностей метода API, хранящуюся в указанном каталоге
+     * (если её ещё нет, она будет заполнена при первом {@link #refresh()}). Файлы называются
+     * по пути метода, поэтому копии разных типов сущностей могут храниться в одном каталоге
+     *
+     * @throws IllegalArgumentException если у сущностей нет поля <code>updated</code>
+     * @throws IOException              когда не удалось прочитать файлы копии
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends MetaEntity> EntityMirror<T> open(GetListEndpoint<T> endpoint, File directory) throws IOException {
+        String name = Arrays.stream(endpoint.path().split("/")).
+                filter(s -> !s.isEmpty()).
+                collect(Collectors.joining("_"));
+        return open(name, (Class<T>) endpoint.entityClass(), endpoint::get, endpoint.api().getCodec(), directory);
+    }
+
+    /**
+     * Открывает копию списка сущностей, хранящуюся в указанном каталоге
+     *
+     * @param name   имя копии (префикс имён её файлов и ключ отметки синхронизации)
+     * @param loader метод, запрашивающий страницу списка с указанными параметрами
+     * @param codec  кодек, которым сущности пишутся в файлы и читаются из них. Сущность должна
+     *               записываться в одну строку
+     * @throws IllegalArgumentException если у сущностей нет поля <code>updated</code>
+     * @throws IOException              когда не удалось прочитать файлы копии
+     */
+    public static <T extends MetaEntity> EntityMirror<T> open(String name, Class<T> entityClass, ListEntityIterator.PageLoader<T> loader,
+                                                              JsonCodec codec, File directory) throws IOException {
+        EntityMirror<T> mirror = new EntityMirror<>(name, entityClass, loader, codec, directory);
+        mirror.load();
+        return mirror;
+    }
+
+    /**
+     * Дополнительные параметры запроса списка при обновлении (например, <code>filter</code>),
+     * см. {@link DeltaSync#params(ApiParam...)}
+     */
+    public EntityMirror<T> params(ApiParam... params) {
+        sync.params(params);
+        return this;
+    }
+
+    /**
+     * Получает у API сущности, изменённые с момента предыдущего обновления, и сохраняет их
+     *
+     * @return количество полученных сущностей
+     * @throws IOException        когда возникла сетевая ошибка или ошибка записи файлов
+     * @throws LognexApiException когда возникла ошибка API
+     */
+    public int refresh() throws IOException, LognexApiException {
+        synchronized (sync) {
+            int upserts;
+            try {
+                upserts = sync.sync(this::upsert);
+            } finally {
+                closeJournal();
+            }
+
+            if (journalSize >= Math.max(MIN_COMPACT_JOURNAL_SIZE, size())) compact();
+            return upserts;
+        }
+    }
+
+    /**
+     * Сворачивает журнал изменений в новый снимок сущностей
+     *
+     * @throws IOException когда не удалось записать файлы
+     */
+    public void compact() throws IOException {
+        synchronized (sync) {
+            List<T> snapshot;
+            lock.readLock().lock();
+            try {
+                snapshot = new ArrayList<>(entities.values());
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            Files.createDirectories(snapshotFile.getParent());
+            Path temp = snapshotFile.resolveSibling("." + snapshotFile.getFileName() + "." + UUID.randomUUID() + ".part");
+            try {
+                try (FileOutputStream out = new FileOutputStream(temp.toFile());
+                     Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                    for (T entity : snapshot) write(entity, writer);
+                    writer.flush();
+                    out.getFD().sync();
+                }
+
+                try {
+                    Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            Files.deleteIfExists(journalFile);
+            journalSize = 0;
+        }
+    }
+
+    /**
+     * Удаляет все сущности и отметку синхронизации: следующее обновление получит весь список заново
+     *
+     * @throws IOException когда не удалось удалить файлы
+     */
+    public void clear() throws IOException {
+        synchronized (sync) {
+            lock.writeLock().lock();
+            try {
+                entities.clear();
+                indexes.values().forEach(Map::clear);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            sync.reset();
+            Files.deleteIfExists(snapshotFile);
+            Files.deleteIfExists(journalFile);
+            journalSize = 0;
+        }
+    }
+
+    /**
+     * Возвращает сущность по идентификатору или null, если её нет
+     */
+    public T get(String id) {
+        lock.readLock().lock();
+        try {
+            T entity = entities.get(id);
+            return entity == null ? null : Entity.clone(entity);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает сущность с идентификатором указанной сущности или null, если её нет
+     */
+    public T get(MetaEntity entity) {
+        return get(entity.getId());
+    }
+
+    /**
+     * Возвращает страницу списка сущностей в порядке их добавления в копию. Поддерживаются
+     * параметры <code>limit</code>, <code>offset</code> и фильтры на равенство по индексируемым
+     * полям (см. {@link Index}). Если <code>limit</code> не указан, возвращается не более
+     * {@link LimitParam#MAX_LIMIT} сущностей
+     *
+     * @throws IllegalArgumentException если указаны другие параметры
+     */
+    public ListEntity<T> get(ApiParam... params) {
+        int limit = LimitParam.MAX_LIMIT;
+        int offset = 0;
+        List<FilterParam> filters = new ArrayList<>();
+        for (ApiParam param : params) {
+            if (param == null) continue;
+
+            if (param instanceof LimitParam) {
+                limit = ((LimitParam) param).getValue();
+            } else if (param instanceof OffsetParam) {
+                offset = ((OffsetParam) param).getValue();
+            } else if (param instanceof FilterParam && ((FilterParam) param).getFilterType() == FilterParam.FilterType.equals) {
+                Index.valueOf(((FilterParam) param).getKey());
+                filters.add((FilterParam) param);
+            } else {
+                throw new IllegalArgumentException("Параметр " + param.getType() + " не поддерживается локальной копией");
+            }
+        }
+
+        ListEntity<T> result = new ListEntity<>();
+        result.setMeta(new Meta());
+        result.getMeta().setLimit(limit);
+        result.getMeta().setOffset(offset);
+        result.setRows(new ArrayList<>());
+
+        lock.readLock().lock();
+        try {
+            Collection<String> ids = entities.keySet();
+            for (int i = 0; i < filters.size(); i++) {
+                Collection<String> matched = ids(Index.valueOf(filters.get(i).getKey()), filters.get(i).getValue());
+                ids = i == 0 ? matched : ids.stream().filter(matched::contains).collect(Collectors.toList());
+            }
+
+            result.getMeta().setSize(ids.size());
+            ids.stream().skip(offset).limit(limit).forEach(id -> result.getRows().add(Entity.clone(entities.get(id))));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return result;
+    }
+
+    /**
+     * Возвращает сущности, у которых значение индексируемого поля равно указанному
+     */
+    public List<T> find(Index index, String value) {
+        lock.readLock().lock();
+        try {
+            return ids(index, value).stream().map(id -> Entity.clone(entities.get(id))).collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает поток копий всех сущностей
+     */
+    public Stream<T> stream() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(entities.values()).stream().map(Entity::clone);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Количество сущностей в копии
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entities.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<String> ids(Index index, String value) {
+        if (value == null) return Collections.emptyList();
+        if (index == Index.id) return entities.containsKey(value) ? Collections.singletonList(value) : Collections.emptyList();
+
+        Map<String, Set<String>> values = indexes.get(index);
+        Set<String> ids = values == null ? null : values.get(value);
+        return ids == null ? Collections.emptyList() : ids;
+    }
+
+    private void load() throws IOException {
+        read(snapshotFile);
+        truncateJournal();
+        journalSize = read(journalFile);
+    }
+
+    /**
+     * Отрезает незаконченную последнюю строку журнала (запись была прервана), чтобы следующие
+     * записи не дописывались к ней. Отметка синхронизации для такой строки не сохранялась,
+     * поэтому сущность будет получена заново при следующем обновлении
+     */
+    private void truncateJournal() throws IOException {
+        if (!Files.exists(journalFile)) return;
+
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            long end = channel.size();
+            while (end > 0) {
+                long start = Math.max(0, end - buffer.capacity());
+                buffer.clear().limit((int) (end - start));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) break;
+                }
+
+                for (int i = buffer.position() - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n') {
+                        channel.truncate(start + i + 1);
+                        return;
+                    }
+                }
+                end = start;
+            }
+            channel.truncate(0);
+        }
+    }
+
+    /**
+     * Читает сущности из файла
+     *
+     * @return количество прочитанных сущностей
+     */
+    private int read(Path file) throws IOException {
+        if (!Files.exists(file)) return 0;
+
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+
+                T entity;
+                try {
+                    entity = codec.fromJson(new StringReader(line), entityClass);
+                } catch (RuntimeException e) {
+                    throw new IOException("Не удалось прочитать сущность из файла " + file, e);
+                }
+                put(entity);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void upsert(T entity) throws IOException {
+        if (entity.getId() == null) return;
+
+        if (journalOut == null) {
+            Files.createDirectories(journalFile.getParent());
+            FileOutputStream out = new FileOutputStream(journalFile.toFile(), true);
+            journalFd = out.getFD();
+            journalOut = new BufferedOutputStream(out);
+        }
+
+        StringWriter line = new StringWriter();
+        write(entity, line);
+        journalOut.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        journalSize++;
+
+        put(entity);
+    }
+
+    private void put(T entity) {
+        if (entity.getId() == null) return;
+
+        lock.writeLock().lock();
+        try {
+            T previous = entities.put(entity.getId(), entity);
+            for (Map.Entry<Index, MethodHandle> index : indexGetters.entrySet()) {
+                Map<String, Set<String>> values = indexes.get(index.getKey());
+                if (previous != null) {
+                    String value = value(index.getValue(), previous);
+                    Set<String> ids = value == null ? null : values.get(value);
+                    if (ids != null) {
+                        ids.remove(entity.getId());
+                        if (ids.isEmpty()) values.remove(value);
+                    }
+                }
+
+                String value = value(index.getValue(), entity);
+                if (value != null) values.computeIfAbsent(value, v -> new LinkedHashSet<>()).add(entity.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(T entity, Writer writer) throws IOException {
+        codec.toJson(entity, writer);
+        writer.write('\n');
+    }
+
+    private void flushJournal() throws IOException {
+        if (journalOut != null) {
+            journalOut.flush();
+            journalFd.sync();
+        }
+    }
+
+    private void closeJournal() throws IOException {
+        if (journalOut != null) {
+            try {
+                journalOut.close();
+            } finally {
+                journalOut = null;
+                journalFd = null;
+            }
+        }
+    }
+
+    private static String value(MethodHandle getter, Object entity) {
+        return (String) Getters.invoke(getter, entity);
+    }
+
+    /**
+     * Поля, по которым сущности индексируются в копии. Поля, которых нет у сущностей
+     * этого типа, не индексируются
+     */
+    public enum Index {
+        id("getId"),
+        externalCode("getExternalCode"),
+        article("getArticle"),
+        code("getCode"),
+        syncId("getSyncId");
+
+        private final String getter;
+
+        Index(String getter) {
+            this.getter = getter;
+        }
+    }
+
+    /**
+     * Хранилище отметок, которое перед сохранением отметки записывает журнал на диск
+     */
+    private class JournalWatermarkStore implements WatermarkStore {
+        private final WatermarkStore delegate;
+
+        JournalWatermarkStore(WatermarkStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Watermark load(String key) throws IOException {
+            return delegate.load(key);
+        }
+
+        @Override
+        public void save(String key, Watermark watermark) throws IOException {
+            flushJournal();
+            delegate.save(key, watermark);
+        }
+
+        @Override
+        public void remove(String key) throws IOException {
+            delegate.remove(key);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.Fetchable;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.params.ApiParam;
+import com.lognex.api.utils.params.ExpandParam;
+import com.lognex.api.utils.params.LimitParam;
+import lombok.Getter;
+
+import java.io.InterruptedIOException;
+import java.lang.invoke.MethodHandle;
+import java.util.*;
+
+/**
+ * План запроса сущностей со вложенными сущностями, которые будут прочитаны (например,
+ * <code>agent</code>, <code>positions.assortment</code>, <code>state</code>). Строит минимальный
+ * параметр <code>expand</code> (пути, входящие в более длинные, отбрасываются) и подходящий
+ * <code>limit</code>, а вложенные сущности глубже {@link #MAX_EXPAND_DEPTH} уровней дозапрашивает
+ * пакетно после получения ответа (см. {@link #resolve(LognexApi, Collection)}).<br/>
+ * <br/>
+ * Пример:
+ * <pre>
+ * ExpandPlan plan = ExpandPlan.of("agent", "positions.assortment", "state");
+ * ListEntity&lt;DemandDocumentEntity&gt; demands = api.entity().demand().get(plan.params());
+ * plan.resolve(api, demands.getRows());
+ * </pre>
+ */
+public final class ExpandPlan {
+    /**
+     * Максимальная глубина вложенности <code>expand</code>, которую поддерживает API
+     */
+    public static final int MAX_EXPAND_DEPTH = 3;
+
+    /**
+     * Пути, которые раскрываются с помощью <code>expand</code>
+     */
+    @Getter
+    private final List<String> expandPaths;
+
+    /**
+     * Пути глубже {@link #MAX_EXPAND_DEPTH}, вложенные сущности по которым дозапрашиваются
+     * с помощью {@link #resolve(LognexApi, Collection)}
+     */
+    @Getter
+    private final List<String> resolvePaths;
+
+    private ExpandPlan(List<String> expandPaths, List<String> resolvePaths) {
+        this.expandPaths = Collections.unmodifiableList(expandPaths);
+        this.resolvePaths = Collections.unmodifiableList(resolvePaths);
+    }
+
+    /**
+     * Строит план по путям вложенных сущностей (сегменты пути разделяются точкой)
+     */
+    public static ExpandPlan of(String... paths) {
+        Set<String> normalized = new TreeSet<>();
+        for (String path : paths) {
+            if (path == null || path.trim().isEmpty()) continue;
+
+            String[] segments = path.trim().split("\\.");
+            for (String segment : segments) {
+                if (segment.isEmpty()) throw new IllegalArgumentException("Некорректный путь вложенной сущности: '" + path + "'");
+            }
+            normalized.add(String.join(".", segments));
+        }
+
+        List<String> resolvePaths = new ArrayList<>();
+        Set<String> expandPaths = new TreeSet<>();
+        for (String path : normalized) {
+            String[] segments = path.split("\\.");
+            if (segments.length > MAX_EXPAND_DEPTH) {
+                resolvePaths.add(path);
+                expandPaths.add(String.join(".", Arrays.copyOf(segments, MAX_EXPAND_DEPTH)));
+            } else {
+                expandPaths.add(path);
+            }
+        }
+
+        // Путь, который является началом другого пути, раскрывается вместе с ним
+        expandPaths.removeIf(path -> expandPaths.stream().anyMatch(other -> other.startsWith(path + ".")));
+
+        return new ExpandPlan(new ArrayList<>(expandPaths), resolvePaths);
+    }
+
+    /**
+     * Параметр <code>expand</code> (null, если раскрывать нечего)
+     */
+    public ExpandParam expand() {
+        return ExpandParam.expand(expandPaths.toArray(new String[0]));
+    }
+
+    /**
+     * Максимальный размер страницы списка, который API разрешает для этого плана
+     */
+    public int limit() {
+        return expandPaths.isEmpty() ? LimitParam.MAX_LIMIT : LimitParam.MAX_EXPAND_LIMIT;
+    }
+
+    /**
+     * Параметры запроса списка: <code>expand</code> (если нужен) и <code>limit</code>
+     */
+    public ApiParam[] params() {
+        ExpandParam expand = expand();
+        return expand == null ?
+                new ApiParam[]{LimitParam.limit(limit())} :
+                new ApiParam[]{expand, LimitParam.limit(limit())};
+    }
+
+    /**
+     * Дозапрашивает вложенные сущности по путям глубже {@link #MAX_EXPAND_DEPTH} уровней
+     * для сущностей, полученных с параметрами этого плана. Уровни, которые не раскрыл
+     * <code>expand</code>, запрашиваются по очереди с помощью {@link Fetchable#fetchAll(LognexApi, Collection)},
+     * каждая уникальная ссылка — один раз
+     *
+     * @return результат по каждой дозапрошенной ссылке
+     * @throws InterruptedIOException когда поток был прерван во время ожидания
+     */
+    public BulkResponse<MetaEntity> resolve(LognexApi api, Collection<? extends MetaEntity> entities) throws InterruptedIOException {
+        BulkResponse<MetaEntity> result = new BulkResponse<>();
+
+        for (String path : resolvePaths) {
+            String[] segments = path.split("\\.");
+            Collection<Object> level = new ArrayList<>(entities);
+            for (int i = 0; i < segments.length; i++) {
+                level = children(level, segments[i]);
+
+                if (i >= MAX_EXPAND_DEPTH) {
+                    List<MetaEntity> references = new ArrayList<>();
+                    for (Object o : level) {
+                        if (o instanceof MetaEntity) references.add((MetaEntity) o);
+                    }
+                    result.getItems().addAll(Fetchable.fetchAll(api, references).getItems());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Значения поля у всех объектов уровня. Значения-списки ({@link ListEntity}, {@link Collection})
+     * разворачиваются в элементы
+     */
+    private static Collection<Object> children(Collection<Object> level, String field) {
+        Collection<Object> result = new ArrayList<>();
+        for (Object o : level) {
+            MethodHandle getter = Getters.getter(o.getClass(), "get" + Character.toUpperCase(field.charAt(0)) + field.substring(1), null);
+            Object value = getter == null ? null : Getters.invoke(getter, o);
+
+            if (value instanceof ListEntity) {
+                List<?> rows = ((ListEntity<?>) value).getRows();
+                if (rows != null) result.addAll(rows);
+            } else if (value instanceof Collection) {
+                result.addAll((Collection<?>) value);
+            } else if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.utils.json.LocalDateTimeCodec;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Хранилище отметок синхронизации в файле формата {@link Properties}. Файл перезаписывается
+ * целиком при каждом изменении: новое содержимое пишется во временный файл рядом с указанным,
+ * который затем переименовывается, поэтому прерванная запись не портит сохранённые отметки
+ */
+public class FileWatermarkStore implements WatermarkStore {
+    private static final String UPDATED = ".updated";
+    private static final String IDS = ".ids";
+
+    private final Path file;
+    private Properties properties;
+
+    public FileWatermarkStore(File file) {
+        this.file = file.toPath().toAbsolutePath();
+    }
+
+    @Override
+    public synchronized Watermark load(String key) throws IOException {
+        Properties properties = properties();
+        String updated = properties.getProperty(key + UPDATED);
+        if (updated == null) return null;
+
+        String ids = properties.getProperty(key + IDS, "");
+        return new Watermark(
+                LocalDateTimeCodec.parse(updated),
+                ids.isEmpty() ? new LinkedHashSet<>() : new LinkedHashSet<>(Arrays.asList(ids.split(",")))
+        );
+    }
+
+    @Override
+    public synchronized void save(String key, Watermark watermark) throws IOException {
+        Properties properties = properties();
+        properties.setProperty(key + UPDATED, LocalDateTimeCodec.format(watermark.getUpdated(), false));
+        properties.setProperty(key + IDS, String.join(",", watermark.getIds()));
+        write(properties);
+    }
+
+    @Override
+    public synchronized void remove(String key) throws IOException {
+        Properties properties = properties();
+        if (properties.remove(key + UPDATED) != null | properties.remove(key + IDS) != null) {
+            write(properties);
+        }
+    }
+
+    private Properties properties() throws IOException {
+        if (properties == null) {
+            Properties loaded = new Properties();
+            if (Files.exists(file)) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    loaded.load(reader);
+                }
+            }
+            properties = loaded;
+        }
+        return properties;
+    }
+
+    private void write(Properties properties) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        Path temp = file.resolveSibling("." + file.getFileName() + "." + UUID.randomUUID() + ".part");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
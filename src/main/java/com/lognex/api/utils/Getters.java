@@ -0,0 +1,69 @@
+package com.lognex.api.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Публичные геттеры классов сущностей, найденные один раз и сохранённые в виде {@link MethodHandle}
+ * (так же, как в {@link com.lognex.api.entities.Entity#clone(com.lognex.api.entities.Entity)}).
+ * Кеш привязан к классу и не удерживает его от выгрузки
+ */
+final class Getters {
+    private static final MethodType getterType = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Геттеры по классу и имени метода (пустые, если геттера нет)
+     */
+    private static final ClassValue<Map<String, Optional<MethodHandle>>> getters = new ClassValue<Map<String, Optional<MethodHandle>>>() {
+        @Override
+        protected Map<String, Optional<MethodHandle>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private Getters() {
+    }
+
+    /**
+     * Возвращает геттер класса с указанным именем, приведённый к типу <code>(Object) Object</code>,
+     * или null, если такого публичного геттера нет или он возвращает значение другого типа
+     *
+     * @param returnType тип значения геттера (null — любой)
+     */
+    static MethodHandle getter(Class<?> cl, String name, Class<?> returnType) {
+        MethodHandle getter = getters.get(cl).computeIfAbsent(name, n -> find(cl, n)).orElse(null);
+        if (getter == null || (returnType != null && getter.type().returnType() != returnType)) return null;
+
+        return getter.asType(getterType);
+    }
+
+    /**
+     * Вызывает геттер, полученный с помощью {@link #getter(Class, String, Class)}
+     */
+    static Object invoke(MethodHandle getter, Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Optional<MethodHandle> find(Class<?> cl, String name) {
+        try {
+            Method method = cl.getMethod(name);
+            if (Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class) return Optional.empty();
+
+            return Optional.of(MethodHandles.publicLookup().unreflect(method));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return Optional.empty();
+        }
+    }
+}
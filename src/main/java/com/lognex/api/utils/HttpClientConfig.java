@@ -0,0 +1,174 @@
+package com.lognex.api.utils;
+
+import lombok.Getter;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Настройки HTTP-клиента, который используется экземпляром LognexApi по умолчанию:
+ * пул соединений, keep-alive, вытеснение простаивающих соединений и таймауты. Те же настройки
+ * (кроме вытеснения соединений) применяются к неблокирующему клиенту асинхронных запросов
+ * (см. {@link #buildAsync()}).<br/>
+ * <br/>
+ * Таймаут ожидания данных от сервера по умолчанию не ограничен, как и у клиента
+ * {@link org.apache.http.impl.client.HttpClients#createDefault()}, который использовался раньше:
+ * долгие выгрузки и отчёты не прерываются. Установка соединения и ожидание свободного соединения
+ * в пуле по умолчанию ограничены (10 и 30 секунд).<br/>
+ * <br/>
+ * Пример:
+ * <pre>
+ * new LognexApi(host, true, login, password, new HttpClientConfig().maxConnections(32).socketTimeout(120_000));
+ * </pre>
+ */
+@Getter
+public final class HttpClientConfig {
+    private int maxConnections = 32;
+    private int maxConnectionsPerRoute = 32;
+    private long defaultKeepAliveMillis = 30_000;
+    private long maxIdleMillis = 60_000;
+    private int validateAfterInactivityMillis = 2_000;
+    private int connectTimeoutMillis = 10_000;
+    private int socketTimeoutMillis = 0;
+    private int connectionRequestTimeoutMillis = 30_000;
+
+    /**
+     * Максимальное количество соединений в пуле
+     */
+    public HttpClientConfig maxConnections(int value) {
+        this.maxConnections = value;
+        return this;
+    }
+
+    /**
+     * Максимальное количество соединений к одному хосту
+     */
+    public HttpClientConfig maxConnectionsPerRoute(int value) {
+        this.maxConnectionsPerRoute = value;
+        return this;
+    }
+
+    /**
+     * Время жизни keep-alive соединения, если сервер не прислал заголовок <code>Keep-Alive</code>
+     */
+    public HttpClientConfig defaultKeepAlive(long millis) {
+        this.defaultKeepAliveMillis = millis;
+        return this;
+    }
+
+    /**
+     * Время простоя, после которого соединение закрывается фоновым потоком клиента
+     */
+    public HttpClientConfig maxIdle(long millis) {
+        this.maxIdleMillis = millis;
+        return this;
+    }
+
+    /**
+     * Время простоя, после которого соединение проверяется перед повторным использованием
+     */
+    public HttpClientConfig validateAfterInactivity(int millis) {
+        this.validateAfterInactivityMillis = millis;
+        return this;
+    }
+
+    /**
+     * Таймаут установки соединения
+     */
+    public HttpClientConfig connectTimeout(int millis) {
+        this.connectTimeoutMillis = millis;
+        return this;
+    }
+
+    /**
+     * Таймаут ожидания данных от сервера (0 — без ограничения, по умолчанию)
+     */
+    public HttpClientConfig socketTimeout(int millis) {
+        this.socketTimeoutMillis = millis;
+        return this;
+    }
+
+    /**
+     * Таймаут ожидания свободного соединения в пуле
+     */
+    public HttpClientConfig connectionRequestTimeout(int millis) {
+        this.connectionRequestTimeoutMillis = millis;
+        return this;
+    }
+
+    /**
+     * Создаёт HTTP-клиент с этими настройками
+     */
+    public CloseableHttpClient build() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMillis);
+
+        return HttpClients.custom().
+                setConnectionManager(connectionManager).
+                setDefaultRequestConfig(requestConfig()).
+                setKeepAliveStrategy(keepAliveStrategy()).
+                evictExpiredConnections().
+                evictIdleConnections(maxIdleMillis, TimeUnit.MILLISECONDS).
+                build();
+    }
+
+    /**
+     * Создаёт неблокирующий HTTP-клиент с этими настройками. Запросы выполняются потоками-демонами
+     * ввода-вывода клиента, количество которых равно количеству процессоров. Клиент нужно запустить
+     * ({@link CloseableHttpAsyncClient#start()}) перед использованием и закрыть после
+     */
+    public CloseableHttpAsyncClient buildAsync() {
+        return HttpAsyncClients.custom().
+                setMaxConnTotal(maxConnections).
+                setMaxConnPerRoute(maxConnectionsPerRoute).
+                setDefaultRequestConfig(requestConfig()).
+                setKeepAliveStrategy(keepAliveStrategy()).
+                setThreadFactory(new DaemonThreadFactory("lognex-api-io-")).
+                build();
+    }
+
+    private RequestConfig requestConfig() {
+        return RequestConfig.custom().
+                setConnectTimeout(connectTimeoutMillis).
+                setSocketTimeout(socketTimeoutMillis).
+                setConnectionRequestTimeout(connectionRequestTimeoutMillis).
+                build();
+    }
+
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        return (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? keepAlive : defaultKeepAliveMillis;
+        };
+    }
+
+    /**
+     * Фабрика потоков-демонов с именами вида <code>{prefix}{N}</code>
+     */
+    static final class DaemonThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,58 +1,107 @@
 package com.lognex.api.utils;
 
-import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.lognex.api.LognexApi;
+import com.lognex.api.entities.Entity;
+import com.lognex.api.entities.Meta;
 import com.lognex.api.entities.MetaEntity;
 import com.lognex.api.responses.ErrorResponse;
 import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.json.JsonCodec;
 import com.lognex.api.utils.params.ApiParam;
-import org.apache.commons.io.FileUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.entity.DeflateDecompressingEntity;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.client.entity.GzipDecompressingEntity;
 import org.apache.http.client.methods.*;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.io.*;
+import java.lang.reflect.Type;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public final class HttpRequestExecutor {
     private static final Logger logger = LogManager.getLogger(HttpRequestExecutor.class);
     private static final Base64.Encoder b64enc = Base64.getEncoder();
+    /**
+     * Минимальный размер тела запроса (в байтах), начиная с которого оно сжимается,
+     * если включено сжатие запросов (см. {@link LognexApi#requestCompression(boolean)})
+     */
+    public static final int REQUEST_COMPRESSION_MIN_SIZE = 4096;
+
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+    private static final long TRANSFER_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * Планировщик повторов неблокирующих запросов и ожидания разрешения {@link RateLimiter}
+     */
+    private static final ScheduledExecutorService asyncScheduler = Executors.newSingleThreadScheduledExecutor(
+            new HttpClientConfig.DaemonThreadFactory("lognex-api-scheduler-")
+    );
+
     private static Charset queryParamsCharset = Charset.forName("UTF-8");
 
     private final String url;
     private List<ApiParam> apiParams;
     private Map<String, Object> query;
     private Map<String, Object> headers;
-    private final Gson gson;
+    private JsonCodec codec;
     private final CloseableHttpClient client;
+    private Supplier<CloseableHttpAsyncClient> asyncClient;
+    private RateLimiter rateLimiter;
+    private RetryPolicy retryPolicy;
+    private ResponseCache cache;
     private Object body;
+    private boolean requestCompression;
 
     private HttpRequestExecutor(LognexApi api, String url) {
         if (api == null) throw new IllegalArgumentException("Для выполнения запроса к API нужен проинициализированный экземпляр LognexApi!");
 
         this.client = api.getClient();
+        this.asyncClient = api::getAsyncClient;
         this.url = api.getHost() + LognexApi.API_PATH + url;
         query = new HashMap<>();
         headers = new HashMap<>();
         body = null;
+        rateLimiter = api.getRateLimiter();
+        retryPolicy = api.getRetryPolicy();
+        cache = api.getResponseCache();
         auth(api);
+        compression(api);
 
         if (api.isTimeWithMilliseconds()) header("X-Lognex-Format-Millisecond", "true");
         if (api.isPrettyPrintJson()) header("Lognex-Pretty-Print-JSON", "true");
         if (api.isPricePrecision()) header("X-Lognex-Precision", "true");
         if (api.isWithoutWebhookContent()) header("X-Lognex-WebHook-Disable", "true");
 
-        gson = LognexApi.createGson(false, api.isTimeWithMilliseconds());
+        codec = api.getCodec();
     }
 
     private HttpRequestExecutor(CloseableHttpClient client, String url) {
@@ -63,7 +112,7 @@ public final class HttpRequestExecutor {
         query = new HashMap<>();
         headers = new HashMap<>();
         body = null;
-        gson = LognexApi.createGson();
+        codec = LognexApi.getDefaultCodec(false);
     }
 
     /**
@@ -77,7 +126,13 @@ public final class HttpRequestExecutor {
      * Создаёт билдер запроса к URL
      */
     public static HttpRequestExecutor url(LognexApi api, String url) {
-        return new HttpRequestExecutor(api.getClient(), url).auth(api);
+        HttpRequestExecutor executor = new HttpRequestExecutor(api.getClient(), url).auth(api).compression(api);
+        executor.asyncClient = api::getAsyncClient;
+        executor.rateLimiter = api.getRateLimiter();
+        executor.retryPolicy = api.getRetryPolicy();
+        executor.cache = api.getResponseCache();
+        executor.codec = api.getCodec();
+        return executor;
     }
 
     /**
@@ -100,6 +155,14 @@ public final class HttpRequestExecutor {
         );
     }
 
+    /**
+     * Включает сжатие ответов и тел запросов в соответствии с настройками API
+     */
+    private HttpRequestExecutor compression(LognexApi api) {
+        requestCompression = api.isRequestCompression();
+        return api.isResponseCompression() ? header("Accept-Encoding", "gzip, deflate") : this;
+    }
+
     /**
      * Добавить параметр в строку запроса после URL в формате <code>key=value&</code>.
      */
@@ -186,72 +249,450 @@ public final class HttpRequestExecutor {
      * @throws LognexApiException когда возникла ошибка API
      */
     private String executeRequest(HttpUriRequest request) throws IOException, LognexApiException {
-        logger.debug("Выполнение запроса  {} {}...", request.getMethod(), request.getURI());
-        try (CloseableHttpResponse response = client.execute(request)) {
-            String json = response.getStatusLine().getStatusCode() == 204 ?
-                    "" :
-                    EntityUtils.toString(response.getEntity());
-
-            logger.debug(
-                    "Ответ на запрос     {} {}: ({}) {}",
-                    request.getMethod(),
-                    request.getURI(),
-                    response.getStatusLine().getStatusCode(),
-                    json
-            );
-
-            if (response.getStatusLine().getStatusCode() != 200 &&
-                    response.getStatusLine().getStatusCode() != 201 &&
-                    response.getStatusLine().getStatusCode() != 204) {
-                ErrorResponse er = gson.fromJson(json, ErrorResponse.class);
-
-                throw new LognexApiException(
-                        request.getMethod() + " " + request.getURI(),
-                        response.getStatusLine().getStatusCode(),
-                        response.getStatusLine().getReasonPhrase(),
-                        er
-                );
+        return executeRequest(request, (req, response, entity) -> readString(req, response.getStatusLine().getStatusCode(), entity));
+    }
+
+    /**
+     * Выполняет созданный запрос и конвертирует тело ответа в объект указанного типа.
+     * Тело ответа читается напрямую из потока, без промежуточной строки (кроме случаев,
+     * когда тело нужно для отладочного логирования или разбора ошибки)
+     *
+     * @param type тип, в который нужно сконвертировать ответ на запрос
+     * @throws IOException        когда возникла сетевая ошибка
+     * @throws LognexApiException когда возникла ошибка API
+     */
+    private <T> T executeRequest(HttpUriRequest request, Type type) throws IOException, LognexApiException {
+        return executeJsonRequest(request, in -> codec.fromJson(in, type));
+    }
+
+    /**
+     * Выполняет созданный запрос и передаёт тело ответа обработчику в виде {@link Reader}.
+     * Тело ответа читается напрямую из потока, без промежуточной строки (кроме случаев,
+     * когда тело нужно для отладочного логирования)
+     *
+     * @throws IOException        когда возникла сетевая ошибка
+     * @throws LognexApiException когда возникла ошибка API
+     */
+    private <T> T executeJsonRequest(HttpUriRequest request, JsonHandler<T> handler) throws IOException, LognexApiException {
+        return executeRequest(request, (req, response, entity) -> {
+            try (Reader reader = openReader(req, response, entity)) {
+                return handler.handle(reader);
             }
+        });
+    }
+
+    /**
+     * Открывает тело ответа для чтения: напрямую из потока или, если тело нужно
+     * для отладочного логирования, из промежуточной строки
+     */
+    private Reader openReader(HttpUriRequest request, HttpResponse response, HttpEntity entity) throws IOException {
+        if (entity == null || logger.isDebugEnabled()) {
+            return new StringReader(readString(request, response.getStatusLine().getStatusCode(), entity));
+        }
+
+        return new InputStreamReader(entity.getContent(), getCharset(entity));
+    }
+
+    /**
+     * Копирует тело ответа в канал по мере получения, не загружая его в память целиком.
+     * Если канал — {@link FileChannel}, данные пишутся с помощью {@link FileChannel#transferFrom}
+     * начиная с текущей позиции канала (если она не за концом файла: в этом случае
+     * <code>transferFrom</code> ничего не записывает)
+     *
+     * @param restartable можно ли повторить запрос, если часть тела уже записана
+     *                    (например, когда при повторе канал открывается заново)
+     * @return количество записанных байтов
+     */
+    private static long transfer(HttpEntity entity, WritableByteChannel target, boolean restartable) throws IOException {
+        if (entity == null) return 0;
 
-            return json;
+        long written = 0;
+        try (ReadableByteChannel source = Channels.newChannel(entity.getContent())) {
+            if (target instanceof FileChannel && ((FileChannel) target).position() <= ((FileChannel) target).size()) {
+                FileChannel file = (FileChannel) target;
+                long position = file.position();
+                for (long n; (n = file.transferFrom(source, position + written, TRANSFER_CHUNK_SIZE)) > 0; ) {
+                    written += n;
+                }
+                file.position(position + written);
+            } else {
+                ByteBuffer buffer = ByteBuffer.allocate(TRANSFER_BUFFER_SIZE);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) written += target.write(buffer);
+                    buffer.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw written > 0 && !restartable ? new NotRetryableIOException(e) : e;
         }
+
+        return written;
     }
 
     /**
-     * Выполняет созданный запрос и возвращает ответ в виде массива байтов
+     * Выполняет созданный запрос и передаёт тело успешного ответа обработчику.
+     * Если для API задан {@link RateLimiter}, запрос выполняется с его разрешения.
+     * Если задана {@link RetryPolicy}, запрос повторяется при временных ошибках.
+     * Ответ 304 считается успешным только для условных запросов. После успешного запроса,
+     * изменяющего данные, сущность удаляется из кеша ответов
      *
-     * @return тело ответа в виде массива байтов
      * @throws IOException        когда возникла сетевая ошибка
      * @throws LognexApiException когда возникла ошибка API
      */
-    private byte[] executeByteRequest(HttpUriRequest request) throws IOException, LognexApiException {
+    private <T> T executeRequest(HttpUriRequest request, ResponseHandler<T> handler) throws IOException, LognexApiException {
+        for (int attempt = 1; ; attempt++) {
+            long delay;
+
+            logger.debug("Выполнение запроса  {} {}...", request.getMethod(), request.getURI());
+
+            if (rateLimiter != null) rateLimiter.acquire();
+            try (CloseableHttpResponse response = client.execute(request)) {
+                if (rateLimiter != null) rateLimiter.onResponse(response);
+
+                int statusCode = response.getStatusLine().getStatusCode();
+                HttpEntity entity = responseEntity(response);
+
+                if (isSuccessful(request, statusCode)) {
+                    invalidateCache(request);
+                    return handler.handle(request, response, entity);
+                }
+
+                String json = readString(request, statusCode, entity);
+
+                if (retryPolicy == null || !retryPolicy.shouldRetry(request, statusCode, attempt)) {
+                    throw apiException(request, response, json);
+                }
+
+                delay = retryDelay(request, response, attempt);
+            } catch (IOException e) {
+                if (e instanceof NotRetryableIOException) throw (IOException) e.getCause();
+                if (retryPolicy == null || !retryPolicy.shouldRetry(request, e, attempt)) throw e;
+
+                delay = retryDelay(request, e, attempt);
+            } finally {
+                if (rateLimiter != null) rateLimiter.release();
+            }
+
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Ожидание повтора запроса было прервано");
+            }
+        }
+    }
+
+    /**
+     * Выполняет созданный запрос неблокирующим HTTP-клиентом API (см. {@link LognexApi#getAsyncClient()})
+     * и передаёт тело успешного ответа обработчику. {@link RateLimiter}, {@link RetryPolicy} и кеш
+     * ответов применяются так же, как в {@link #executeRequest(HttpUriRequest, ResponseHandler)},
+     * но ожидание разрешения на запрос и паузы перед повтором не занимают потоков. Ответ читается
+     * в память целиком, а обработчик вызывается в потоке ввода-вывода клиента
+     *
+     * @return CompletableFuture, который завершается результатом обработчика или ошибкой
+     * ({@link IOException}, {@link LognexApiException}) без обёрток
+     */
+    private <T> CompletableFuture<T> executeAsync(HttpUriRequest request, ResponseHandler<T> handler) {
+        if (asyncClient == null) {
+            return failedFuture(new IllegalStateException("Для асинхронного запроса нужен проинициализированный экземпляр LognexApi!"));
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            bufferEntity(request);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        executeAsync(request, handler, 1, future);
+        return future;
+    }
+
+    private <T> void executeAsync(HttpUriRequest request, ResponseHandler<T> handler, int attempt, CompletableFuture<T> future) {
+        if (future.isDone()) return;
+
+        try {
+            long wait = rateLimiter == null ? 0 : rateLimiter.tryAcquire();
+            if (wait > 0) {
+                asyncScheduler.schedule(() -> executeAsync(request, handler, attempt, future), wait, TimeUnit.MILLISECONDS);
+                return;
+            }
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return;
+        }
+
         logger.debug("Выполнение запроса  {} {}...", request.getMethod(), request.getURI());
-        try (CloseableHttpResponse response = client.execute(request)) {
-            byte[] bytes = EntityUtils.toByteArray(response.getEntity());
-            if (response.getStatusLine().getStatusCode() != 200 &&
-                    response.getStatusLine().getStatusCode() != 201 &&
-                    response.getStatusLine().getStatusCode() != 204) {
-                String json = new String(bytes);
-
-                logger.debug(
-                        "Ответ на запрос     {} {}: ({}) {}",
-                        request.getMethod(),
-                        request.getURI(),
-                        response.getStatusLine().getStatusCode(),
-                        json
-                );
 
-                ErrorResponse er = gson.fromJson(json, ErrorResponse.class);
+        try {
+            asyncClient.get().execute(request, new FutureCallback<HttpResponse>() {
+                @Override
+                public void completed(HttpResponse response) {
+                    try {
+                        handleAsync(request, response, handler, attempt, future);
+                    } finally {
+                        if (rateLimiter != null) rateLimiter.release();
+                    }
+                }
 
-                throw new LognexApiException(
-                        request.getMethod() + " " + request.getURI(),
-                        response.getStatusLine().getStatusCode(),
-                        response.getStatusLine().getReasonPhrase(),
-                        er
-                );
+                @Override
+                public void failed(Exception e) {
+                    if (rateLimiter != null) rateLimiter.release();
+                    failAsync(request, e, handler, attempt, future);
+                }
+
+                @Override
+                public void cancelled() {
+                    if (rateLimiter != null) rateLimiter.release();
+                    future.cancel(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            if (rateLimiter != null) rateLimiter.release();
+            future.completeExceptionally(e);
+        }
+    }
+
+    private <T> void handleAsync(HttpUriRequest request, HttpResponse response, ResponseHandler<T> handler, int attempt, CompletableFuture<T> future) {
+        long delay;
+        try {
+            if (rateLimiter != null) rateLimiter.onResponse(response);
+
+            int statusCode = response.getStatusLine().getStatusCode();
+            HttpEntity entity = responseEntity(response);
+
+            if (isSuccessful(request, statusCode)) {
+                invalidateCache(request);
+                future.complete(handler.handle(request, response, entity));
+                return;
+            }
+
+            String json = readString(request, statusCode, entity);
+
+            if (retryPolicy == null || !retryPolicy.shouldRetry(request, statusCode, attempt)) {
+                future.completeExceptionally(apiException(request, response, json));
+                return;
             }
 
-            return bytes;
+            delay = retryDelay(request, response, attempt);
+        } catch (Exception e) {
+            failAsync(request, e, handler, attempt, future);
+            return;
+        }
+
+        asyncScheduler.schedule(() -> executeAsync(request, handler, attempt + 1, future), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private <T> void failAsync(HttpUriRequest request, Exception e, ResponseHandler<T> handler, int attempt, CompletableFuture<T> future) {
+        if (e instanceof NotRetryableIOException) {
+            future.completeExceptionally(e.getCause());
+        } else if (e instanceof IOException && retryPolicy != null && retryPolicy.shouldRetry(request, (IOException) e, attempt)) {
+            long delay = retryDelay(request, (IOException) e, attempt);
+            asyncScheduler.schedule(() -> executeAsync(request, handler, attempt + 1, future), delay, TimeUnit.MILLISECONDS);
+        } else {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Заменяет тело запроса копией в памяти, если его нельзя прочитать как поток
+     * (например, сжимаемое при отправке): неблокирующий клиент отправляет тело из
+     * {@link HttpEntity#getContent()} и может отправить его повторно. Поэтому тело
+     * асинхронного запроса, в отличие от синхронного, находится в памяти целиком
+     * (в том числе содержимое изображений, заданных файлом, в Base64)
+     */
+    private static void bufferEntity(HttpUriRequest request) throws IOException {
+        if (!(request instanceof HttpEntityEnclosingRequest)) return;
+
+        HttpEntityEnclosingRequest enclosing = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = enclosing.getEntity();
+        if (entity == null || entity instanceof StringEntity || entity instanceof ByteArrayEntity) return;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+
+        ByteArrayEntity buffered = new ByteArrayEntity(out.toByteArray());
+        buffered.setContentType(entity.getContentType());
+        buffered.setContentEncoding(entity.getContentEncoding());
+        enclosing.setEntity(buffered);
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    /**
+     * Тело ответа с учётом сжатия (null для ответов 204 и 304)
+     */
+    private static HttpEntity responseEntity(HttpResponse response) {
+        int statusCode = response.getStatusLine().getStatusCode();
+        return statusCode == 204 || statusCode == 304 ? null : decompress(response.getEntity());
+    }
+
+    /**
+     * Успешен ли ответ. Ответ 304 считается успешным только для условных запросов
+     */
+    private static boolean isSuccessful(HttpUriRequest request, int statusCode) {
+        return statusCode == 200 || statusCode == 201 || statusCode == 204 || (statusCode == 304 && isConditional(request));
+    }
+
+    /**
+     * Удаляет из кеша ответов сущности, изменённые успешным запросом: сущность по URL запроса
+     * и, для массовых запросов (<code>POST {path}</code> и <code>POST {path}delete</code> со списком
+     * в теле), каждую сущность списка по ссылке из её <code>meta</code>
+     */
+    private void invalidateCache(HttpUriRequest request) {
+        if (cache == null || HttpGet.METHOD_NAME.equals(request.getMethod())) return;
+
+        cache.invalidate(url);
+        if (body instanceof Collection) {
+            for (Object item : (Collection<?>) body) {
+                Meta meta = null;
+                if (item instanceof MetaEntity) meta = ((MetaEntity) item).getMeta();
+                else if (item instanceof Map && ((Map<?, ?>) item).get("meta") instanceof Meta) meta = (Meta) ((Map<?, ?>) item).get("meta");
+
+                if (meta != null && meta.getHref() != null) cache.invalidate(meta.getHref());
+            }
+        }
+    }
+
+    private LognexApiException apiException(HttpUriRequest request, HttpResponse response, String json) throws IOException {
+        ErrorResponse er = codec.fromJson(new StringReader(json), ErrorResponse.class);
+
+        return new LognexApiException(
+                request.getMethod() + " " + request.getURI(),
+                response.getStatusLine().getStatusCode(),
+                response.getStatusLine().getReasonPhrase(),
+                er
+        );
+    }
+
+    private long retryDelay(HttpUriRequest request, HttpResponse response, int attempt) {
+        long delay = retryPolicy.delayMillis(attempt, response);
+        logger.warn(
+                "Повтор запроса      {} {} через {} мс (попытка {}): {} {}",
+                request.getMethod(), request.getURI(), delay, attempt + 1,
+                response.getStatusLine().getStatusCode(), response.getStatusLine().getReasonPhrase()
+        );
+        return delay;
+    }
+
+    private long retryDelay(HttpUriRequest request, IOException e, int attempt) {
+        long delay = retryPolicy.delayMillis(attempt, null);
+        logger.warn(
+                "Повтор запроса      {} {} через {} мс (попытка {}): {}",
+                request.getMethod(), request.getURI(), delay, attempt + 1, e.toString()
+        );
+        return delay;
+    }
+
+    /**
+     * Обработчик ответа, конвертирующий тело в объект указанного типа
+     */
+    private <T> ResponseHandler<T> jsonHandler(Type type) {
+        return (req, response, entity) -> {
+            try (Reader reader = openReader(req, response, entity)) {
+                return codec.fromJson(reader, type);
+            }
+        };
+    }
+
+    /**
+     * Читает тело ответа в строку и выводит его в отладочный лог
+     */
+    private String readString(HttpUriRequest request, int statusCode, HttpEntity entity) throws IOException {
+        String json = entity == null ? "" : EntityUtils.toString(entity);
+
+        logger.debug(
+                "Ответ на запрос     {} {}: ({}) {}",
+                request.getMethod(),
+                request.getURI(),
+                statusCode,
+                json
+        );
+
+        return json;
+    }
+
+    /**
+     * Оборачивает сжатое тело ответа в распаковывающую обёртку. Распаковка происходит
+     * по мере чтения, поэтому JSON разбирается прямо из сжатого потока. Если HTTP-клиент уже
+     * распаковал ответ сам, заголовка <code>Content-Encoding</code> в нём нет и тело возвращается как есть
+     */
+    private static HttpEntity decompress(HttpEntity entity) {
+        Header encoding = entity == null ? null : entity.getContentEncoding();
+        if (encoding == null) return entity;
+
+        switch (encoding.getValue().trim().toLowerCase()) {
+            case "gzip":
+            case "x-gzip":
+                return new GzipDecompressingEntity(entity);
+
+            case "deflate":
+                return new DeflateDecompressingEntity(entity);
+
+            default:
+                return entity;
+        }
+    }
+
+    /**
+     * Тело запроса в формате JSON, которое кодек пишет прямо в соединение (см. {@link JsonEntity}).
+     * Если включено сжатие запросов, тела от {@link #REQUEST_COMPRESSION_MIN_SIZE} байт (и тела
+     * неизвестной длины) сжимаются в gzip при отправке
+     */
+    private HttpEntity jsonEntity(HttpRequestBase request) throws IOException {
+        JsonEntity entity = new JsonEntity(codec, body);
+        logger.debug("Тело запроса        {} {}: {}", request.getMethod(), request.getURI(), entity);
+        long length = entity.getContentLength();
+        return requestCompression && (length < 0 || length >= REQUEST_COMPRESSION_MIN_SIZE) ? new GzipCompressingEntity(entity) : entity;
+    }
+
+    /**
+     * Условный ли запрос (ответ 304 на него означает, что сохранённая копия не изменилась)
+     */
+    private static boolean isConditional(HttpUriRequest request) {
+        return request.containsHeader("If-None-Match") || request.containsHeader("If-Modified-Since");
+    }
+
+    private static String headerValue(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header == null ? null : header.getValue();
+    }
+
+    private static Charset getCharset(HttpEntity entity) {
+        ContentType contentType = ContentType.get(entity);
+        Charset charset = contentType == null ? null : contentType.getCharset();
+        return charset == null ? StandardCharsets.UTF_8 : charset;
+    }
+
+    /**
+     * Обработчик успешного ответа и его тела (для ответов 204 и 304 тело равно null)
+     */
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+        T handle(HttpUriRequest request, HttpResponse response, HttpEntity entity) throws IOException;
+    }
+
+    /**
+     * Обработчик тела успешного ответа в формате JSON
+     */
+    @FunctionalInterface
+    private interface JsonHandler<T> {
+        T handle(Reader in) throws IOException;
+    }
+
+    /**
+     * Ошибка, после которой запрос нельзя повторять (например, часть ответа уже передана обработчику).
+     * Вызывающему коду передаётся исходная ошибка
+     */
+    private static final class NotRetryableIOException extends IOException {
+        private NotRetryableIOException(IOException cause) {
+            super(cause);
         }
     }
 
@@ -263,9 +704,7 @@ public final class HttpRequestExecutor {
      * @throws LognexApiException когда возникла ошибка API
      */
     public String get() throws IOException, LognexApiException {
-        HttpGet request = new HttpGet(getFullUrl());
-        applyHeaders(request);
-        return executeRequest(request);
+        return executeRequest(buildGet());
     }
 
     /**
@@ -276,7 +715,99 @@ public final class HttpRequestExecutor {
      * @throws LognexApiException когда возникла ошибка API
      */
     public <T> T get(Class<T> cl) throws IOException, LognexApiException {
-        return gson.fromJson(get(), cl);
+        return executeRequest(buildGet(), (Type) cl);
+    }
+
+    /**
+     * Выполняет GET-запрос с указанными ранее параметрами и конвертирует ответ в объект указанного класса,
+     * используя кеш ответов API (см. {@link LognexApi#responseCache(ResponseCache)}), если он задан
+     * и сущности этого класса кешируются. Свежая запись возвращается без запроса к API, устаревшая
+     * перепроверяется условным запросом (если с ней сохранены <code>ETag</code> или <code>Last-Modified</code>)
+     * или сравнением поля <code>version</code> полученной сущности. Возвращается копия сущности
+     * из кеша (см. {@link Entity#clone(Entity)}), поэтому её можно изменять
+     *
+     * @param cl класс, в который нужно сконвертировать ответ на запрос
+     * @throws IOException        когда возникла сетевая ошибка
+     * @throws LognexApiException когда возникла ошибка API
+     */
+    public <T extends MetaEntity> T getCached(Class<T> cl) throws IOException, LognexApiException {
+        if (cache == null || !cache.isCacheable(cl)) return get(cl);
+
+        CachedGet<T> cached = cachedGet(cl);
+        if (cached.request == null) return cached.fresh;
+
+        T value = executeRequest(cached.request, cached.handler);
+        return value == null ? null : Entity.clone(value);
+    }
+
+    /**
+     * Асинхронный вариант {@link #getCached(Class)}: свежая запись из кеша возвращается
+     * без запроса к API, остальные запросы выполняются неблокирующим клиентом
+     * (см. {@link #getAsync(Class)})
+     */
+    public <T extends MetaEntity> CompletableFuture<T> getCachedAsync(Class<T> cl) {
+        if (cache == null || !cache.isCacheable(cl)) return getAsync(cl);
+
+        CachedGet<T> cached = cachedGet(cl);
+        if (cached.request == null) return CompletableFuture.completedFuture(cached.fresh);
+
+        return executeAsync(cached.request, cached.handler).thenApply(value -> value == null ? null : Entity.clone(value));
+    }
+
+    /**
+     * Ищет ответ в кеше и, если свежей записи нет, готовит запрос (условный, если с записью
+     * сохранены <code>ETag</code> или <code>Last-Modified</code>) и обработчик, обновляющий кеш
+     */
+    private <T extends MetaEntity> CachedGet<T> cachedGet(Class<T> cl) {
+        HttpGet request = buildGet();
+        String key = request.getURI().toString();
+
+        ResponseCache.Entry cached = cache.get(key);
+        if (cached != null && cl.isInstance(cached.getValue())) {
+            if (cached.isFresh()) return new CachedGet<>(null, Entity.clone(cl.cast(cached.getValue())), null);
+
+            if (cached.getEtag() != null) request.setHeader("If-None-Match", cached.getEtag());
+            if (cached.getLastModified() != null) request.setHeader("If-Modified-Since", cached.getLastModified());
+        } else {
+            cached = null;
+        }
+
+        ResponseCache.Entry previous = cached;
+        return new CachedGet<>(request, null, (req, response, entity) -> {
+            if (response.getStatusLine().getStatusCode() == 304) {
+                cache.revalidated(key);
+                return cl.cast(previous.getValue());
+            }
+
+            T fetched;
+            try (Reader reader = openReader(req, response, entity)) {
+                fetched = codec.fromJson(reader, cl);
+            }
+            if (fetched == null) return null;
+
+            if (previous != null && fetched.getVersion() != null && fetched.getVersion().equals(previous.getValue().getVersion())) {
+                cache.revalidated(key);
+                return cl.cast(previous.getValue());
+            }
+
+            cache.put(key, new ResponseCache.Entry(fetched, headerValue(response, "ETag"), headerValue(response, "Last-Modified")));
+            return fetched;
+        });
+    }
+
+    /**
+     * Запрос к кешируемой сущности: либо свежая копия из кеша, либо запрос и его обработчик
+     */
+    private static final class CachedGet<T> {
+        private final HttpGet request;
+        private final T fresh;
+        private final ResponseHandler<T> handler;
+
+        private CachedGet(HttpGet request, T fresh, ResponseHandler<T> handler) {
+            this.request = request;
+            this.fresh = fresh;
+            this.handler = handler;
+        }
     }
 
     /**
@@ -287,7 +818,55 @@ public final class HttpRequestExecutor {
      * @throws LognexApiException когда возникла ошибка API
      */
     public <T extends MetaEntity> ListEntity<T> list(Class<T> cl) throws IOException, LognexApiException {
-        return gson.fromJson(get(), TypeToken.getParameterized(ListEntity.class, cl).getType());
+        return executeRequest(buildGet(), TypeToken.getParameterized(ListEntity.class, cl).getType());
+    }
+
+    /**
+     * Асинхронно выполняет GET-запрос неблокирующим клиентом и конвертирует ответ в объект указанного класса
+     *
+     * @param cl класс, в который нужно сконвертировать ответ на запрос
+     */
+    public <T> CompletableFuture<T> getAsync(Class<T> cl) {
+        return executeAsync(buildGet(), jsonHandler(cl));
+    }
+
+    /**
+     * Асинхронно выполняет GET-запрос неблокирующим клиентом и конвертирует ответ в <b>массив</b> объектов указанного класса
+     *
+     * @param cl класс объектов массива, в который нужно сконвертировать ответ на запрос
+     */
+    public <T extends MetaEntity> CompletableFuture<ListEntity<T>> listAsync(Class<T> cl) {
+        return executeAsync(buildGet(), jsonHandler(TypeToken.getParameterized(ListEntity.class, cl).getType()));
+    }
+
+    /**
+     * Выполняет GET-запрос с указанными ранее параметрами и передаёт объекты из ответа обработчику
+     * по мере их чтения из потока, не сохраняя их в <code>rows</code> (возвращаемый список строк пуст).
+     * Если часть объектов уже передана обработчику, запрос не повторяется при сетевой ошибке
+     *
+     * @param cl          класс объектов массива, в который нужно сконвертировать ответ на запрос
+     * @param rowConsumer обработчик объектов массива
+     * @throws IOException        когда возникла сетевая ошибка
+     * @throws LognexApiException когда возникла ошибка API
+     */
+    public <T extends MetaEntity> ListEntity<T> list(Class<T> cl, Consumer<? super T> rowConsumer) throws IOException, LognexApiException {
+        return executeJsonRequest(buildGet(), in -> {
+            boolean[] consumed = {false};
+            try {
+                return codec.fromJson(in, cl, row -> {
+                    consumed[0] = true;
+                    rowConsumer.accept(row);
+                });
+            } catch (IOException e) {
+                throw consumed[0] ? new NotRetryableIOException(e) : e;
+            }
+        });
+    }
+
+    private HttpGet buildGet() {
+        HttpGet request = new HttpGet(getFullUrl());
+        applyHeaders(request);
+        return request;
     }
 
     /**
@@ -298,42 +877,80 @@ public final class HttpRequestExecutor {
      * @throws LognexApiException когда возникла ошибка API
      */
     public String post() throws IOException, LognexApiException {
+        return executeRequest(buildPost());
+    }
+
+    private HttpPost buildPost() throws IOException {
         HttpPost request = new HttpPost(getFullUrl());
         applyHeaders(request);
 
         if (body != null) {
-            String strBody = gson.toJson(body);
-            logger.debug("Тело запроса        {} {}: {}", request.getMethod(), request.getURI(), strBody);
-            StringEntity requestEntity = new StringEntity(strBody, ContentType.APPLICATION_JSON);
-            request.setEntity(requestEntity);
+            request.setEntity(jsonEntity(request));
         }
 
-        return executeRequest(request);
+        return request;
     }
 
     /**
-     * Выполняет POST-запрос с указанными ранее параметрами и сохраняет ответ в указанный файл
+     * Выполняет POST-запрос с указанными ранее параметрами и сохраняет ответ в указанный файл.
+     * Тело ответа пишется на диск по мере получения во временный файл рядом с указанным,
+     * который после успешного завершения запроса переименовывается. При ошибке указанный файл
+     * не изменяется
      *
-     * @return тело ответа
+     * @return файл с телом ответа
      * @throws IOException        когда возникла сетевая ошибка
      * @throws LognexApiException когда возникла ошибка API
      */
     public File postAndSaveTo(File file) throws IOException, LognexApiException {
-        HttpPost request = new HttpPost(getFullUrl());
-        applyHeaders(request);
+        Path target = file.toPath().toAbsolutePath();
+        Files.createDirectories(target.getParent());
 
-        if (body != null) {
-            String strBody = gson.toJson(body);
-            logger.debug("Тело запроса        {} {}: {}", request.getMethod(), request.getURI(), strBody);
-            StringEntity requestEntity = new StringEntity(strBody, ContentType.APPLICATION_JSON);
-            request.setEntity(requestEntity);
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + ".part");
+        try {
+            executeRequest(buildPost(), (req, response, entity) -> {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    return transfer(entity, channel, true);
+                }
+            });
+
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
         }
 
-        byte[] data = executeByteRequest(request);
-        FileUtils.writeByteArrayToFile(file, data);
         return file;
     }
 
+    /**
+     * Выполняет POST-запрос с указанными ранее параметрами и записывает ответ в поток по мере
+     * получения. Поток не закрывается. Если часть ответа уже записана, запрос не повторяется
+     * при сетевой ошибке
+     *
+     * @return количество записанных байтов
+     * @throws IOException        когда возникла сетевая ошибка
+     * @throws LognexApiException когда возникла ошибка API
+     */
+    public long postAndWriteTo(OutputStream out) throws IOException, LognexApiException {
+        return postAndWriteTo(Channels.newChannel(out));
+    }
+
+    /**
+     * Выполняет POST-запрос с указанными ранее параметрами и записывает ответ в канал по мере
+     * получения (в {@link FileChannel} — начиная с его текущей позиции). Канал не закрывается.
+     * Если часть ответа уже записана, запрос не повторяется при сетевой ошибке
+     *
+     * @return количество записанных байтов
+     * @throws IOException        когда возникла сетевая ошибка
+     * @throws LognexApiException когда возникла ошибка API
+     */
+    public long postAndWriteTo(WritableByteChannel channel) throws IOException, LognexApiException {
+        return executeRequest(buildPost(), (req, response, entity) -> transfer(entity, channel, false));
+    }
+
     /**
      * Выполняет POST-запрос с указанными ранее параметрами и конвертирует ответ в объект указанного класса
      *
@@ -342,7 +959,32 @@ public final class HttpRequestExecutor {
      * @throws LognexApiException когда возникла ошибка API
      */
     public <T> T post(Class<T> cl) throws IOException, LognexApiException {
-        return gson.fromJson(post(), cl);
+        return executeRequest(buildPost(), (Type) cl);
+    }
+
+    /**
+     * Выполняет POST-запрос с указанными ранее параметрами и конвертирует ответ в объект указанного типа
+     * (например, параметризованного <code>BulkResponse&lt;T&gt;</code>)
+     *
+     * @param type тип, в который нужно сконвертировать ответ на запрос
+     * @throws IOException        когда возникла сетевая ошибка
+     * @throws LognexApiException когда возникла ошибка API
+     */
+    public <T> T post(Type type) throws IOException, LognexApiException {
+        return executeRequest(buildPost(), type);
+    }
+
+    /**
+     * Асинхронно выполняет POST-запрос неблокирующим клиентом и конвертирует ответ в объект указанного класса
+     *
+     * @param cl класс, в который нужно сконвертировать ответ на запрос
+     */
+    public <T> CompletableFuture<T> postAsync(Class<T> cl) {
+        try {
+            return executeAsync(buildPost(), jsonHandler(cl));
+        } catch (IOException e) {
+            return failedFuture(e);
+        }
     }
 
     /**
@@ -357,6 +999,18 @@ public final class HttpRequestExecutor {
         executeRequest(request);
     }
 
+    /**
+     * Асинхронно выполняет DELETE-запрос неблокирующим клиентом
+     */
+    public CompletableFuture<Void> deleteAsync() {
+        HttpDelete request = new HttpDelete(getFullUrl());
+        applyHeaders(request);
+        return executeAsync(request, (req, response, entity) -> {
+            readString(req, response.getStatusLine().getStatusCode(), entity);
+            return null;
+        });
+    }
+
     /**
      * Выполняет PUT-запрос с указанными ранее параметрами
      *
@@ -365,15 +1019,18 @@ public final class HttpRequestExecutor {
      * @throws LognexApiException когда возникла ошибка API
      */
     public String put() throws IOException, LognexApiException {
+        return executeRequest(buildPut());
+    }
+
+    private HttpPut buildPut() throws IOException {
         HttpPut request = new HttpPut(getFullUrl());
         applyHeaders(request);
 
         if (body != null) {
-            StringEntity requestEntity = new StringEntity(gson.toJson(body), ContentType.APPLICATION_JSON);
-            request.setEntity(requestEntity);
+            request.setEntity(jsonEntity(request));
         }
 
-        return executeRequest(request);
+        return request;
     }
 
     /**
@@ -384,6 +1041,19 @@ public final class HttpRequestExecutor {
      * @throws LognexApiException когда возникла ошибка API
      */
     public <T> T put(Class<? extends T> cl) throws IOException, LognexApiException {
-        return gson.fromJson(put(), cl);
+        return executeRequest(buildPut(), (Type) cl);
+    }
+
+    /**
+     * Асинхронно выполняет PUT-запрос неблокирующим клиентом и конвертирует ответ в объект указанного класса
+     *
+     * @param cl класс, в который нужно сконвертировать ответ на запрос
+     */
+    public <T> CompletableFuture<T> putAsync(Class<? extends T> cl) {
+        try {
+            return executeAsync(buildPut(), jsonHandler(cl));
+        } catch (IOException e) {
+            return failedFuture(e);
+        }
     }
 }
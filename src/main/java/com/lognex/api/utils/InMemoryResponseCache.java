@@ -0,0 +1,155 @@
+package com.lognex.api.utils;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кеш ответов в памяти с ограничением количества записей (вытесняются давно не использованные)
+ * и временем жизни записей. Считает попадания, промахи, перепроверки и вытеснения.<br/>
+ * <br/>
+ * Пример (кеш справочников на 10 минут):
+ * <pre>
+ * api.responseCache(new InMemoryResponseCache(1000, 600_000, CurrencyEntity.class, UomEntity.class, StoreEntity.class));
+ * </pre>
+ */
+public final class InMemoryResponseCache implements ResponseCache {
+    /**
+     * Максимальное количество записей по умолчанию
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    /**
+     * Время жизни записи по умолчанию
+     */
+    public static final long DEFAULT_TTL_MILLIS = 5 * 60_000;
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final Set<Class<?>> cacheableClasses;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong revalidationCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public InMemoryResponseCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * @param maximumSize      максимальное количество записей
+     * @param ttlMillis        время, в течение которого запись возвращается без запроса к API
+     * @param cacheableClasses классы сущностей, которые нужно кешировать (если не указаны — все)
+     */
+    public InMemoryResponseCache(int maximumSize, long ttlMillis, Class<?>... cacheableClasses) {
+        if (maximumSize < 1 || ttlMillis < 0) {
+            throw new IllegalArgumentException("Размер кеша должен быть больше нуля, а время жизни записей — не меньше нуля!");
+        }
+
+        this.maximumSize = maximumSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.cacheableClasses = new HashSet<>(Arrays.asList(cacheableClasses));
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= InMemoryResponseCache.this.maximumSize) return false;
+
+                evictionCount.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public boolean isCacheable(Class<?> entityClass) {
+        return cacheableClasses.isEmpty() || cacheableClasses.contains(entityClass);
+    }
+
+    @Override
+    public Entry get(String url) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(url);
+        }
+
+        (entry != null && entry.isFresh() ? hitCount : missCount).incrementAndGet();
+        return entry;
+    }
+
+    @Override
+    public void put(String url, Entry entry) {
+        entry.freshFor(ttlNanos);
+        synchronized (entries) {
+            entries.put(url, entry);
+        }
+    }
+
+    @Override
+    public void revalidated(String url) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(url);
+        }
+
+        if (entry != null) {
+            entry.freshFor(ttlNanos);
+            revalidationCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void invalidate(String href) {
+        String withQuery = href + "?";
+        synchronized (entries) {
+            entries.keySet().removeIf(url -> url.equals(href) || url.startsWith(withQuery));
+        }
+    }
+
+    /**
+     * Удаляет все записи
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Количество записей
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Количество запросов, на которые сущность возвращена из кеша без обращения к API
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Количество запросов, для которых понадобилось обращение к API (записи нет или она устарела)
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Количество устаревших записей, которые после обращения к API оказались неизменившимися
+     */
+    public long getRevalidationCount() {
+        return revalidationCount.get();
+    }
+
+    /**
+     * Количество записей, вытесненных из-за ограничения размера кеша
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+}
@@ -0,0 +1,28 @@
+package com.lognex.api.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Хранилище отметок синхронизации в памяти. Подходит для синхронизации в рамках
+ * одного процесса и для тестов; между запусками приложения отметки не сохраняются
+ * (см. {@link FileWatermarkStore})
+ */
+public class InMemoryWatermarkStore implements WatermarkStore {
+    private final Map<String, Watermark> watermarks = new ConcurrentHashMap<>();
+
+    @Override
+    public Watermark load(String key) {
+        return watermarks.get(key);
+    }
+
+    @Override
+    public void save(String key, Watermark watermark) {
+        watermarks.put(key, watermark);
+    }
+
+    @Override
+    public void remove(String key) {
+        watermarks.remove(key);
+    }
+}
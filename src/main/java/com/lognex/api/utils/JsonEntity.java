@@ -0,0 +1,145 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.utils.json.JsonCodec;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Тело запроса в формате JSON, которое пишет в соединение сам кодек (см. {@link JsonCodec#toJson(Object, Writer)}).<br/>
+ * <br/>
+ * При создании тело сериализуется не дальше первых {@link #BUFFER_SIZE} символов. Тело, которое в них
+ * уместилось, сохраняется и отправляется из памяти с известной длиной. От более длинного (например,
+ * с изображениями, заданными файлом) сохраняется только начало для лога, а при отправке оно
+ * сериализуется прямо в поток соединения без указания длины (<code>Transfer-Encoding: chunked</code>).
+ * Поэтому ни JSON, ни содержимое файлов не находятся в памяти целиком, а длинное тело сериализуется
+ * только один раз на каждую отправку
+ */
+final class JsonEntity extends AbstractHttpEntity {
+    /**
+     * Максимальный размер тела (в символах), которое хранится в памяти
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JsonCodec codec;
+    private final Object body;
+    private final String head;
+    private final byte[] content;
+
+    JsonEntity(JsonCodec codec, Object body) throws IOException {
+        this.codec = codec;
+        this.body = body;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+
+        HeadWriter writer = new HeadWriter();
+        try {
+            codec.toJson(body, writer);
+        } catch (IOException | RuntimeException e) {
+            if (!isOverflow(e)) throw e;
+        }
+
+        head = writer.head.toString();
+        content = writer.overflow ? null : head.getBytes(StandardCharsets.UTF_8);
+        setChunked(content == null);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    /**
+     * Размер тела в байтах или -1, если тело длиннее {@link #BUFFER_SIZE} символов и отправляется частями
+     */
+    @Override
+    public long getContentLength() {
+        return content != null ? content.length : -1;
+    }
+
+    /**
+     * Возвращает тело целиком в памяти. При отправке запроса используется {@link #writeTo(OutputStream)}
+     */
+    @Override
+    public InputStream getContent() throws IOException {
+        if (content != null) return new ByteArrayInputStream(content);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        if (content != null) {
+            out.write(content);
+            return;
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new CloseShieldOutputStream(out), StandardCharsets.UTF_8));
+        codec.toJson(body, writer);
+        writer.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * JSON для отладочного лога: тело целиком или его начало
+     */
+    @Override
+    public String toString() {
+        return content != null ? head : head + "...";
+    }
+
+    /**
+     * Прервана ли сериализация из-за превышения {@link #BUFFER_SIZE} (кодек может обернуть исключение)
+     */
+    private static boolean isOverflow(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof Overflow) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Запоминает первые {@link #BUFFER_SIZE} символов JSON и прерывает сериализацию, когда они закончились
+     */
+    private static final class HeadWriter extends Writer {
+        private final StringBuilder head = new StringBuilder();
+        private boolean overflow;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int keep = Math.min(len, BUFFER_SIZE - head.length());
+            head.append(cbuf, off, keep);
+            if (keep < len) {
+                overflow = true;
+                throw new Overflow();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class Overflow extends IOException {
+        Overflow() {
+            super("Тело запроса длиннее " + BUFFER_SIZE + " символов", null);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
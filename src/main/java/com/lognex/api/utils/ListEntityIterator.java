@@ -0,0 +1,143 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.params.ApiParam;
+import com.lognex.api.utils.params.LimitParam;
+import com.lognex.api.utils.params.OffsetParam;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Итератор по всем элементам списка сущностей, лениво запрашивающий у API страницы
+ * списка по мере продвижения. В памяти хранится только текущая страница.<br/>
+ * <br/>
+ * Параметры <code>limit</code> и <code>offset</code> выставляются итератором самостоятельно:
+ * размер страницы — максимально допустимый API (с учётом <code>expand</code>), а переданные
+ * пользователем значения этих параметров игнорируются.<br/>
+ * <br/>
+ * Ошибки запросов выбрасываются как {@link UncheckedIOException} и {@link UncheckedLognexApiException}
+ */
+public final class ListEntityIterator<T extends MetaEntity> implements Iterator<T> {
+    private final PageLoader<T> loader;
+    private final List<ApiParam> params;
+    private final int pageSize;
+
+    private int offset;
+    private Integer size;
+    private boolean lastPage;
+    private Iterator<T> page = Collections.emptyIterator();
+
+    /**
+     * @param loader метод, запрашивающий страницу списка с указанными параметрами
+     * @param params параметры запроса (filter, order, expand и т. п.)
+     */
+    public ListEntityIterator(PageLoader<T> loader, ApiParam... params) {
+        this.loader = loader;
+        this.params = withoutPaging(params);
+        this.pageSize = maxPageSize(this.params);
+    }
+
+    /**
+     * Возвращает параметры запроса без <code>limit</code>, <code>offset</code> и пустых значений
+     */
+    public static List<ApiParam> withoutPaging(ApiParam... params) {
+        List<ApiParam> result = new ArrayList<>();
+        if (params != null) {
+            for (ApiParam param : params) {
+                if (param == null) continue;
+                if (param.getType() == ApiParam.Type.limit || param.getType() == ApiParam.Type.offset) continue;
+                result.add(param);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает максимальный размер страницы, который API разрешает для запроса с этими параметрами
+     */
+    public static int maxPageSize(List<ApiParam> params) {
+        for (ApiParam param : params) {
+            if (param.getType() == ApiParam.Type.expand) return LimitParam.MAX_EXPAND_LIMIT;
+        }
+        return LimitParam.MAX_LIMIT;
+    }
+
+    /**
+     * Собирает параметры запроса одной страницы списка
+     */
+    public static ApiParam[] pageParams(List<ApiParam> params, int offset, int limit) {
+        ApiParam[] result = params.toArray(new ApiParam[params.size() + 2]);
+        result[params.size()] = LimitParam.limit(limit);
+        result[params.size() + 1] = OffsetParam.offset(offset);
+        return result;
+    }
+
+    /**
+     * Оборачивает итератор в последовательный {@link Stream}
+     */
+    public static <T> Stream<T> stream(Iterator<T> iterator) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        );
+    }
+
+    /**
+     * Общее количество элементов в списке (значение <code>meta.size</code>). До загрузки
+     * первой страницы равно <code>null</code>
+     */
+    public Integer getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext()) {
+            if (lastPage) return false;
+            loadNextPage();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return page.next();
+    }
+
+    private void loadNextPage() {
+        ListEntity<T> listEntity;
+        try {
+            listEntity = loader.load(pageParams(params, offset, pageSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (LognexApiException e) {
+            throw new UncheckedLognexApiException(e);
+        }
+
+        List<T> rows = listEntity == null || listEntity.getRows() == null ?
+                Collections.emptyList() :
+                listEntity.getRows();
+
+        if (listEntity != null && listEntity.getMeta() != null && listEntity.getMeta().getSize() != null) {
+            size = listEntity.getMeta().getSize();
+        }
+
+        offset += rows.size();
+        lastPage = rows.isEmpty() || (size != null ? offset >= size : rows.size() < pageSize);
+        page = rows.iterator();
+    }
+
+    /**
+     * Метод, запрашивающий у API одну страницу списка
+     */
+    @FunctionalInterface
+    public interface PageLoader<T extends MetaEntity> {
+        ListEntity<T> load(ApiParam... params) throws IOException, LognexApiException;
+    }
+}
@@ -0,0 +1,150 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.ListEntityIterator.PageLoader;
+import com.lognex.api.utils.params.ApiParam;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Итератор по всем элементам списка сущностей, запрашивающий страницы списка параллельно.<br/>
+ * <br/>
+ * Первая страница запрашивается синхронно; после неё из <code>meta.size</code> становятся известны
+ * смещения остальных страниц, и они запрашиваются заранее, не более <code>concurrency</code>
+ * страниц одновременно. Элементы выдаются в исходном порядке. В памяти хранятся текущая
+ * страница и не более <code>concurrency</code> запрошенных заранее.<br/>
+ * <br/>
+ * Параметры <code>limit</code> и <code>offset</code> выставляются итератором самостоятельно.
+ * Ошибки запросов выбрасываются как {@link UncheckedIOException} и {@link UncheckedLognexApiException}
+ * в момент, когда итератор доходит до страницы, при загрузке которой произошла ошибка
+ */
+public final class ParallelListEntityIterator<T extends MetaEntity> implements Iterator<T>, AutoCloseable {
+    private final PageLoader<T> loader;
+    private final List<ApiParam> params;
+    private final int pageSize;
+    private final Executor executor;
+    private final int concurrency;
+
+    private final Deque<CompletableFuture<ListEntity<T>>> pending = new ArrayDeque<>();
+    private Iterator<T> page = Collections.emptyIterator();
+    private boolean started;
+    private boolean closed;
+    private int nextOffset;
+    private int lastPageRows;
+    private Integer size;
+
+    /**
+     * @param loader      метод, запрашивающий страницу списка с указанными параметрами
+     * @param executor    пул потоков, в котором будут выполняться запросы страниц
+     * @param concurrency максимальное количество страниц, запрашиваемых одновременно
+     * @param params      параметры запроса (filter, order, expand и т. п.)
+     */
+    public ParallelListEntityIterator(PageLoader<T> loader, Executor executor, int concurrency, ApiParam... params) {
+        if (executor == null) throw new IllegalArgumentException("Для параллельной загрузки страниц нужен Executor!");
+        if (concurrency < 1) throw new IllegalArgumentException("Количество одновременных запросов должно быть больше нуля!");
+
+        this.loader = loader;
+        this.executor = executor;
+        this.concurrency = concurrency;
+        this.params = ListEntityIterator.withoutPaging(params);
+        this.pageSize = ListEntityIterator.maxPageSize(this.params);
+    }
+
+    /**
+     * Общее количество элементов в списке (значение <code>meta.size</code>). До загрузки
+     * первой страницы равно <code>null</code>
+     */
+    public Integer getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            nextOffset = pageSize;
+            accept(load(0));
+        }
+
+        while (!page.hasNext()) {
+            CompletableFuture<ListEntity<T>> next = pending.poll();
+            if (next == null) return false;
+            accept(join(next));
+        }
+
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return page.next();
+    }
+
+    /**
+     * Прекращает запрос новых страниц. Уже отправленные запросы будут выполнены,
+     * но их результаты отброшены
+     */
+    @Override
+    public void close() {
+        closed = true;
+        page = Collections.emptyIterator();
+        pending.forEach(f -> f.cancel(false));
+        pending.clear();
+    }
+
+    private void accept(ListEntity<T> listEntity) {
+        List<T> rows = listEntity == null || listEntity.getRows() == null ?
+                Collections.emptyList() :
+                listEntity.getRows();
+
+        if (listEntity != null && listEntity.getMeta() != null && listEntity.getMeta().getSize() != null) {
+            size = listEntity.getMeta().getSize();
+        }
+
+        lastPageRows = rows.size();
+        page = rows.iterator();
+        schedule();
+    }
+
+    private void schedule() {
+        while (!closed && pending.size() < concurrency && hasMorePages()) {
+            int offset = nextOffset;
+            nextOffset += pageSize;
+            pending.add(CompletableFuture.supplyAsync(() -> load(offset), executor));
+        }
+    }
+
+    private boolean hasMorePages() {
+        if (size != null) return nextOffset < size;
+
+        // Без meta.size страницы запрашиваются последовательно, пока они заполнены целиком
+        return pending.isEmpty() && lastPageRows == pageSize;
+    }
+
+    private ListEntity<T> load(int offset) {
+        try {
+            return loader.load(ListEntityIterator.pageParams(params, offset, pageSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (LognexApiException e) {
+            throw new UncheckedLognexApiException(e);
+        }
+    }
+
+    private ListEntity<T> join(CompletableFuture<ListEntity<T>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.lognex.api.utils;
+
+import org.apache.http.HttpResponse;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Ограничитель запросов к API на стороне клиента. Вызывается {@link HttpRequestExecutor}
+ * для каждого запроса: {@link #acquire()} перед отправкой, {@link #onResponse(HttpResponse)}
+ * при получении ответа и {@link #release()} после завершения запроса (в том числе при ошибке).
+ * Неблокирующие запросы вместо {@link #acquire()} вызывают {@link #tryAcquire()}
+ */
+public interface RateLimiter {
+    /**
+     * Ожидает, пока выполнение следующего запроса не будет разрешено
+     *
+     * @throws InterruptedIOException когда поток был прерван во время ожидания
+     */
+    void acquire() throws InterruptedIOException;
+
+    /**
+     * Получает разрешение на запрос без ожидания. Реализация по умолчанию ждёт разрешения
+     * с помощью {@link #acquire()}, то есть блокирует поток ввода-вывода неблокирующего клиента
+     *
+     * @return 0, если разрешение получено, иначе время в миллисекундах, через которое стоит попробовать снова
+     * @throws InterruptedIOException когда поток был прерван во время ожидания
+     */
+    default long tryAcquire() throws InterruptedIOException {
+        acquire();
+        return 0;
+    }
+
+    /**
+     * Обрабатывает заголовки ответа (например, остаток лимита или время до его сброса)
+     */
+    void onResponse(HttpResponse response);
+
+    /**
+     * Сообщает о завершении запроса, для которого ранее был вызван {@link #acquire()}
+     */
+    void release();
+}
@@ -0,0 +1,72 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.entities.MetaEntity;
+import lombok.Getter;
+
+/**
+ * Кеш ответов на запросы сущностей по идентификатору и по ссылке из метаданных
+ * (<code>GetByIdEndpoint.get(id)</code>, <code>Fetchable.fetch</code>). Используется
+ * {@link HttpRequestExecutor#getCached(Class)}: свежая запись возвращается без запроса к API,
+ * устаревшая перепроверяется условным запросом (<code>If-None-Match</code>,
+ * <code>If-Modified-Since</code>) или по полю <code>version</code> сущности.
+ * Запросы, изменяющие сущность (POST, PUT, DELETE), удаляют её из кеша
+ * (см. {@link #invalidate(String)}).<br/>
+ * <br/>
+ * Реализация должна быть потокобезопасной
+ */
+public interface ResponseCache {
+    /**
+     * Нужно ли кешировать сущности указанного класса
+     */
+    boolean isCacheable(Class<?> entityClass);
+
+    /**
+     * Возвращает запись для URL запроса (свежую или устаревшую) или null, если записи нет
+     */
+    Entry get(String url);
+
+    /**
+     * Сохраняет запись для URL запроса
+     */
+    void put(String url, Entry entry);
+
+    /**
+     * Сообщает, что устаревшая запись для URL запроса не изменилась на сервере
+     * и снова может считаться свежей
+     */
+    void revalidated(String url);
+
+    /**
+     * Удаляет записи для указанной ссылки (в том числе с любыми параметрами запроса)
+     */
+    void invalidate(String href);
+
+    /**
+     * Запись кеша: сущность и валидаторы ответа, с которыми она была получена
+     */
+    @Getter
+    final class Entry {
+        private final MetaEntity value;
+        private final String etag;
+        private final String lastModified;
+        private volatile long expiresAt;
+
+        public Entry(MetaEntity value, String etag, String lastModified) {
+            this.value = value;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.expiresAt = System.nanoTime();
+        }
+
+        /**
+         * Запись считается свежей в течение указанного времени (в наносекундах) с текущего момента
+         */
+        public void freshFor(long nanos) {
+            expiresAt = System.nanoTime() + nanos;
+        }
+
+        public boolean isFresh() {
+            return expiresAt - System.nanoTime() > 0;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.lognex.api.utils;
+
+import lombok.Getter;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Политика повтора запросов при временных ошибках: ответах с кодами из
+ * {@link #getRetryableStatusCodes()} (по умолчанию 429, 500, 502, 503, 504) и сетевых ошибках.<br/>
+ * <br/>
+ * Задержка перед повтором растёт экспоненциально (<code>initialDelay * multiplier^(attempt - 1)</code>,
+ * но не больше <code>maxDelay</code>) и случайно уменьшается на долю до <code>jitter</code>.
+ * Если API прислал время ожидания (<code>X-Lognex-Retry-After</code>, <code>Retry-After</code>),
+ * задержка будет не меньше него.<br/>
+ * <br/>
+ * По умолчанию повторяются только идемпотентные запросы (GET, PUT, DELETE, HEAD, OPTIONS).
+ * Повтор POST-запросов включается с помощью {@link #retryNonIdempotent(boolean)}
+ */
+@Getter
+public final class RetryPolicy {
+    private static final Set<String> idempotentMethods = new HashSet<>(Arrays.asList("GET", "PUT", "DELETE", "HEAD", "OPTIONS"));
+
+    private int maxAttempts = 3;
+    private long initialDelayMillis = 500;
+    private long maxDelayMillis = 30_000;
+    private double multiplier = 2;
+    private double jitter = 0.5;
+    private Set<Integer> retryableStatusCodes = new HashSet<>(Arrays.asList(429, 500, 502, 503, 504));
+    private boolean retryNonIdempotent = false;
+
+    /**
+     * Максимальное количество попыток выполнения запроса (включая первую)
+     */
+    public RetryPolicy maxAttempts(int value) {
+        if (value < 1) throw new IllegalArgumentException("Количество попыток должно быть больше нуля!");
+        this.maxAttempts = value;
+        return this;
+    }
+
+    /**
+     * Задержка перед первым повтором
+     */
+    public RetryPolicy initialDelay(long millis) {
+        this.initialDelayMillis = millis;
+        return this;
+    }
+
+    /**
+     * Максимальная задержка перед повтором (не ограничивает время ожидания, присланное API)
+     */
+    public RetryPolicy maxDelay(long millis) {
+        this.maxDelayMillis = millis;
+        return this;
+    }
+
+    /**
+     * Множитель, на который увеличивается задержка с каждой попыткой
+     */
+    public RetryPolicy multiplier(double value) {
+        this.multiplier = value;
+        return this;
+    }
+
+    /**
+     * Доля задержки (от 0 до 1), на которую она может быть случайно уменьшена
+     */
+    public RetryPolicy jitter(double value) {
+        if (value < 0 || value > 1) throw new IllegalArgumentException("Доля случайной задержки должна быть от 0 до 1!");
+        this.jitter = value;
+        return this;
+    }
+
+    /**
+     * Коды ответов, при которых запрос будет повторён
+     */
+    public RetryPolicy retryableStatusCodes(Integer... codes) {
+        this.retryableStatusCodes = new HashSet<>(Arrays.asList(codes));
+        return this;
+    }
+
+    /**
+     * Повторять ли неидемпотентные (POST) запросы. Повтор POST может привести
+     * к повторному созданию сущностей, если первый запрос дошёл до API
+     */
+    public RetryPolicy retryNonIdempotent(boolean value) {
+        this.retryNonIdempotent = value;
+        return this;
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return Collections.unmodifiableSet(retryableStatusCodes);
+    }
+
+    /**
+     * Нужно ли повторить запрос, на который пришёл ответ с указанным кодом
+     *
+     * @param attempt номер завершившейся попытки (начиная с 1)
+     */
+    public boolean shouldRetry(HttpRequest request, int statusCode, int attempt) {
+        return attempt < maxAttempts && isRetryableMethod(request) && retryableStatusCodes.contains(statusCode);
+    }
+
+    /**
+     * Нужно ли повторить запрос, при выполнении которого возникла сетевая ошибка
+     *
+     * @param attempt номер завершившейся попытки (начиная с 1)
+     */
+    public boolean shouldRetry(HttpRequest request, IOException e, int attempt) {
+        if (attempt >= maxAttempts || !isRetryableMethod(request)) return false;
+        if (Thread.currentThread().isInterrupted()) return false;
+        return !(e instanceof InterruptedIOException) || e instanceof SocketTimeoutException;
+    }
+
+    /**
+     * Задержка перед следующей попыткой
+     *
+     * @param attempt  номер завершившейся попытки (начиная с 1)
+     * @param response ответ API (null, если возникла сетевая ошибка)
+     */
+    public long delayMillis(int attempt, HttpResponse response) {
+        double delay = Math.min(maxDelayMillis, initialDelayMillis * Math.pow(multiplier, attempt - 1));
+        delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+
+        long retryAfter = response == null ? 0 : TokenBucketRateLimiter.retryAfterMillis(response);
+        return Math.max((long) delay, retryAfter);
+    }
+
+    private boolean isRetryableMethod(HttpRequest request) {
+        return retryNonIdempotent || idempotentMethods.contains(request.getRequestLine().getMethod());
+    }
+}
@@ -0,0 +1,193 @@
+package com.lognex.api.utils;
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничитель запросов, соблюдающий лимиты API: не более <code>requests</code> запросов
+ * за <code>periodMillis</code> миллисекунд (алгоритм «token bucket») и не более
+ * <code>maxConcurrent</code> одновременных запросов.<br/>
+ * <br/>
+ * Ограничитель подстраивается под ответы API: учитывает заголовки <code>X-RateLimit-Limit</code>,
+ * <code>X-Lognex-Retry-TimeInterval</code> и <code>X-RateLimit-Remaining</code>, а при ответе
+ * 429 приостанавливает запросы на время из <code>X-Lognex-Retry-After</code>
+ * (<code>X-Lognex-Reset</code>, <code>Retry-After</code>)
+ */
+public final class TokenBucketRateLimiter implements RateLimiter {
+    /**
+     * Количество запросов за период по умолчанию
+     */
+    public static final int DEFAULT_REQUESTS = 45;
+
+    /**
+     * Длительность периода по умолчанию
+     */
+    public static final long DEFAULT_PERIOD_MILLIS = 3_000;
+
+    /**
+     * Количество одновременных запросов по умолчанию
+     */
+    public static final int DEFAULT_MAX_CONCURRENT = 5;
+
+    /**
+     * Через сколько миллисекунд повторять {@link #tryAcquire()}, если заняты все слоты одновременных запросов
+     */
+    private static final long CONCURRENT_RETRY_MILLIS = 10;
+
+    private static final Map<String, TokenBucketRateLimiter> limitersByLogin = new ConcurrentHashMap<>();
+
+    private final Semaphore concurrent;
+    private double capacity;
+    private double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+
+    public TokenBucketRateLimiter() {
+        this(DEFAULT_REQUESTS, DEFAULT_PERIOD_MILLIS, DEFAULT_MAX_CONCURRENT);
+    }
+
+    /**
+     * @param requests      количество запросов за период
+     * @param periodMillis  длительность периода в миллисекундах
+     * @param maxConcurrent максимальное количество одновременных запросов
+     */
+    public TokenBucketRateLimiter(int requests, long periodMillis, int maxConcurrent) {
+        if (requests < 1 || periodMillis < 1 || maxConcurrent < 1) {
+            throw new IllegalArgumentException("Параметры ограничителя запросов должны быть больше нуля!");
+        }
+
+        this.concurrent = new Semaphore(maxConcurrent, true);
+        this.capacity = requests;
+        this.tokensPerNano = (double) requests / TimeUnit.MILLISECONDS.toNanos(periodMillis);
+        this.tokens = requests;
+        this.lastRefill = System.nanoTime();
+        this.pausedUntil = lastRefill;
+    }
+
+    /**
+     * Возвращает общий ограничитель с настройками по умолчанию для указанного логина. Лимиты API
+     * действуют на пользователя, поэтому все экземпляры LognexApi с одним логином должны
+     * использовать один ограничитель
+     */
+    public static TokenBucketRateLimiter forLogin(String login) {
+        return limitersByLogin.computeIfAbsent(String.valueOf(login), l -> new TokenBucketRateLimiter());
+    }
+
+    @Override
+    public void acquire() throws InterruptedIOException {
+        try {
+            concurrent.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ожидание разрешения на запрос было прервано");
+        }
+
+        try {
+            long waitNanos;
+            while ((waitNanos = tryTakeToken()) > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            concurrent.release();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ожидание разрешения на запрос было прервано");
+        }
+    }
+
+    @Override
+    public long tryAcquire() {
+        if (!concurrent.tryAcquire()) return CONCURRENT_RETRY_MILLIS;
+
+        long waitNanos = tryTakeToken();
+        if (waitNanos > 0) {
+            concurrent.release();
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+
+        return 0;
+    }
+
+    @Override
+    public void onResponse(HttpResponse response) {
+        Integer limit = intHeader(response, "X-RateLimit-Limit");
+        Integer interval = intHeader(response, "X-Lognex-Retry-TimeInterval");
+        Integer remaining = intHeader(response, "X-RateLimit-Remaining");
+
+        synchronized (this) {
+            refill(System.nanoTime());
+
+            if (limit != null && interval != null && limit > 0 && interval > 0) {
+                capacity = limit;
+                tokensPerNano = (double) limit / TimeUnit.MILLISECONDS.toNanos(interval);
+            }
+
+            if (remaining != null) tokens = Math.min(tokens, Math.max(remaining, 0));
+
+            if (response.getStatusLine().getStatusCode() == 429) {
+                tokens = 0;
+                long retryAfter = retryAfterMillis(response);
+                if (retryAfter > 0) {
+                    pausedUntil = Math.max(pausedUntil, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfter));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void release() {
+        concurrent.release();
+    }
+
+    /**
+     * Время ожидания перед повторным запросом из заголовков ответа 429, в миллисекундах
+     */
+    public static long retryAfterMillis(HttpResponse response) {
+        Integer millis = intHeader(response, "X-Lognex-Retry-After");
+        if (millis == null) millis = intHeader(response, "X-Lognex-Reset");
+        if (millis != null) return millis;
+
+        Integer seconds = intHeader(response, "Retry-After");
+        return seconds == null ? 0 : TimeUnit.SECONDS.toMillis(seconds);
+    }
+
+    /**
+     * Забирает токен, если это возможно
+     *
+     * @return 0, если токен получен, иначе время ожидания в наносекундах
+     */
+    private synchronized long tryTakeToken() {
+        long now = System.nanoTime();
+        if (pausedUntil - now > 0) return pausedUntil - now;
+
+        refill(now);
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+
+    private static Integer intHeader(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        if (header == null || header.getValue() == null) return null;
+
+        try {
+            return Integer.parseInt(header.getValue().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
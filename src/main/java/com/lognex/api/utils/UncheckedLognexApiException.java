@@ -0,0 +1,16 @@
+package com.lognex.api.utils;
+
+/**
+ * Обёртка над {@link LognexApiException} для мест, где нельзя выбросить проверяемое
+ * исключение (например, внутри {@link java.util.Iterator} или {@link java.util.stream.Stream})
+ */
+public class UncheckedLognexApiException extends RuntimeException {
+    public UncheckedLognexApiException(LognexApiException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public LognexApiException getCause() {
+        return (LognexApiException) super.getCause();
+    }
+}
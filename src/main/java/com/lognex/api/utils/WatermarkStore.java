@@ -0,0 +1,72 @@
+package com.lognex.api.utils;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Хранилище отметок синхронизации {@link DeltaSync}: для каждого типа сущностей — момент
+ * изменения последней полученной сущности и идентификаторы сущностей, изменённых в этот момент.<br/>
+ * <br/>
+ * Реализация должна быть потокобезопасной
+ */
+public interface WatermarkStore {
+    /**
+     * Возвращает отметку для ключа или null, если синхронизация ещё не выполнялась
+     */
+    Watermark load(String key) throws IOException;
+
+    /**
+     * Сохраняет отметку для ключа
+     */
+    void save(String key, Watermark watermark) throws IOException;
+
+    /**
+     * Удаляет отметку для ключа (следующая синхронизация будет полной)
+     */
+    void remove(String key) throws IOException;
+
+    /**
+     * Отметка синхронизации
+     */
+    @Getter
+    final class Watermark {
+        /**
+         * Значение поля <code>updated</code> последней полученной сущности (с точностью до секунды)
+         */
+        private final LocalDateTime updated;
+
+        /**
+         * Идентификаторы уже полученных сущностей, у которых <code>updated</code> совпадает с отметкой.
+         * Запрос <code>updated&gt;=отметка</code> возвращает их повторно, и они пропускаются
+         */
+        private final Set<String> ids;
+
+        public Watermark(LocalDateTime updated, Set<String> ids) {
+            this.updated = updated;
+            this.ids = Collections.unmodifiableSet(new LinkedHashSet<>(ids));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Watermark)) return false;
+            Watermark other = (Watermark) o;
+            return updated.equals(other.updated) && ids.equals(other.ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * updated.hashCode() + ids.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return updated + " " + ids;
+        }
+    }
+}
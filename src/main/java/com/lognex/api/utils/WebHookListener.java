@@ -0,0 +1,27 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.entities.WebHookEventEntity;
+
+/**
+ * Обработчик событий веб-хуков, полученных {@link WebHookReceiver}
+ */
+@FunctionalInterface
+public interface WebHookListener {
+    /**
+     * Вызывается для каждого события уведомления в порядке их следования
+     */
+    void onEvent(WebHookEventEntity event) throws Exception;
+
+    /**
+     * Обработчик, который удаляет изменённые и удалённые сущности из кеша ответов
+     * (см. {@link com.lognex.api.LognexApi#responseCache(ResponseCache)}), чтобы следующий
+     * запрос получил их актуальное состояние
+     */
+    static WebHookListener invalidate(ResponseCache cache) {
+        return event -> {
+            if (event.getMeta() != null && event.getMeta().getHref() != null) {
+                cache.invalidate(event.getMeta().getHref());
+            }
+        };
+    }
+}
@@ -0,0 +1,212 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.WebHookEventEntity;
+import com.lognex.api.utils.json.JsonCodec;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Приёмник уведомлений веб-хуков (см. {@link com.lognex.api.clients.WebHookClient}). Разбирает
+ * тело уведомления и передаёт каждое событие обработчикам (см. {@link WebHookListener}),
+ * например, для удаления сущностей из кеша ответов ({@link WebHookListener#invalidate(ResponseCache)})
+ * или обновления локальной копии ({@link EntityMirror#refresh()}).<br/>
+ * <br/>
+ * Приёмник может работать как встроенный HTTP-сервер ({@link #start(InetSocketAddress, String)}),
+ * как обработчик существующего сервера ({@link #handler()}) или принимать тело уведомления
+ * от любого другого веб-сервера ({@link #dispatch(Reader)}).<br/>
+ * <br/>
+ * Пример:
+ * <pre>
+ * WebHookReceiver receiver = new WebHookReceiver(api).
+ *         listener(WebHookListener.invalidate(cache)).
+ *         start(new InetSocketAddress(8080), "/moysklad");
+ * api.entity().webhook().post(webhook);
+ * </pre>
+ */
+public final class WebHookReceiver implements Closeable {
+    private static final Logger logger = LogManager.getLogger(WebHookReceiver.class);
+
+    private final JsonCodec codec;
+    private final List<WebHookListener> listeners = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+
+    /**
+     * Пул потоков, в котором встроенный сервер обрабатывает запросы. По умолчанию запросы
+     * обрабатываются по очереди в потоке сервера. Устанавливается до {@link #start(InetSocketAddress, String)}
+     */
+    @Getter
+    @Setter
+    private Executor executor;
+
+    /**
+     * Приёмник, разбирающий уведомления кодеком API (см. {@link LognexApi#getCodec()})
+     */
+    public WebHookReceiver(LognexApi api) {
+        this(api.getCodec());
+    }
+
+    public WebHookReceiver(JsonCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Добавляет обработчик событий
+     */
+    public WebHookReceiver listener(WebHookListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Удаляет обработчик событий
+     */
+    public void removeListener(WebHookListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Запускает встроенный HTTP-сервер, принимающий уведомления POST-запросами по указанному пути
+     *
+     * @throws IOException когда не удалось открыть порт
+     */
+    public synchronized WebHookReceiver start(InetSocketAddress address, String path) throws IOException {
+        if (server != null) throw new IllegalStateException("Приёмник уже запущен");
+
+        HttpServer server = HttpServer.create(address, 0);
+        server.createContext(path, handler());
+        server.setExecutor(executor);
+        server.start();
+        this.server = server;
+        return this;
+    }
+
+    /**
+     * Адрес, на котором работает встроенный сервер (null, если он не запущен). Если при запуске
+     * был указан порт 0, содержит выбранный системой порт
+     */
+    public synchronized InetSocketAddress getAddress() {
+        return server == null ? null : server.getAddress();
+    }
+
+    /**
+     * Останавливает встроенный сервер, дожидаясь завершения обработки текущих уведомлений
+     * не дольше указанного времени (в секундах)
+     */
+    public synchronized void stop(int delaySeconds) {
+        if (server != null) {
+            server.stop(delaySeconds);
+            server = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        stop(0);
+    }
+
+    /**
+     * Обработчик для существующего {@link HttpServer}. Отвечает <code>200</code>, если
+     * уведомление обработано, <code>400</code>, если тело не удалось разобрать,
+     * <code>405</code> на запросы с методом, отличным от POST, и <code>500</code>,
+     * если обработчик события выбросил исключение
+     */
+    public HttpHandler handler() {
+        return exchange -> {
+            try {
+                if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", "POST");
+                    respond(exchange, 405);
+                    return;
+                }
+
+                try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+                    dispatch(reader);
+                    respond(exchange, 200);
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Некорректное уведомление веб-хука: " + e.getMessage());
+                    respond(exchange, 400);
+                } catch (WebHookException e) {
+                    logger.error("Ошибка обработки события веб-хука", e.getCause());
+                    respond(exchange, 500);
+                }
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    /**
+     * Разбирает тело уведомления и передаёт события обработчикам. Если обработчик выбросил
+     * исключение, остальные события уведомления не обрабатываются
+     *
+     * @return события уведомления
+     * @throws IllegalArgumentException когда тело уведомления не удалось разобрать
+     * @throws WebHookException         когда обработчик события выбросил исключение
+     */
+    public List<WebHookEventEntity> dispatch(Reader body) throws IOException {
+        Notification notification;
+        try {
+            notification = codec.fromJson(body, Notification.class);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Не удалось разобрать уведомление веб-хука", e);
+        }
+
+        List<WebHookEventEntity> events = notification == null || notification.events == null ?
+                Collections.emptyList() :
+                notification.events;
+
+        for (WebHookEventEntity event : events) {
+            if (event == null) continue;
+
+            logger.debug("Событие веб-хука: " + event.getAction() + " " + (event.getMeta() == null ? null : event.getMeta().getHref()));
+            for (WebHookListener listener : listeners) {
+                try {
+                    listener.onEvent(event);
+                } catch (Exception e) {
+                    throw new WebHookException(event, e);
+                }
+            }
+        }
+
+        return events;
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    /**
+     * Тело уведомления веб-хука
+     */
+    private static final class Notification {
+        private List<WebHookEventEntity> events;
+    }
+
+    /**
+     * Исключение, выброшенное обработчиком события веб-хука
+     */
+    public static final class WebHookException extends IOException {
+        @Getter
+        private final WebHookEventEntity event;
+
+        WebHookException(WebHookEventEntity event, Exception cause) {
+            super("Ошибка обработки события веб-хука " + event.getAction() + " " +
+                    (event.getMeta() == null ? null : event.getMeta().getHref()), cause);
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.lognex.api.utils.json;
+
+import com.google.gson.*;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lognex.api.entities.*;
+import com.lognex.api.entities.agents.AgentEntity;
+import com.lognex.api.entities.products.markers.ProductMarker;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Фабрика потокового адаптера для {@link AttributeEntity}. Значение доп. поля читается и пишется
+ * сразу в нужном типе (в зависимости от <code>type</code>): целые числа — как Long, даты — как
+ * {@link LocalDateTime}, ссылки на сущности справочников — как соответствующие сущности.<br/>
+ * <br/>
+ * В JSON тип доп. поля и тип сущности справочника передаются в одном поле <code>type</code>,
+ * а в {@link AttributeEntity} — в полях <code>type</code> и <code>entityType</code>
+ */
+public final class AttributeTypeAdapterFactory implements TypeAdapterFactory {
+    private static final Map<String, AttributeEntity.Type> attributeTypes = new HashMap<>();
+    private static final Map<AttributeEntity.Type, String> attributeTypeNames = new EnumMap<>(AttributeEntity.Type.class);
+    private static final Map<String, Meta.Type> entityTypes = new HashMap<>();
+
+    static {
+        for (AttributeEntity.Type type : AttributeEntity.Type.values()) {
+            try {
+                SerializedName name = AttributeEntity.Type.class.getField(type.name()).getAnnotation(SerializedName.class);
+                attributeTypes.put(name == null ? type.name() : name.value(), type);
+                attributeTypeNames.put(type, name == null ? type.name() : name.value());
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        for (Meta.Type type : Meta.Type.values()) {
+            entityTypes.put(type.name(), type);
+        }
+    }
+
+    private final boolean dateWithMilliseconds;
+
+    public AttributeTypeAdapterFactory(boolean dateWithMilliseconds) {
+        this.dateWithMilliseconds = dateWithMilliseconds;
+    }
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != AttributeEntity.class) return null;
+        return (TypeAdapter<T>) new Adapter(gson).nullSafe();
+    }
+
+    private final class Adapter extends TypeAdapter<AttributeEntity> {
+        private final Gson gson;
+        private final TypeAdapter<Meta> metaAdapter;
+        private final TypeAdapter<Object> objectAdapter;
+        private final TypeAdapter<JsonElement> elementAdapter;
+
+        private final TypeAdapter<Object> longAdapter = new TypeAdapter<Object>() {
+            @Override
+            public void write(JsonWriter out, Object value) throws IOException {
+                out.value(((Number) value).longValue());
+            }
+
+            @Override
+            public Object read(JsonReader in) throws IOException {
+                String s = in.nextString();
+                try {
+                    return Long.parseLong(s);
+                } catch (NumberFormatException e) {
+                    return (long) Double.parseDouble(s);
+                }
+            }
+        };
+
+        private final TypeAdapter<Object> timeAdapter = new TypeAdapter<Object>() {
+            @Override
+            public void write(JsonWriter out, Object value) throws IOException {
+                if (value instanceof LocalDateTime) {
+                    out.value(LocalDateTimeCodec.format((LocalDateTime) value, dateWithMilliseconds));
+                } else if (value instanceof LocalDate) {
+                    out.value(LocalDateTimeCodec.format(((LocalDate) value).atStartOfDay(), dateWithMilliseconds));
+                } else {
+                    throw new IllegalArgumentException("Неподдерживаемый тип данных для дополнительного поля с типом 'time': " + value.getClass().getSimpleName());
+                }
+            }
+
+            @Override
+            public Object read(JsonReader in) throws IOException {
+                return LocalDateTimeCodec.parse(in.nextString());
+            }
+        };
+
+        private Adapter(Gson gson) {
+            this.gson = gson;
+            this.metaAdapter = gson.getAdapter(Meta.class);
+            this.objectAdapter = gson.getAdapter(Object.class);
+            this.elementAdapter = gson.getAdapter(JsonElement.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, AttributeEntity src) throws IOException {
+            out.beginObject();
+
+            if (src.getType() != null) {
+                out.name("type");
+                out.value(attributeTypeNames.get(src.getType()));
+            }
+
+            if (src.getValue() != null) {
+                out.name("value");
+                if (src.getType() == AttributeEntity.Type.timeValue) {
+                    timeAdapter.write(out, src.getValue());
+                } else if (src.getType() == AttributeEntity.Type.longValue && src.getValue() instanceof Number) {
+                    longAdapter.write(out, src.getValue());
+                } else {
+                    ((TypeAdapter<Object>) gson.getAdapter(src.getValue().getClass())).write(out, src.getValue());
+                }
+            }
+
+            if (src.getRequired() != null) {
+                out.name("required");
+                out.value(src.getRequired());
+            }
+
+            if (src.getDownload() != null) {
+                out.name("download");
+                metaAdapter.write(out, src.getDownload());
+            }
+
+            writeString(out, "id", src.getId());
+            if (src.getVersion() != null) {
+                out.name("version");
+                out.value(src.getVersion());
+            }
+            writeString(out, "accountId", src.getAccountId());
+            writeString(out, "name", src.getName());
+
+            if (src.getMeta() != null) {
+                out.name("meta");
+                metaAdapter.write(out, src.getMeta());
+            }
+
+            if (src.getType() == null && src.getEntityType() != null) {
+                out.name("type");
+                out.value(src.getEntityType().name());
+            }
+
+            out.endObject();
+        }
+
+        @Override
+        public AttributeEntity read(JsonReader in) throws IOException {
+            AttributeEntity ae = new AttributeEntity();
+            boolean hasType = false;
+            JsonElement bufferedValue = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "type":
+                        String type = in.nextString();
+                        hasType = true;
+
+                        Meta.Type entityType = entityTypes.get(type);
+                        if (entityType != null) {
+                            ae.setEntityType(entityType);
+                        } else {
+                            ae.setType(attributeTypes.get(type));
+                        }
+                        break;
+
+                    case "value":
+                        if (hasType) {
+                            ae.setValue(readValue(in, ae));
+                        } else {
+                            bufferedValue = elementAdapter.read(in);
+                        }
+                        break;
+
+                    case "required":
+                        ae.setRequired(readBoolean(in));
+                        break;
+
+                    case "download":
+                        ae.setDownload(metaAdapter.read(in));
+                        break;
+
+                    case "id":
+                        ae.setId(readString(in));
+                        break;
+
+                    case "version":
+                        if (in.peek() == JsonToken.NULL) {
+                            in.nextNull();
+                        } else {
+                            ae.setVersion(in.nextInt());
+                        }
+                        break;
+
+                    case "accountId":
+                        ae.setAccountId(readString(in));
+                        break;
+
+                    case "name":
+                        ae.setName(readString(in));
+                        break;
+
+                    case "meta":
+                        ae.setMeta(metaAdapter.read(in));
+                        break;
+
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            if (!hasType) {
+                throw new IllegalArgumentException("В пришедшей сущности дополнительного параметра нет поля 'type'!");
+            }
+
+            if (bufferedValue != null && !bufferedValue.isJsonNull()) {
+                ae.setValue(valueAdapter(ae.getType(), ae.getEntityType()).fromJsonTree(bufferedValue));
+            }
+
+            return ae;
+        }
+
+        private Object readValue(JsonReader in, AttributeEntity ae) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            return valueAdapter(ae.getType(), ae.getEntityType()).read(in);
+        }
+
+        /**
+         * Адаптер значения доп. поля указанного типа (см. {@link #valueClass(AttributeEntity.Type, Meta.Type)})
+         */
+        private TypeAdapter<Object> valueAdapter(AttributeEntity.Type type, Meta.Type entityType) {
+            if (type == AttributeEntity.Type.longValue) return longAdapter;
+            if (type == AttributeEntity.Type.timeValue) return timeAdapter;
+
+            return (TypeAdapter<Object>) gson.getAdapter(valueClass(type, entityType));
+        }
+    }
+
+    /**
+     * Тип доп. поля по значению поля <code>type</code> в JSON (null, если это тип сущности справочника)
+     */
+    static AttributeEntity.Type attributeType(String name) {
+        return attributeTypes.get(name);
+    }
+
+    /**
+     * Значение поля <code>type</code> в JSON для типа доп. поля
+     */
+    static String attributeTypeName(AttributeEntity.Type type) {
+        return attributeTypeNames.get(type);
+    }
+
+    /**
+     * Тип сущности справочника по значению поля <code>type</code> в JSON (null, если это тип доп. поля)
+     */
+    static Meta.Type entityType(String name) {
+        return entityTypes.get(name);
+    }
+
+    /**
+     * Класс значения доп. поля указанного типа. Для строковых значений и неизвестных типов
+     * сущностей возвращает {@link Object}
+     */
+    static Class<?> valueClass(AttributeEntity.Type type, Meta.Type entityType) {
+        if (type != null) {
+            switch (type) {
+                case longValue:
+                    return Long.class;
+
+                case timeValue:
+                    return LocalDateTime.class;
+
+                case doubleValue:
+                    return Double.class;
+
+                case booleanValue:
+                    return Boolean.class;
+
+                default:
+                    return Object.class;
+            }
+        }
+
+        if (entityType != null) {
+            switch (entityType) {
+                case counterparty:
+                case organization:
+                case employee:
+                    return AgentEntity.class;
+
+                case product:
+                case bundle:
+                case service:
+                    return ProductMarker.class;
+
+                case contract:
+                    return ContractEntity.class;
+
+                case project:
+                    return ProjectEntity.class;
+
+                case store:
+                    return StoreEntity.class;
+
+                case customentity:
+                    return CustomEntity.class;
+            }
+        }
+
+        return Object.class;
+    }
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name);
+            out.value(value);
+        }
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static Boolean readBoolean(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextBoolean();
+    }
+}
@@ -0,0 +1,91 @@
+package com.lognex.api.utils.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.responses.ErrorResponse;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Фабрика адаптера ответа на массовую операцию ({@link BulkResponse}). API возвращает массив,
+ * в котором на месте каждой сущности из запроса находится либо сама сущность, либо объект
+ * с полем <code>errors</code>. Массив читается по элементам: в памяти одновременно находится
+ * дерево JSON только одного элемента
+ */
+public final class BulkResponseTypeAdapterFactory implements TypeAdapterFactory {
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != BulkResponse.class) return null;
+
+        Type entityType = type.getType() instanceof ParameterizedType ?
+                ((ParameterizedType) type.getType()).getActualTypeArguments()[0] :
+                JsonElement.class;
+
+        return (TypeAdapter<T>) new Adapter<>(gson, (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(entityType)));
+    }
+
+    private static final class Adapter<E> extends TypeAdapter<BulkResponse<E>> {
+        private final TypeAdapter<E> entityAdapter;
+        private final TypeAdapter<ErrorResponse> errorAdapter;
+        private final TypeAdapter<JsonElement> elementAdapter;
+
+        private Adapter(Gson gson, TypeAdapter<E> entityAdapter) {
+            this.entityAdapter = entityAdapter;
+            this.errorAdapter = gson.getAdapter(ErrorResponse.class);
+            this.elementAdapter = gson.getAdapter(JsonElement.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, BulkResponse<E> value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginArray();
+            for (BulkResponse.Item<E> item : value.getItems()) {
+                if (item.isSuccessful()) {
+                    entityAdapter.write(out, item.getEntity());
+                } else {
+                    errorAdapter.write(out, item.getError());
+                }
+            }
+            out.endArray();
+        }
+
+        @Override
+        public BulkResponse<E> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            if (in.peek() != JsonToken.BEGIN_ARRAY) throw new JsonParseException("Can't parse bulk response: array expected");
+
+            BulkResponse<E> br = new BulkResponse<>();
+
+            in.beginArray();
+            while (in.hasNext()) {
+                JsonElement element = elementAdapter.read(in);
+                if (element.isJsonObject() && ((JsonObject) element).has("errors")) {
+                    br.getItems().add(new BulkResponse.Item<>(null, errorAdapter.fromJsonTree(element)));
+                } else {
+                    br.getItems().add(new BulkResponse.Item<>(entityAdapter.fromJsonTree(element), null));
+                }
+            }
+            in.endArray();
+
+            return br;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.lognex.api.utils.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.responses.ListEntity;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.function.Consumer;
+
+/**
+ * Реализация {@link JsonCodec} на основе Gson. Экземпляр Gson должен быть создан
+ * с помощью {@link com.lognex.api.LognexApi#createGson(boolean, boolean)}
+ */
+public final class GsonCodec implements JsonCodec {
+    @Getter
+    private final Gson gson;
+
+    private final boolean prettyPrinting;
+
+    public GsonCodec(Gson gson) {
+        this.gson = gson;
+        this.prettyPrinting = gson.toJson(new int[]{0}).indexOf('\n') >= 0;
+    }
+
+    @Override
+    public <T> T fromJson(Reader reader, Type type) throws IOException {
+        try {
+            return gson.fromJson(new JsonReader(reader), type);
+        } catch (JsonIOException e) {
+            throw unwrap(e);
+        }
+    }
+
+    @Override
+    public <T extends MetaEntity> ListEntity<T> fromJson(Reader reader, Class<T> rowClass, Consumer<? super T> rowConsumer) throws IOException {
+        ListEntityTypeAdapterFactory.Adapter<T> adapter = (ListEntityTypeAdapterFactory.Adapter<T>) gson.getAdapter(
+                TypeToken.getParameterized(ListEntity.class, rowClass)
+        );
+
+        JsonReader in = new JsonReader(reader);
+        in.setLenient(true);
+        try {
+            return adapter.read(in, rowConsumer);
+        } catch (IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        } catch (JsonIOException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Записывает объект в JSON. Содержимое изображений, заданных файлом,
+     * кодируется в Base64 и пишется в <code>writer</code> по мере чтения файла
+     */
+    @Override
+    public void toJson(Object value, Writer writer) throws IOException {
+        StreamingJsonWriter out = new StreamingJsonWriter(writer);
+        if (prettyPrinting) out.setIndent("  ");
+
+        try {
+            if (value == null) {
+                gson.toJson(JsonNull.INSTANCE, out);
+            } else {
+                gson.toJson(value, value.getClass(), out);
+            }
+        } catch (JsonIOException e) {
+            throw unwrap(e);
+        }
+        out.flush();
+    }
+
+    @Override
+    public String toJson(Object value) {
+        return gson.toJson(value);
+    }
+
+    private static RuntimeException unwrap(JsonIOException e) throws IOException {
+        if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+        return e;
+    }
+}
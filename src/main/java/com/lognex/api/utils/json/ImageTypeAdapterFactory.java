@@ -0,0 +1,62 @@
+package com.lognex.api.utils.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.lognex.api.entities.ImageEntity;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Фабрика адаптера для {@link ImageEntity}. Если изображение задано файлом
+ * (см. {@link ImageEntity#setContent(java.io.File)}), поле <code>content</code> при записи
+ * через {@link GsonCodec#toJson(Object, java.io.Writer)} кодируется в Base64 по мере
+ * чтения файла (см. {@link StreamingJsonWriter}), а в остальных случаях берётся
+ * из {@link ImageEntity#encodeContent()}
+ */
+public final class ImageTypeAdapterFactory implements TypeAdapterFactory {
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != ImageEntity.class) return null;
+
+        TypeAdapter<ImageEntity> delegate = (TypeAdapter<ImageEntity>) gson.getDelegateAdapter(this, type);
+        TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+
+        return (TypeAdapter<T>) new TypeAdapter<ImageEntity>() {
+            @Override
+            public void write(JsonWriter out, ImageEntity src) throws IOException {
+                if (src == null || src.getContentFile() == null) {
+                    delegate.write(out, src);
+                    return;
+                }
+
+                JsonObject tree = delegate.toJsonTree(src).getAsJsonObject();
+                tree.remove("content");
+
+                out.beginObject();
+                for (Map.Entry<String, JsonElement> e : tree.entrySet()) {
+                    out.name(e.getKey());
+                    elementAdapter.write(out, e.getValue());
+                }
+                out.name("content");
+                if (out instanceof StreamingJsonWriter) {
+                    ((StreamingJsonWriter) out).base64Value(src.getContentFile());
+                } else {
+                    out.value(src.encodeContent());
+                }
+                out.endObject();
+            }
+
+            @Override
+            public ImageEntity read(JsonReader in) throws IOException {
+                return delegate.read(in);
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.lognex.api.utils.json;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.responses.ListEntity;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Реализация {@link JsonCodec} на основе Jackson. Требует зависимости
+ * <code>com.fasterxml.jackson.core:jackson-databind</code>, которая подключается
+ * к проекту отдельно (в SDK она необязательная).<br/>
+ * <br/>
+ * Сущности читаются и пишутся так же, как {@link GsonCodec}: по полям (без геттеров и сеттеров),
+ * с именами из {@link com.google.gson.annotations.SerializedName} и без null-полей. Класс полиморфных
+ * полей выбирается по <code>meta.type</code> по тем же таблицам
+ * (см. {@link LognexApi#createMetaTypeAdapterFactories()}), а содержимое изображений, заданных файлом,
+ * читается из файла и кодируется в Base64 по мере записи JSON.<br/>
+ * <br/>
+ * Модули Afterburner и Blackbird не подключаются: Blackbird требует Jackson 2.12, а Afterburner
+ * не может обращаться к закрытым полям сущностей, объявленным в суперклассах, и для таких
+ * классов отключается (в <code>JsonCodecBenchmark</code> разница с ним в пределах погрешности).<br/>
+ * <br/>
+ * Пример:
+ * <pre>
+ * LognexApi api = new LognexApi(host, true, login, password).
+ *         timeWithMilliseconds().
+ *         codec(new JacksonCodec(true));
+ * </pre>
+ */
+public final class JacksonCodec implements JsonCodec {
+    @Getter
+    private final ObjectMapper mapper;
+
+    /**
+     * @param timeWithMilliseconds даты с миллисекундами (должно совпадать
+     *                             с {@link LognexApi#timeWithMilliseconds(boolean)})
+     */
+    public JacksonCodec(boolean timeWithMilliseconds) {
+        List<MetaTypeAdapterFactory> metaTypes = LognexApi.createMetaTypeAdapterFactories();
+
+        mapper = new ObjectMapper();
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        mapper.setAnnotationIntrospector(new JacksonModule.Introspector(metaTypes));
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL);
+        mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        mapper.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        mapper.registerModule(new JacksonModule(metaTypes, timeWithMilliseconds));
+    }
+
+    @Override
+    public <T> T fromJson(Reader reader, Type type) throws IOException {
+        return read(reader, mapper.getTypeFactory().constructType(type), null);
+    }
+
+    @Override
+    public <T extends MetaEntity> ListEntity<T> fromJson(Reader reader, Class<T> rowClass, Consumer<? super T> rowConsumer) throws IOException {
+        return read(reader, mapper.getTypeFactory().constructParametricType(ListEntity.class, rowClass), rowConsumer);
+    }
+
+    @Override
+    public void toJson(Object value, Writer writer) throws IOException {
+        try {
+            mapper.writeValue(writer, value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private <T> T read(Reader reader, JavaType type, Consumer<?> rowConsumer) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(reader)) {
+            if (parser.nextToken() == null) return null;
+
+            ObjectReader objectReader = mapper.readerFor(type);
+            if (rowConsumer != null) objectReader = objectReader.withAttribute(JacksonModule.ROW_CONSUMER, rowConsumer);
+            return objectReader.readValue(parser);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+}
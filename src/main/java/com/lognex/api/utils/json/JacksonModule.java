@@ -0,0 +1,604 @@
+package com.lognex.api.utils.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleDeserializers;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.gson.annotations.SerializedName;
+import com.lognex.api.entities.*;
+import com.lognex.api.entities.documents.DocumentPosition;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.responses.ErrorResponse;
+import com.lognex.api.responses.ListEntity;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Сериализаторы и десериализаторы {@link JacksonCodec}, повторяющие адаптеры GSON
+ * из {@link com.lognex.api.LognexApi#createGson(boolean, boolean)}
+ */
+final class JacksonModule extends SimpleModule {
+    /**
+     * Атрибут чтения с обработчиком строк списка (см. {@link JsonCodec#fromJson(java.io.Reader, Class, Consumer)}).
+     * Используется только списком верхнего уровня
+     */
+    static final Object ROW_CONSUMER = new Object();
+
+    JacksonModule(List<MetaTypeAdapterFactory> metaTypes, boolean timeWithMilliseconds) {
+        super("lognex-api");
+
+        setDeserializers(new SimpleDeserializers() {
+            @Override
+            public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config, BeanDescription beanDesc) throws JsonMappingException {
+                if (type.getRawClass() == ListEntity.class) return new ListEntityDeserializer(type.containedType(0));
+                if (type.getRawClass() == BulkResponse.class) return new BulkResponseDeserializer(type.containedType(0));
+                return super.findBeanDeserializer(type, config, beanDesc);
+            }
+        });
+
+        addSerializer(LocalDateTime.class, new StdSerializer<LocalDateTime>(LocalDateTime.class) {
+            @Override
+            public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                gen.writeString(LocalDateTimeCodec.format(value, timeWithMilliseconds));
+            }
+        });
+        addDeserializer(LocalDateTime.class, new StdDeserializer<LocalDateTime>(LocalDateTime.class) {
+            @Override
+            public LocalDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                return LocalDateTimeCodec.parse(p.getValueAsString());
+            }
+        });
+
+        addSerializer(CurrencyEntity.MultiplicityType.class, new StdSerializer<CurrencyEntity.MultiplicityType>(CurrencyEntity.MultiplicityType.class) {
+            @Override
+            public void serialize(CurrencyEntity.MultiplicityType value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                gen.writeNumber(Integer.parseInt(value.name().substring(1)));
+            }
+        });
+        addDeserializer(CurrencyEntity.MultiplicityType.class, new StdDeserializer<CurrencyEntity.MultiplicityType>(CurrencyEntity.MultiplicityType.class) {
+            @Override
+            public CurrencyEntity.MultiplicityType deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                return CurrencyEntity.MultiplicityType.valueOf(p.getValueAsInt());
+            }
+        });
+
+        addSerializer(AttributeEntity.class, new AttributeSerializer(timeWithMilliseconds));
+        addDeserializer(AttributeEntity.class, new AttributeDeserializer());
+        addSerializer((Class) BulkResponse.class, new BulkResponseSerializer());
+
+        Map<Class<?>, MetaTypeAdapterFactory> polymorphic = new HashMap<>();
+        for (MetaTypeAdapterFactory factory : metaTypes) {
+            for (Class<?> baseType : factory.baseTypes()) polymorphic.put(baseType, factory);
+        }
+
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+                MetaTypeAdapterFactory factory = polymorphic.get(beanDesc.getBeanClass());
+                return factory == null ? deserializer : new MetaTypeDeserializer(deserializer, factory);
+            }
+        });
+
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+                if (!ImageEntity.class.isAssignableFrom(beanDesc.getBeanClass())) return beanProperties;
+
+                List<BeanPropertyWriter> properties = new ArrayList<>(beanProperties);
+                properties.replaceAll(p -> p.getName().equals("content") ? new FileContentWriter(p) : p);
+                return properties;
+            }
+        });
+    }
+
+    /**
+     * Имена полей и значений enum'ов из {@link SerializedName}. Поля базовых классов, которые GSON
+     * сериализует без учёта фактического класса ({@link MetaTypeAdapterFactory#serializeRuntimeType(boolean)}),
+     * пишутся по объявленному типу
+     */
+    static final class Introspector extends JacksonAnnotationIntrospector {
+        private final Set<Class<?>> staticTypes;
+
+        Introspector(List<MetaTypeAdapterFactory> metaTypes) {
+            staticTypes = metaTypes.stream().
+                    filter(f -> !f.serializesRuntimeType()).
+                    flatMap(f -> f.baseTypes().stream()).
+                    collect(Collectors.toSet());
+        }
+
+        @Override
+        public PropertyName findNameForSerialization(Annotated a) {
+            SerializedName name = a.getAnnotation(SerializedName.class);
+            return name == null ? super.findNameForSerialization(a) : PropertyName.construct(name.value());
+        }
+
+        @Override
+        public PropertyName findNameForDeserialization(Annotated a) {
+            SerializedName name = a.getAnnotation(SerializedName.class);
+            return name == null ? super.findNameForDeserialization(a) : PropertyName.construct(name.value());
+        }
+
+        @Override
+        public String[] findEnumValues(Class<?> enumType, Enum<?>[] enumValues, String[] names) {
+            names = super.findEnumValues(enumType, enumValues, names);
+            for (int i = 0; i < enumValues.length; i++) {
+                try {
+                    SerializedName name = enumType.getField(enumValues[i].name()).getAnnotation(SerializedName.class);
+                    if (name != null) names[i] = name.value();
+                } catch (NoSuchFieldException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return names;
+        }
+
+        @Override
+        public JsonSerialize.Typing findSerializationTyping(Annotated a) {
+            if (a instanceof AnnotatedMember && staticTypes.contains(a.getRawType())) return JsonSerialize.Typing.STATIC;
+            return super.findSerializationTyping(a);
+        }
+    }
+
+    /**
+     * Десериализатор полей, класс которых выбирается по <code>meta.type</code>
+     * (аналог {@link MetaTypeAdapterFactory}). Объект читается за один проход: поля до <code>meta</code>
+     * (в ответах API оно первое) копируются в {@link TokenBuffer}, а затем десериализатор выбранного
+     * класса читает их и оставшиеся поля прямо из потока (см. {@link #lookahead(JsonParser, DeserializationContext, String...)})
+     */
+    private static final class MetaTypeDeserializer extends DelegatingDeserializer {
+        private final MetaTypeAdapterFactory types;
+
+        private MetaTypeDeserializer(JsonDeserializer<?> delegate, MetaTypeAdapterFactory types) {
+            super(delegate);
+            this.types = types;
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new MetaTypeDeserializer(newDelegatee, types);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.getCurrentToken() != JsonToken.START_OBJECT && p.getCurrentToken() != JsonToken.FIELD_NAME) {
+                throw error(p, "object expected");
+            }
+
+            Lookahead object = lookahead(p, ctxt, "meta");
+            if (!object.objectValue) throw error(p, "meta is null");
+
+            Meta.Type type = metaType(object.type);
+            if (type == null) throw error(p, "meta.type is null");
+
+            Class<?> cl = types.subtypes().get(type);
+            if (cl == null) {
+                throw error(p, "meta.type must be one of " +
+                        types.subtypes().keySet().stream().map(Meta.Type::name).collect(Collectors.joining(", ", "[", "]")));
+            }
+
+            return cl == handledType() ? _delegatee.deserialize(object.parser, ctxt) : ctxt.readValue(object.parser, cl);
+        }
+
+        private JsonMappingException error(JsonParser p, String message) {
+            return JsonMappingException.from(p, "Can't parse field '" + types.fieldName() + "': " + message);
+        }
+    }
+
+    /**
+     * Потоковый десериализатор {@link ListEntity} (аналог {@link ListEntityTypeAdapterFactory}).
+     * Строки списка верхнего уровня передаются обработчику из атрибута {@link #ROW_CONSUMER}, если он задан
+     */
+    private static final class ListEntityDeserializer extends StdDeserializer<ListEntity<?>> {
+        private final JavaType rowType;
+
+        private ListEntityDeserializer(JavaType rowType) {
+            super(ListEntity.class);
+            this.rowType = rowType == null || rowType.getRawClass() == Object.class ? null : rowType;
+        }
+
+        @Override
+        public ListEntity<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Consumer<Object> rowConsumer = (Consumer<Object>) ctxt.getAttribute(ROW_CONSUMER);
+            if (rowConsumer != null) ctxt.setAttribute(ROW_CONSUMER, null);
+
+            ListEntity<MetaEntity> le = new ListEntity<>();
+            le.setRows(new ArrayList<>());
+
+            JsonToken token = p.getCurrentToken() == JsonToken.START_OBJECT ? p.nextToken() : p.getCurrentToken();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String name = p.getCurrentName();
+                p.nextToken();
+
+                switch (name) {
+                    case "meta":
+                        le.setMeta(readNullable(p, ctxt, Meta.class));
+                        break;
+
+                    case "context":
+                        le.setContext(readNullable(p, ctxt, ContextEntity.class));
+                        break;
+
+                    case "rows":
+                        if (p.getCurrentToken() == JsonToken.VALUE_NULL) break;
+                        if (p.getCurrentToken() != JsonToken.START_ARRAY) throw JsonMappingException.from(p, "Can't parse rows: array expected");
+
+                        while (p.nextToken() != JsonToken.END_ARRAY) {
+                            MetaEntity row = readRow(p, ctxt);
+                            if (rowConsumer == null) {
+                                le.getRows().add(row);
+                            } else {
+                                rowConsumer.accept(row);
+                            }
+                        }
+                        break;
+
+                    default:
+                        p.skipChildren();
+                }
+            }
+
+            return le;
+        }
+
+        private MetaEntity readRow(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.getCurrentToken() == JsonToken.VALUE_NULL) return null;
+            if (rowType != null) return ctxt.readValue(p, rowType);
+
+            Lookahead row = lookahead(p, ctxt, "meta");
+            Meta.Type type = metaType(row.type);
+            Class<? extends MetaEntity> cl = type == Meta.Type.demandposition || type == Meta.Type.supplyposition ?
+                    DocumentPosition.class :
+                    MetaEntity.class;
+
+            return ctxt.readValue(row.parser, cl);
+        }
+    }
+
+    /**
+     * Десериализатор ответа на массовую операцию (аналог {@link BulkResponseTypeAdapterFactory}).
+     * Ошибка отличается от сущности по полю <code>errors</code>, а у сущности первым идёт <code>meta</code>,
+     * поэтому элемент читается из потока без построения дерева. В дерево ({@link JsonNode})
+     * читаются только элементы ответа, тип сущностей которого неизвестен
+     */
+    private static final class BulkResponseDeserializer extends StdDeserializer<BulkResponse<?>> {
+        private final JavaType entityType;
+
+        private BulkResponseDeserializer(JavaType entityType) {
+            super(BulkResponse.class);
+            this.entityType = entityType;
+        }
+
+        @Override
+        public BulkResponse<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.getCurrentToken() != JsonToken.START_ARRAY) throw JsonMappingException.from(p, "Can't parse bulk response: array expected");
+
+            BulkResponse<Object> br = new BulkResponse<>();
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                JsonParser element = p;
+                if (p.getCurrentToken() == JsonToken.START_OBJECT) {
+                    Lookahead object = lookahead(p, ctxt, "errors", "meta");
+                    if ("errors".equals(object.field)) {
+                        br.getItems().add(new BulkResponse.Item<>(null, ctxt.readValue(object.parser, ErrorResponse.class)));
+                        continue;
+                    }
+                    element = object.parser;
+                }
+
+                Object entity = ctxt.readValue(element, entityType == null ? ctxt.constructType(JsonNode.class) : entityType);
+                br.getItems().add(new BulkResponse.Item<>(entity, null));
+            }
+
+            return br;
+        }
+    }
+
+    private static final class BulkResponseSerializer extends StdSerializer<BulkResponse<?>> {
+        private BulkResponseSerializer() {
+            super(BulkResponse.class, false);
+        }
+
+        @Override
+        public void serialize(BulkResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray();
+            for (BulkResponse.Item<?> item : value.getItems()) {
+                provider.defaultSerializeValue(item.isSuccessful() ? item.getEntity() : item.getError(), gen);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    /**
+     * Сериализатор доп. поля (аналог {@link AttributeTypeAdapterFactory})
+     */
+    private static final class AttributeSerializer extends StdSerializer<AttributeEntity> {
+        private final boolean timeWithMilliseconds;
+
+        private AttributeSerializer(boolean timeWithMilliseconds) {
+            super(AttributeEntity.class);
+            this.timeWithMilliseconds = timeWithMilliseconds;
+        }
+
+        @Override
+        public void serialize(AttributeEntity src, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+
+            if (src.getType() != null) gen.writeStringField("type", AttributeTypeAdapterFactory.attributeTypeName(src.getType()));
+
+            if (src.getValue() != null) {
+                gen.writeFieldName("value");
+                if (src.getType() == AttributeEntity.Type.timeValue) {
+                    gen.writeString(formatTime(src.getValue()));
+                } else if (src.getType() == AttributeEntity.Type.longValue && src.getValue() instanceof Number) {
+                    gen.writeNumber(((Number) src.getValue()).longValue());
+                } else {
+                    provider.defaultSerializeValue(src.getValue(), gen);
+                }
+            }
+
+            if (src.getRequired() != null) gen.writeBooleanField("required", src.getRequired());
+            if (src.getDownload() != null) provider.defaultSerializeField("download", src.getDownload(), gen);
+            if (src.getId() != null) gen.writeStringField("id", src.getId());
+            if (src.getVersion() != null) gen.writeNumberField("version", src.getVersion());
+            if (src.getAccountId() != null) gen.writeStringField("accountId", src.getAccountId());
+            if (src.getName() != null) gen.writeStringField("name", src.getName());
+            if (src.getMeta() != null) provider.defaultSerializeField("meta", src.getMeta(), gen);
+            if (src.getType() == null && src.getEntityType() != null) gen.writeStringField("type", src.getEntityType().name());
+
+            gen.writeEndObject();
+        }
+
+        private String formatTime(Object value) {
+            if (value instanceof LocalDateTime) return LocalDateTimeCodec.format((LocalDateTime) value, timeWithMilliseconds);
+            if (value instanceof LocalDate) return LocalDateTimeCodec.format(((LocalDate) value).atStartOfDay(), timeWithMilliseconds);
+            throw new IllegalArgumentException("Неподдерживаемый тип данных для дополнительного поля с типом 'time': " + value.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Десериализатор доп. поля (аналог {@link AttributeTypeAdapterFactory}). Значение читается
+     * сразу в нужном типе, если поле <code>type</code> пришло раньше него
+     */
+    private static final class AttributeDeserializer extends StdDeserializer<AttributeEntity> {
+        private AttributeDeserializer() {
+            super(AttributeEntity.class);
+        }
+
+        @Override
+        public AttributeEntity deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            AttributeEntity ae = new AttributeEntity();
+            boolean hasType = false;
+            JsonNode bufferedValue = null;
+
+            JsonToken token = p.getCurrentToken() == JsonToken.START_OBJECT ? p.nextToken() : p.getCurrentToken();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String name = p.getCurrentName();
+                p.nextToken();
+
+                switch (name) {
+                    case "type":
+                        String type = p.getValueAsString();
+                        hasType = true;
+
+                        Meta.Type entityType = AttributeTypeAdapterFactory.entityType(type);
+                        if (entityType != null) {
+                            ae.setEntityType(entityType);
+                        } else {
+                            ae.setType(AttributeTypeAdapterFactory.attributeType(type));
+                        }
+                        break;
+
+                    case "value":
+                        if (hasType) {
+                            ae.setValue(readValue(p, ctxt, ae));
+                        } else {
+                            bufferedValue = ctxt.readValue(p, JsonNode.class);
+                        }
+                        break;
+
+                    case "required":
+                        ae.setRequired(readNullable(p, ctxt, Boolean.class));
+                        break;
+
+                    case "download":
+                        ae.setDownload(readNullable(p, ctxt, Meta.class));
+                        break;
+
+                    case "id":
+                        ae.setId(p.getValueAsString());
+                        break;
+
+                    case "version":
+                        ae.setVersion(readNullable(p, ctxt, Integer.class));
+                        break;
+
+                    case "accountId":
+                        ae.setAccountId(p.getValueAsString());
+                        break;
+
+                    case "name":
+                        ae.setName(p.getValueAsString());
+                        break;
+
+                    case "meta":
+                        ae.setMeta(readNullable(p, ctxt, Meta.class));
+                        break;
+
+                    default:
+                        p.skipChildren();
+                }
+            }
+
+            if (!hasType) {
+                throw new IllegalArgumentException("В пришедшей сущности дополнительного параметра нет поля 'type'!");
+            }
+
+            if (bufferedValue != null && !bufferedValue.isNull()) {
+                ae.setValue(readValue(traverse(bufferedValue, p), ctxt, ae));
+            }
+
+            return ae;
+        }
+
+        private static Object readValue(JsonParser p, DeserializationContext ctxt, AttributeEntity ae) throws IOException {
+            if (p.getCurrentToken() == JsonToken.VALUE_NULL) return null;
+
+            if (ae.getType() == AttributeEntity.Type.longValue) {
+                String s = p.getValueAsString();
+                try {
+                    return Long.parseLong(s);
+                } catch (NumberFormatException e) {
+                    return (long) Double.parseDouble(s);
+                }
+            }
+            if (ae.getType() == AttributeEntity.Type.timeValue) return LocalDateTimeCodec.parse(p.getValueAsString());
+
+            return ctxt.readValue(p, AttributeTypeAdapterFactory.valueClass(ae.getType(), ae.getEntityType()));
+        }
+    }
+
+    /**
+     * Поле <code>content</code> изображения: если изображение задано файлом
+     * ({@link ImageEntity#setContent(File)}), содержимое файла кодируется в Base64
+     * и пишется в JSON по мере чтения файла
+     */
+    private static final class FileContentWriter extends BeanPropertyWriter {
+        private FileContentWriter(BeanPropertyWriter base) {
+            super(base);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            File file = ((ImageEntity) bean).getContentFile();
+            if (file == null) {
+                super.serializeAsField(bean, gen, prov);
+                return;
+            }
+
+            gen.writeFieldName(_name);
+            try (InputStream in = new FileInputStream(file)) {
+                gen.writeBinary(in, -1);
+            }
+        }
+    }
+
+    /**
+     * Читает поля объекта до первого из указанных. Пропущенные поля и значение найденного
+     * копируются в {@link TokenBuffer} (без построения дерева), поэтому объект можно прочитать
+     * целиком из {@link Lookahead#parser}: сначала из буфера, затем из исходного потока.
+     * Если поля идут в порядке ответов API, буферизуется только значение найденного поля
+     */
+    private static Lookahead lookahead(JsonParser p, DeserializationContext ctxt, String... fields) throws IOException {
+        TokenBuffer prefix = new TokenBuffer(p, ctxt);
+        prefix.writeStartObject();
+
+        JsonToken token = p.getCurrentToken() == JsonToken.START_OBJECT ? p.nextToken() : p.getCurrentToken();
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String name = p.getCurrentName();
+            p.nextToken();
+
+            prefix.writeFieldName(name);
+            if (!Arrays.asList(fields).contains(name)) {
+                prefix.copyCurrentStructure(p);
+                continue;
+            }
+
+            boolean objectValue = p.getCurrentToken() == JsonToken.START_OBJECT;
+            String type = null;
+            int depth = 0;
+            do {
+                JsonToken t = p.getCurrentToken();
+                if (depth == 1 && t == JsonToken.FIELD_NAME && "type".equals(p.getCurrentName())) {
+                    prefix.copyCurrentEvent(p);
+                    t = p.nextToken();
+                    if (t == JsonToken.VALUE_STRING) type = p.getText();
+                }
+                prefix.copyCurrentEvent(p);
+
+                if (t.isStructStart()) depth++;
+                else if (t.isStructEnd()) depth--;
+            } while (depth > 0 && p.nextToken() != null);
+
+            JsonParser parser = JsonParserSequence.createFlattened(false, prefix.asParser(p), p);
+            parser.nextToken();
+            return new Lookahead(name, objectValue, type, parser);
+        }
+
+        prefix.writeEndObject();
+        JsonParser parser = prefix.asParser(p);
+        parser.nextToken();
+        return new Lookahead(null, false, null, parser);
+    }
+
+    /**
+     * Результат {@link #lookahead(JsonParser, DeserializationContext, String...)}
+     */
+    private static final class Lookahead {
+        /**
+         * Найденное поле (null, если в объекте нет ни одного из искомых полей)
+         */
+        private final String field;
+
+        /**
+         * Является ли значение найденного поля объектом
+         */
+        private final boolean objectValue;
+
+        /**
+         * Строковое поле <code>type</code> значения найденного поля (например, <code>meta.type</code>)
+         */
+        private final String type;
+
+        /**
+         * Парсер, установленный на начало объекта
+         */
+        private final JsonParser parser;
+
+        private Lookahead(String field, boolean objectValue, String type, JsonParser parser) {
+            this.field = field;
+            this.objectValue = objectValue;
+            this.type = type;
+            this.parser = parser;
+        }
+    }
+
+    private static <T> T readNullable(JsonParser p, DeserializationContext ctxt, Class<T> cl) throws IOException {
+        return p.getCurrentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, cl);
+    }
+
+    private static JsonParser traverse(JsonNode node, JsonParser p) throws IOException {
+        JsonParser tree = node.traverse(p.getCodec());
+        tree.nextToken();
+        return tree;
+    }
+
+    private static Meta.Type metaType(String name) {
+        if (name == null) return null;
+        try {
+            return Meta.Type.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.lognex.api.utils.json;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.responses.ListEntity;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.function.Consumer;
+
+/**
+ * Преобразование тел запросов и ответов API в JSON и обратно. По умолчанию используется {@link GsonCodec};
+ * другая реализация (например, {@link JacksonCodec}) задаётся с помощью {@link LognexApi#codec(JsonCodec)}.<br/>
+ * <br/>
+ * Реализация должна быть потокобезопасной и так же, как {@link GsonCodec}, читать и писать поля сущностей
+ * (а не свойства), выбирать класс полиморфных полей по <code>meta.type</code>
+ * (см. {@link LognexApi#createMetaTypeAdapterFactories()}), даты читать и писать в формате
+ * {@link LocalDateTimeCodec}, а вместо поля <code>content</code> изображения, заданного файлом
+ * (см. {@link com.lognex.api.entities.ImageEntity#getContentFile()}), писать содержимое файла в Base64.
+ * Некорректный JSON или JSON неожиданной структуры должен приводить к непроверяемому исключению
+ */
+public interface JsonCodec {
+    /**
+     * Читает объект указанного типа
+     *
+     * @return прочитанный объект или null, если входные данные пусты
+     * @throws IOException при ошибке чтения из <code>reader</code>
+     */
+    <T> T fromJson(Reader reader, Type type) throws IOException;
+
+    /**
+     * Читает страницу списка, передавая каждую строку обработчику сразу после её чтения,
+     * не дожидаясь конца страницы и не сохраняя строки в {@link ListEntity#getRows()}
+     *
+     * @return страница списка с пустым списком строк
+     * @throws IOException при ошибке чтения из <code>reader</code>
+     */
+    <T extends MetaEntity> ListEntity<T> fromJson(Reader reader, Class<T> rowClass, Consumer<? super T> rowConsumer) throws IOException;
+
+    /**
+     * Записывает объект в JSON
+     *
+     * @throws IOException при ошибке записи в <code>writer</code>
+     */
+    void toJson(Object value, Writer writer) throws IOException;
+
+    /**
+     * Преобразует объект в строку JSON
+     */
+    default String toJson(Object value) {
+        StringWriter writer = new StringWriter();
+        try {
+            toJson(value, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+}
@@ -0,0 +1,142 @@
+package com.lognex.api.utils.json;
+
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lognex.api.entities.ContextEntity;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.entities.documents.DocumentPosition;
+import com.lognex.api.responses.ListEntity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Фабрика потокового адаптера для {@link ListEntity}. Поля <code>meta</code>, <code>context</code>
+ * и <code>rows</code> читаются по мере поступления, без построения дерева JSON всей страницы.
+ * Строки можно не накапливать в списке, а передавать обработчику по одной
+ * (см. {@link Adapter#read(JsonReader, Consumer)})
+ */
+public final class ListEntityTypeAdapterFactory implements TypeAdapterFactory {
+    private static final Logger logger = LogManager.getLogger(ListEntityTypeAdapterFactory.class);
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != ListEntity.class) return null;
+
+        Type rowType = type.getType() instanceof ParameterizedType ?
+                ((ParameterizedType) type.getType()).getActualTypeArguments()[0] :
+                null;
+
+        return (TypeAdapter<T>) new Adapter<>(gson, rowType, (TypeAdapter<ListEntity<MetaEntity>>) gson.getDelegateAdapter(this, type));
+    }
+
+    public static final class Adapter<R extends MetaEntity> extends TypeAdapter<ListEntity<R>> {
+        private final Gson gson;
+        private final TypeAdapter<R> rowAdapter;
+        private final TypeAdapter<ListEntity<R>> delegate;
+        private final TypeAdapter<Meta> metaAdapter;
+        private final TypeAdapter<ContextEntity> contextAdapter;
+        private final TypeAdapter<JsonElement> elementAdapter;
+
+        private Adapter(Gson gson, Type rowType, TypeAdapter<ListEntity<R>> delegate) {
+            this.gson = gson;
+            this.rowAdapter = rowType == null ? null : (TypeAdapter<R>) gson.getAdapter(TypeToken.get(rowType));
+            this.delegate = delegate;
+            this.metaAdapter = gson.getAdapter(Meta.class);
+            this.contextAdapter = gson.getAdapter(ContextEntity.class);
+            this.elementAdapter = gson.getAdapter(JsonElement.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, ListEntity<R> value) throws IOException {
+            delegate.write(out, value);
+        }
+
+        @Override
+        public ListEntity<R> read(JsonReader in) throws IOException {
+            return read(in, null);
+        }
+
+        /**
+         * Читает список. Если указан <code>rowConsumer</code>, каждая строка передаётся ему сразу после
+         * чтения и не сохраняется в {@link ListEntity#getRows()} (список строк останется пустым)
+         */
+        public ListEntity<R> read(JsonReader in, Consumer<? super R> rowConsumer) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            ListEntity<R> le = new ListEntity<>();
+            le.setRows(new ArrayList<>());
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "meta":
+                        le.setMeta(metaAdapter.read(in));
+                        break;
+
+                    case "context":
+                        le.setContext(contextAdapter.read(in));
+                        break;
+
+                    case "rows":
+                        if (in.peek() == JsonToken.NULL) {
+                            in.nextNull();
+                            break;
+                        }
+
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            R row = readRow(in);
+                            if (rowConsumer == null) {
+                                le.getRows().add(row);
+                            } else {
+                                rowConsumer.accept(row);
+                            }
+                        }
+                        in.endArray();
+                        break;
+
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return le;
+        }
+
+        private R readRow(JsonReader in) throws IOException {
+            if (rowAdapter != null) return rowAdapter.read(in);
+
+            JsonElement row = elementAdapter.read(in);
+            Class<? extends MetaEntity> metaClass = MetaEntity.class;
+
+            try {
+                Meta.Type metaType = Meta.Type.valueOf(((JsonObject) row).get("meta").getAsJsonObject().get("type").getAsString());
+
+                switch (metaType) {
+                    case demandposition:
+                    case supplyposition:
+                        metaClass = DocumentPosition.class;
+                        break;
+                }
+            } catch (Exception e) {
+                logger.warn("Ошибка во время десериализации массива rows", e);
+            }
+
+            return (R) gson.fromJson(row, metaClass);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.lognex.api.utils.json;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Преобразование дат в формат API (<code>yyyy-MM-dd HH:mm:ss</code> или <code>yyyy-MM-dd HH:mm:ss.SSS</code>)
+ * и обратно без {@link DateTimeFormatter}: формат фиксированный, поэтому символы разбираются по позициям.
+ * Разбор принимает оба варианта (с миллисекундами и без) независимо от настроек API
+ */
+public final class LocalDateTimeCodec {
+    private static final int LENGTH = 19;
+    private static final int LENGTH_WITH_MILLISECONDS = 23;
+
+    private static final DateTimeFormatter fallbackFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter fallbackFormatterWithMilliseconds = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private LocalDateTimeCodec() {
+    }
+
+    /**
+     * Форматирует дату
+     *
+     * @param withMilliseconds добавлять ли миллисекунды
+     */
+    public static String format(LocalDateTime value, boolean withMilliseconds) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return value.format(withMilliseconds ? fallbackFormatterWithMilliseconds : fallbackFormatter);
+        }
+
+        char[] c = new char[withMilliseconds ? LENGTH_WITH_MILLISECONDS : LENGTH];
+        digits(c, 0, year, 4);
+        c[4] = '-';
+        digits(c, 5, value.getMonthValue(), 2);
+        c[7] = '-';
+        digits(c, 8, value.getDayOfMonth(), 2);
+        c[10] = ' ';
+        digits(c, 11, value.getHour(), 2);
+        c[13] = ':';
+        digits(c, 14, value.getMinute(), 2);
+        c[16] = ':';
+        digits(c, 17, value.getSecond(), 2);
+        if (withMilliseconds) {
+            c[19] = '.';
+            digits(c, 20, value.getNano() / 1_000_000, 3);
+        }
+
+        return new String(c);
+    }
+
+    /**
+     * Разбирает дату в формате <code>yyyy-MM-dd HH:mm:ss</code>, за которым может следовать
+     * дробная часть секунд (от 1 до 9 знаков)
+     *
+     * @throws DateTimeParseException если строка не соответствует формату или содержит некорректную дату
+     */
+    public static LocalDateTime parse(String s) {
+        int length = s.length();
+        if (length < LENGTH || length == LENGTH + 1 || length > LENGTH + 10
+                || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != ' '
+                || s.charAt(13) != ':' || s.charAt(16) != ':'
+                || (length > LENGTH && s.charAt(19) != '.')) {
+            throw new DateTimeParseException("Text '" + s + "' could not be parsed", s, 0);
+        }
+
+        int year = number(s, 0, 4);
+        int month = number(s, 5, 2);
+        int day = number(s, 8, 2);
+        int hour = number(s, 11, 2);
+        int minute = number(s, 14, 2);
+        int second = number(s, 17, 2);
+
+        int nano = 0;
+        if (length > LENGTH) {
+            int fraction = length - LENGTH - 1;
+            nano = number(s, 20, fraction);
+            for (int i = fraction; i < 9; i++) {
+                nano *= 10;
+            }
+        }
+
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0 || nano < 0) {
+            throw new DateTimeParseException("Text '" + s + "' could not be parsed", s, 0);
+        }
+
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException("Text '" + s + "' could not be parsed: " + e.getMessage(), s, 0, e);
+        }
+    }
+
+    private static void digits(char[] c, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            c[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Число из <code>count</code> цифр, начиная с позиции <code>offset</code> (-1, если встретился не цифровой символ)
+     */
+    private static int number(String s, int offset, int count) {
+        int result = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char ch = s.charAt(i);
+            if (ch < '0' || ch > '9') return -1;
+            result = result * 10 + (ch - '0');
+        }
+        return result;
+    }
+}
@@ -1,25 +1,37 @@
 package com.lognex.api.utils.json;
 
-import com.google.gson.*;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
-public class LocalDateTimeSerializer implements JsonSerializer<LocalDateTime>, JsonDeserializer<LocalDateTime> {
-    private final DateTimeFormatter formatter;
+public class LocalDateTimeSerializer extends TypeAdapter<LocalDateTime> {
+    private final boolean dateWithMilliseconds;
 
     public LocalDateTimeSerializer(boolean dateWithMilliseconds) {
-        formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss" + (dateWithMilliseconds ? ".SSS" : ""));
+        this.dateWithMilliseconds = dateWithMilliseconds;
     }
 
     @Override
-    public LocalDateTime deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-        return LocalDateTime.parse(json.getAsString(), formatter);
+    public LocalDateTime read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        return LocalDateTimeCodec.parse(in.nextString());
     }
 
     @Override
-    public JsonElement serialize(LocalDateTime src, Type typeOfSrc, JsonSerializationContext context) {
-        return context.serialize(src.format(formatter));
+    public void write(JsonWriter out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.value(LocalDateTimeCodec.format(value, dateWithMilliseconds));
     }
 }
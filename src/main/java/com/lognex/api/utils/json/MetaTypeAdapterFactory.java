@@ -0,0 +1,141 @@
+package com.lognex.api.utils.json;
+
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.MetaEntity;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Фабрика адаптеров для полей, тип которых — базовый класс или интерфейс-маркер (например,
+ * <code>AgentEntity</code> или <code>ProductMarker</code>). Конкретный класс выбирается по
+ * <code>meta.type</code>: объект один раз читается в {@link JsonObject} и десериализуется
+ * из него адаптером выбранного класса (тем же экземпляром GSON, без повторного разбора текста).<br/>
+ * <br/>
+ * Чтение за один проход без дерева через публичный API GSON невозможно: адаптер выбранного класса
+ * должен сам прочитать объект с начала, а {@link JsonReader} нельзя вернуть назад или продолжить
+ * из буфера. {@link JacksonCodec} читает такие поля за один проход
+ * (см. <code>DemandReadBenchmark</code>)
+ */
+public final class MetaTypeAdapterFactory implements TypeAdapterFactory {
+    private final String fieldName;
+    private final Set<Class<?>> baseTypes;
+    private final Map<Meta.Type, Class<? extends MetaEntity>> subtypes = new LinkedHashMap<>();
+    private boolean serializeRuntimeType = true;
+
+    /**
+     * @param fieldName название поля для сообщений об ошибках
+     * @param baseTypes типы, для которых будет использоваться фабрика (точное совпадение)
+     */
+    public MetaTypeAdapterFactory(String fieldName, Class<?>... baseTypes) {
+        this.fieldName = fieldName;
+        this.baseTypes = new HashSet<>(Arrays.asList(baseTypes));
+    }
+
+    /**
+     * Класс, который будет создан для значения <code>meta.type</code>
+     */
+    public MetaTypeAdapterFactory subtype(Meta.Type type, Class<? extends MetaEntity> cl) {
+        subtypes.put(type, cl);
+        return this;
+    }
+
+    /**
+     * Сериализовать ли значение по его фактическому классу (по умолчанию) или по базовому классу
+     * (только поля базового класса)
+     */
+    public MetaTypeAdapterFactory serializeRuntimeType(boolean value) {
+        this.serializeRuntimeType = value;
+        return this;
+    }
+
+    String fieldName() {
+        return fieldName;
+    }
+
+    Set<Class<?>> baseTypes() {
+        return baseTypes;
+    }
+
+    Map<Meta.Type, Class<? extends MetaEntity>> subtypes() {
+        return subtypes;
+    }
+
+    boolean serializesRuntimeType() {
+        return serializeRuntimeType;
+    }
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!baseTypes.contains(type.getRawType())) return null;
+
+        Map<Meta.Type, TypeAdapter<?>> adapters = new EnumMap<>(Meta.Type.class);
+        for (Map.Entry<Meta.Type, Class<? extends MetaEntity>> e : subtypes.entrySet()) {
+            adapters.put(
+                    e.getKey(),
+                    e.getValue() == type.getRawType() ?
+                            gson.getDelegateAdapter(this, TypeToken.get(e.getValue())) :
+                            gson.getAdapter(e.getValue())
+            );
+        }
+
+        TypeAdapter<T> delegate = serializeRuntimeType ? null : gson.getDelegateAdapter(this, type);
+        return new Adapter<T>(gson, adapters, delegate).nullSafe();
+    }
+
+    private final class Adapter<T> extends TypeAdapter<T> {
+        private final Gson gson;
+        private final Map<Meta.Type, TypeAdapter<?>> adapters;
+        private final TypeAdapter<T> delegate;
+        private final TypeAdapter<Meta> metaAdapter;
+        private final TypeAdapter<JsonElement> elementAdapter;
+
+        private Adapter(Gson gson, Map<Meta.Type, TypeAdapter<?>> adapters, TypeAdapter<T> delegate) {
+            this.gson = gson;
+            this.adapters = adapters;
+            this.delegate = delegate;
+            this.metaAdapter = gson.getAdapter(Meta.class);
+            this.elementAdapter = gson.getAdapter(JsonElement.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            if (delegate != null) {
+                delegate.write(out, value);
+            } else {
+                ((TypeAdapter<T>) gson.getAdapter(value.getClass())).write(out, value);
+            }
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            JsonElement element = elementAdapter.read(in);
+            if (!element.isJsonObject()) {
+                throw new JsonParseException("Can't parse field '" + fieldName + "': object expected");
+            }
+
+            JsonObject object = element.getAsJsonObject();
+            JsonElement meta = object.get("meta");
+            return (T) adapterFor(meta == null ? null : metaAdapter.fromJsonTree(meta)).fromJsonTree(object);
+        }
+
+        private TypeAdapter<?> adapterFor(Meta meta) {
+            if (meta == null) throw new JsonParseException("Can't parse field '" + fieldName + "': meta is null");
+            if (meta.getType() == null) throw new JsonParseException("Can't parse field '" + fieldName + "': meta.type is null");
+
+            TypeAdapter<?> adapter = adapters.get(meta.getType());
+            if (adapter == null) {
+                throw new JsonParseException(
+                        "Can't parse field '" + fieldName + "': meta.type must be one of " +
+                                subtypes.keySet().stream().map(Meta.Type::name).collect(Collectors.joining(", ", "[", "]"))
+                );
+            }
+            return adapter;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.lognex.api.utils.json;
+
+import com.google.gson.stream.JsonWriter;
+import org.apache.commons.io.IOUtils;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * {@link JsonWriter}, которым {@link GsonCodec} пишет JSON в {@link Writer}. Позволяет записать
+ * содержимое файла строкой в формате Base64, читая и кодируя файл по частям
+ */
+final class StreamingJsonWriter extends JsonWriter {
+    /**
+     * Размер части файла, кратный 3, чтобы части кодировались в Base64 без дополнения
+     */
+    private static final int CHUNK_SIZE = 3 * 16 * 1024;
+
+    private final Writer out;
+
+    StreamingJsonWriter(Writer out) {
+        super(out);
+        this.out = out;
+    }
+
+    /**
+     * Пишет содержимое файла в Base64 как строку JSON
+     */
+    void base64Value(File file) throws IOException {
+        jsonValue("\"");
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        byte[] buffer = new byte[CHUNK_SIZE];
+        try (InputStream in = new FileInputStream(file)) {
+            for (int n; (n = IOUtils.read(in, buffer)) > 0; ) {
+                out.write(encoder.encodeToString(n == buffer.length ? buffer : Arrays.copyOf(buffer, n)));
+            }
+        }
+
+        out.write('"');
+    }
+}
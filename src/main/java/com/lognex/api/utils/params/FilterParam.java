@@ -1,5 +1,8 @@
 package com.lognex.api.utils.params;
 
+import lombok.Getter;
+
+@Getter
 public class FilterParam extends ApiParam {
     private final String key;
     private final String value;
@@ -31,10 +34,10 @@ public class FilterParam extends ApiParam {
 
     public enum FilterType {
         equals("="),
-        greater("~"),
-        lesser("~"),
-        greater_or_equals("~"),
-        lesser_or_equals("~"),
+        greater(">"),
+        lesser("<"),
+        greater_or_equals(">="),
+        lesser_or_equals("<="),
         not_equals("!="),
         equivalence("~"),
         equivalence_left("~="),
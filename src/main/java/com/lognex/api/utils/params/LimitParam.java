@@ -1,6 +1,19 @@
 package com.lognex.api.utils.params;
 
+import lombok.Getter;
+
 public class LimitParam extends ApiParam {
+    /**
+     * Максимальное количество элементов в выдаче списка
+     */
+    public static final int MAX_LIMIT = 1000;
+
+    /**
+     * Максимальное количество элементов в выдаче списка при использовании <code>expand</code>
+     */
+    public static final int MAX_EXPAND_LIMIT = 100;
+
+    @Getter
     private final int value;
 
     private LimitParam(int value) {
@@ -0,0 +1,167 @@
+package com.lognex.api;
+
+import com.lognex.api.entities.products.ProductEntity;
+import com.lognex.api.utils.LognexApiException;
+import com.lognex.api.utils.MockHttpClient;
+import com.lognex.api.utils.RetryPolicy;
+import com.lognex.api.utils.TokenBucketRateLimiter;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AsyncTest {
+    private LognexApi api;
+    private MockHttpClient mockHttpClient;
+
+    @Before
+    public void init() {
+        mockHttpClient = new MockHttpClient();
+        api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", mockHttpClient);
+    }
+
+    @Test
+    public void test_call() throws Exception {
+        CompletableFuture<ProductEntity> future = api.async().call(a -> a.entity().product().get("ID"));
+
+        assertNotNull(future.get());
+        assertEquals(
+                "https://test.moysklad/api/remap/1.1/entity/product/ID",
+                mockHttpClient.getLastExecutedRequest().getRequestLine().getUri()
+        );
+    }
+
+    @Test
+    public void test_run() throws Exception {
+        api.async().run(a -> a.entity().product().delete("ID")).get();
+
+        assertEquals("DELETE", mockHttpClient.getLastExecutedRequest().getRequestLine().getMethod());
+    }
+
+    @Test
+    public void test_customExecutor() throws Exception {
+        AtomicInteger executed = new AtomicInteger();
+        api.asyncExecutor(r -> {
+            executed.incrementAndGet();
+            r.run();
+        });
+
+        api.async().call(a -> a.entity().product().get("ID")).get();
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    public void test_exception() throws InterruptedException {
+        CompletableFuture<Object> future = api.async().call(a -> {
+            throw new LognexApiException("uri", 429, "Too Many Requests");
+        });
+
+        try {
+            future.get();
+            fail("Ожидалось исключение ExecutionException!");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof LognexApiException);
+            assertEquals(429, ((LognexApiException) e.getCause()).getStatusCode());
+        }
+
+        future = api.async().call(a -> {
+            throw new IOException("test");
+        });
+
+        try {
+            future.get();
+            fail("Ожидалось исключение ExecutionException!");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void test_entity() throws Exception {
+        AtomicInteger failures = new AtomicInteger(1);
+        List<String> requests = new ArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String request = exchange.getRequestMethod() + " " + exchange.getRequestURI();
+            String body = IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+            synchronized (requests) {
+                requests.add(request);
+            }
+
+            int status;
+            String response;
+            if (request.endsWith("/MISSING")) {
+                status = 404;
+                response = "{\"errors\":[{\"error\":\"Не найдено\",\"code\":1021}]}";
+            } else if (request.endsWith("/RETRY") && failures.getAndDecrement() > 0) {
+                status = 503;
+                response = "{}";
+            } else if (request.startsWith("DELETE")) {
+                status = 200;
+                response = "";
+            } else if (request.startsWith("POST")) {
+                status = 200;
+                response = body.replace("}", ",\"id\":\"NEW\"}");
+            } else {
+                status = 200;
+                response = "{\"id\":\"ID\",\"name\":\"Товар\"}";
+            }
+
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+
+        try {
+            LognexApi api = new LognexApi("127.0.0.1:" + server.getAddress().getPort(), false, "[API_LOGIN]", "[API_PASSWORD]").
+                    retryPolicy(new RetryPolicy().initialDelay(10)).
+                    rateLimiter(new TokenBucketRateLimiter(1000, 1000, 2));
+
+            List<CompletableFuture<ProductEntity>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) futures.add(api.async().entity().product().get("ID" + i));
+            for (CompletableFuture<ProductEntity> future : futures) {
+                assertEquals("Товар", future.get().getName());
+            }
+
+            assertEquals("ID", api.async().entity().product().get("RETRY").get().getId());
+            assertEquals(2, requests.stream().filter(r -> r.endsWith("/RETRY")).count());
+
+            ProductEntity product = new ProductEntity();
+            product.setName("Новый");
+            assertSame(product, api.async().entity().product().post(product).get());
+            assertEquals("NEW", product.getId());
+
+            api.async().entity().product().delete("ID").get();
+            assertTrue(requests.contains("DELETE /api/remap/1.1/entity/product/ID"));
+
+            try {
+                api.async().entity().product().get("MISSING").get();
+                fail("Ожидалось исключение ExecutionException!");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof LognexApiException);
+                assertEquals(404, ((LognexApiException) e.getCause()).getStatusCode());
+                assertEquals(1021, ((LognexApiException) e.getCause()).getErrorResponse().getErrors().get(0).getCode().intValue());
+            }
+
+            api.getAsyncClient().close();
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.lognex.api;
+
+import com.lognex.api.entities.Fetchable;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.entities.StoreEntity;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.entities.documents.DemandDocumentEntity;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.utils.ScriptedHttpClient;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class BatchFetchTest {
+    @Test
+    public void test_fetchAll() throws IOException {
+        ScriptedHttpClient client = new ScriptedHttpClient().byDefault(request -> {
+            String uri = request.getRequestLine().getUri();
+            String id = uri.substring(uri.lastIndexOf('/') + 1);
+            return id.equals("missing") ?
+                    ScriptedHttpClient.response(404, "{\"errors\":[{\"error\":\"Объект не найден\",\"code\":1021}]}") :
+                    ScriptedHttpClient.response(200, "{\"id\":\"" + id + "\",\"name\":\"Имя " + id + "\"}");
+        });
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client);
+
+        List<DemandDocumentEntity> demands = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            DemandDocumentEntity demand = new DemandDocumentEntity();
+            demand.setAgent(reference(new CounterpartyEntity(), "counterparty", String.valueOf(i % 7)));
+            demand.setStore(reference(new StoreEntity(), "store", i == 50 ? "missing" : String.valueOf(i % 3)));
+            demands.add(demand);
+        }
+
+        BulkResponse<CounterpartyEntity> agents = Fetchable.fetchAll(
+                api, demands.stream().map(d -> (CounterpartyEntity) d.getAgent()).collect(Collectors.toList())
+        );
+        BulkResponse<StoreEntity> stores = Fetchable.fetchAll(
+                api, demands.stream().map(DemandDocumentEntity::getStore).collect(Collectors.toList())
+        );
+
+        assertEquals(7 + 4, client.getExecutedRequests().size());
+        assertFalse(agents.hasErrors());
+        assertEquals(100, agents.getItems().size());
+        assertEquals("Имя 3", demands.get(10).getAgent().getName());
+        assertSame(demands.get(10).getAgent(), agents.getItems().get(10).getEntity());
+
+        assertEquals(1, stores.getFailed().size());
+        assertSame(demands.get(50).getStore(), stores.getFailed().get(0).getEntity());
+        assertNull(demands.get(50).getStore().getName());
+        assertEquals("Имя 0", demands.get(51).getStore().getName());
+    }
+
+    private static <T extends MetaEntity> T reference(T entity, String type, String id) {
+        Meta meta = new Meta();
+        meta.setHref("https://test.moysklad/api/remap/1.1/entity/" + type + "/" + id);
+        entity.setMeta(meta);
+        return entity;
+    }
+}
@@ -0,0 +1,184 @@
+package com.lognex.api;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.utils.BulkOperationException;
+import com.lognex.api.utils.LognexApiException;
+import com.lognex.api.utils.ScriptedHttpClient;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.util.EntityUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class BulkDeleteTest {
+    private ScriptedHttpClient client;
+    private LognexApi api;
+
+    @Before
+    public void init() {
+        client = new ScriptedHttpClient();
+        api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client);
+    }
+
+    @Test
+    public void test_deleteByIds() throws IOException {
+        client.byDefault(request -> request.getRequestLine().getUri().endsWith("/2") ?
+                ScriptedHttpClient.response(404, "{\"errors\":[{\"error\":\"Объект не найден\",\"code\":1021}]}") :
+                ScriptedHttpClient.response(200, null)
+        );
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) ids.add(String.valueOf(i));
+
+        BulkResponse<String> response = api.entity().counterparty().delete(ids);
+
+        assertEquals(20, client.getExecutedRequests().size());
+        for (HttpRequest request : client.getExecutedRequests()) {
+            assertEquals("DELETE", request.getRequestLine().getMethod());
+        }
+
+        assertEquals(20, response.getItems().size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(String.valueOf(i), response.getItems().get(i).getEntity());
+        }
+        assertEquals(1, response.getFailed().size());
+        assertEquals("2", response.getFailed().get(0).getEntity());
+        assertEquals(Integer.valueOf(1021), response.getFailed().get(0).getError().getErrors().get(0).getCode());
+    }
+
+    @Test
+    public void test_deleteByIdsFromAsyncCall() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        try {
+            api.asyncExecutor(executor);
+
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < 20; i++) ids.add(String.valueOf(i));
+
+            BulkResponse<String> response = api.async().
+                    call(a -> a.entity().counterparty().delete(ids)).
+                    get(10, TimeUnit.SECONDS);
+
+            assertEquals(20, client.getExecutedRequests().size());
+            assertFalse(response.hasErrors());
+            assertEquals("19", response.getItems().get(19).getEntity());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_deleteEntitiesInBatch() throws IOException, LognexApiException {
+        client.respond(200, "[" +
+                "{\"info\":\"Удаление объекта прошло успешно\"}," +
+                "{\"errors\":[{\"error\":\"Невозможно удалить объект\",\"code\":1100}]}" +
+                "]");
+
+        BulkResponse<String> response = api.entity().counterparty().deleteEntities(Arrays.asList(counterparty("1"), counterparty("2")));
+
+        assertEquals(1, client.getExecutedRequests().size());
+        HttpRequest request = client.getLastExecutedRequest();
+        assertEquals("POST", request.getRequestLine().getMethod());
+        assertTrue(request.getRequestLine().getUri().endsWith("/entity/counterparty/delete"));
+
+        JsonArray body = new JsonParser().parse(EntityUtils.toString(((HttpEntityEnclosingRequest) request).getEntity())).getAsJsonArray();
+        assertEquals(2, body.size());
+        assertEquals(
+                "https://test.moysklad/api/remap/1.1/entity/counterparty/2",
+                body.get(1).getAsJsonObject().getAsJsonObject("meta").get("href").getAsString()
+        );
+
+        assertEquals(2, response.getItems().size());
+        assertTrue(response.getItems().get(0).isSuccessful());
+        assertEquals("1", response.getItems().get(0).getEntity());
+        assertEquals("2", response.getFailed().get(0).getEntity());
+        assertEquals(Integer.valueOf(1100), response.getFailed().get(0).getError().getErrors().get(0).getCode());
+    }
+
+    @Test
+    public void test_deleteEntitiesFallback() throws IOException, LognexApiException {
+        client.respond(405, "{\"errors\":[]}");
+
+        BulkResponse<String> response = api.entity().counterparty().deleteEntities(Arrays.asList(counterparty("1"), counterparty("2")));
+
+        assertEquals(3, client.getExecutedRequests().size());
+        assertEquals("DELETE", client.getLastExecutedRequest().getRequestLine().getMethod());
+        assertFalse(response.hasErrors());
+        assertEquals(2, response.getItems().size());
+    }
+
+    @Test
+    public void test_deleteEntitiesFallbackOnLaterBatch() throws IOException, LognexApiException {
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < BulkResponse.MAX_BATCH_SIZE; i++) {
+            batch.append(i == 0 ? "" : ",").append("{\"info\":\"Удаление объекта прошло успешно\"}");
+        }
+        client.respond(200, batch.append("]").toString()).respond(405, "{\"errors\":[]}");
+
+        List<CounterpartyEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 1010; i++) entities.add(counterparty(String.valueOf(i)));
+
+        BulkResponse<String> response = api.entity().counterparty().deleteEntities(entities);
+
+        assertEquals(2 + 10, client.getExecutedRequests().size());
+        assertEquals("DELETE", client.getLastExecutedRequest().getRequestLine().getMethod());
+        assertFalse(response.hasErrors());
+        assertEquals(1010, response.getItems().size());
+        assertEquals("1009", response.getItems().get(1009).getEntity());
+    }
+
+    @Test
+    public void test_deleteEntitiesLaterBatchFailure() throws IOException {
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < BulkResponse.MAX_BATCH_SIZE; i++) {
+            batch.append(i == 0 ? "" : ",").append("{\"info\":\"Удаление объекта прошло успешно\"}");
+        }
+        client.respond(200, batch.append("]").toString()).fail(new SocketTimeoutException("Read timed out"));
+
+        List<CounterpartyEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 1010; i++) entities.add(counterparty(String.valueOf(i)));
+
+        try {
+            api.entity().counterparty().deleteEntities(entities);
+            fail("Ожидалось исключение BulkOperationException!");
+        } catch (BulkOperationException e) {
+            assertEquals(2, client.getExecutedRequests().size());
+            assertEquals(1000, e.getFailedFrom());
+            assertEquals(10, e.getBatchSize());
+            assertTrue(e.isOutcomeUnknown());
+            assertEquals("999", e.<String>getResult().getItems().get(999).getEntity());
+        }
+    }
+
+    @Test
+    public void test_empty() throws IOException, LognexApiException {
+        assertTrue(api.entity().counterparty().delete(new ArrayList<>()).getItems().isEmpty());
+        assertTrue(api.entity().counterparty().deleteEntities(new ArrayList<>()).getItems().isEmpty());
+        assertTrue(client.getExecutedRequests().isEmpty());
+    }
+
+    private static CounterpartyEntity counterparty(String id) {
+        CounterpartyEntity e = new CounterpartyEntity();
+        e.setId(id);
+        Meta meta = new Meta();
+        meta.setHref("https://test.moysklad/api/remap/1.1/entity/counterparty/" + id);
+        meta.setType(Meta.Type.counterparty);
+        e.setMeta(meta);
+        return e;
+    }
+}
@@ -0,0 +1,194 @@
+package com.lognex.api;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.utils.BulkOperationException;
+import com.lognex.api.utils.LognexApiException;
+import com.lognex.api.utils.ScriptedHttpClient;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.util.EntityUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BulkPostTest {
+    private ScriptedHttpClient client;
+    private LognexApi api;
+
+    @Before
+    public void init() {
+        client = new ScriptedHttpClient();
+        api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client);
+    }
+
+    @Test
+    public void test_itemsMappedBack() throws IOException, LognexApiException {
+        client.respond(200, "[" +
+                "{\"id\":\"1\",\"name\":\"first\"}," +
+                "{\"errors\":[{\"error\":\"Ошибка сохранения\",\"code\":3000}]}," +
+                "{\"id\":\"3\",\"name\":\"third\"}" +
+                "]");
+
+        CounterpartyEntity c1 = new CounterpartyEntity();
+        c1.setName("first");
+        CounterpartyEntity c2 = new CounterpartyEntity();
+        c2.setName("second");
+        CounterpartyEntity c3 = new CounterpartyEntity();
+        c3.setName("third");
+
+        BulkResponse<CounterpartyEntity> response = api.entity().counterparty().post(Arrays.asList(c1, c2, c3));
+
+        assertEquals(1, client.getExecutedRequests().size());
+        JsonArray body = requestBody(client.getLastExecutedRequest());
+        assertEquals(3, body.size());
+        assertEquals("second", body.get(1).getAsJsonObject().get("name").getAsString());
+
+        assertEquals(3, response.getItems().size());
+        assertTrue(response.hasErrors());
+        assertEquals(1, response.getFailed().size());
+
+        assertSame(c1, response.getItems().get(0).getEntity());
+        assertEquals("1", c1.getId());
+        assertNull(c2.getId());
+        assertEquals(Integer.valueOf(3000), response.getItems().get(1).getError().getErrors().get(0).getCode());
+        assertSame(c3, response.getItems().get(2).getEntity());
+        assertEquals("3", c3.getId());
+    }
+
+    @Test
+    public void test_batches() throws IOException, LognexApiException {
+        client.byDefault(request -> {
+            JsonArray in = requestBody(request);
+            StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < in.size(); i++) {
+                if (i > 0) sb.append(",");
+                sb.append("{\"id\":\"").append(in.get(i).getAsJsonObject().get("name").getAsString()).append("\"}");
+            }
+            return ScriptedHttpClient.response(200, sb.append("]").toString());
+        });
+
+        List<CounterpartyEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            CounterpartyEntity c = new CounterpartyEntity();
+            c.setName(String.valueOf(i));
+            entities.add(c);
+        }
+
+        BulkResponse<CounterpartyEntity> response = api.entity().counterparty().post(entities);
+
+        assertEquals(3, client.getExecutedRequests().size());
+        assertEquals(1000, requestBody(client.getExecutedRequests().get(0)).size());
+        assertEquals(500, requestBody(client.getExecutedRequests().get(2)).size());
+
+        assertFalse(response.hasErrors());
+        assertEquals(2500, response.getItems().size());
+        for (int i = 0; i < 2500; i++) {
+            assertEquals(String.valueOf(i), entities.get(i).getId());
+        }
+    }
+
+    @Test
+    public void test_laterBatchFailure() throws IOException {
+        client.respond(200, created(0, 1000)).respond(400, "{\"errors\":[{\"error\":\"Ошибка валидации\",\"code\":2000}]}");
+
+        List<CounterpartyEntity> entities = counterparties(2500);
+        try {
+            api.entity().counterparty().post(entities);
+            fail("Ожидалось исключение BulkOperationException!");
+        } catch (BulkOperationException e) {
+            assertEquals(2, client.getExecutedRequests().size());
+            assertEquals(1000, e.getFailedFrom());
+            assertEquals(1000, e.getBatchSize());
+            assertFalse(e.isOutcomeUnknown());
+            assertEquals(400, ((LognexApiException) e.getCause()).getStatusCode());
+
+            BulkResponse<CounterpartyEntity> result = e.getResult();
+            assertEquals(1000, result.getItems().size());
+            assertFalse(result.hasErrors());
+            assertSame(entities.get(999), result.getItems().get(999).getEntity());
+            assertEquals("999", entities.get(999).getId());
+            assertNull(entities.get(1000).getId());
+        }
+    }
+
+    @Test
+    public void test_laterBatchTimeout() throws IOException {
+        client.respond(200, created(0, 1000)).fail(new SocketTimeoutException("Read timed out"));
+
+        try {
+            api.entity().counterparty().post(counterparties(2500));
+            fail("Ожидалось исключение BulkOperationException!");
+        } catch (BulkOperationException e) {
+            assertEquals(2, client.getExecutedRequests().size());
+            assertEquals(1000, e.getFailedFrom());
+            assertTrue(e.isOutcomeUnknown());
+            assertTrue(e.getCause() instanceof SocketTimeoutException);
+            assertEquals(1000, e.getResult().getItems().size());
+        }
+    }
+
+    @Test
+    public void test_firstBatchFailure() throws IOException {
+        client.respond(500, "{\"errors\":[{\"error\":\"Ошибка сервера\",\"code\":1000}]}");
+
+        try {
+            api.entity().counterparty().post(counterparties(10));
+            fail("Ожидалось исключение BulkOperationException!");
+        } catch (BulkOperationException e) {
+            assertEquals(1, client.getExecutedRequests().size());
+            assertEquals(0, e.getFailedFrom());
+            assertEquals(10, e.getBatchSize());
+            assertTrue(e.isOutcomeUnknown());
+            assertTrue(e.getResult().getItems().isEmpty());
+            assertEquals(500, ((LognexApiException) e.getCause()).getStatusCode());
+        }
+    }
+
+    @Test
+    public void test_emptyList() throws IOException, LognexApiException {
+        BulkResponse<CounterpartyEntity> response = api.entity().counterparty().post(new ArrayList<>());
+
+        assertTrue(client.getExecutedRequests().isEmpty());
+        assertTrue(response.getItems().isEmpty());
+    }
+
+    private static List<CounterpartyEntity> counterparties(int count) {
+        List<CounterpartyEntity> entities = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CounterpartyEntity c = new CounterpartyEntity();
+            c.setName(String.valueOf(i));
+            entities.add(c);
+        }
+        return entities;
+    }
+
+    /**
+     * Ответ на создание контрагентов с именами от <code>from</code> до <code>to</code> (id равен имени)
+     */
+    private static String created(int from, int to) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = from; i < to; i++) {
+            if (i > from) sb.append(",");
+            sb.append("{\"id\":\"").append(i).append("\"}");
+        }
+        return sb.append("]").toString();
+    }
+
+    private static JsonArray requestBody(HttpRequest request) {
+        try {
+            return new JsonParser().parse(EntityUtils.toString(((HttpEntityEnclosingRequest) request).getEntity())).getAsJsonArray();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -15,11 +15,17 @@ import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
@@ -95,6 +101,8 @@ public class EndpointsTest implements TestRandomizers {
                         params.add(new File("test.xls"));
                     } else if (method1.getParameterTypes()[0] == Collection.class) {
                         params.add(new ArrayList());
+                    } else if (method1.getParameterTypes()[i] == List.class) {
+                        params.add(new ArrayList());
                     } else if (method1.getParameterTypes()[i] == String.class) {
                         params.add("ID");
                     } else if (method1.getParameterTypes()[i] == ApiParam[].class) {
@@ -105,6 +113,16 @@ public class EndpointsTest implements TestRandomizers {
                         params.add(new ExportEndpoint.PrintRequest[0]);
                     } else if (method1.getParameterTypes()[i] == boolean.class) {
                         params.add(false);
+                    } else if (method1.getParameterTypes()[i] == int.class) {
+                        params.add(1);
+                    } else if (method1.getParameterTypes()[i] == Executor.class) {
+                        params.add((Executor) Runnable::run);
+                    } else if (method1.getParameterTypes()[i] == Consumer.class) {
+                        params.add((Consumer) o -> {});
+                    } else if (method1.getParameterTypes()[i] == OutputStream.class) {
+                        params.add(new ByteArrayOutputStream());
+                    } else if (method1.getParameterTypes()[i] == WritableByteChannel.class) {
+                        params.add(Channels.newChannel(new ByteArrayOutputStream()));
                     } else if (method1.getParameterTypes()[i] == ListEntity.class) {
                         params.add(new ListEntity());
                     } else if (DocumentEntity.class.isAssignableFrom(method1.getParameterTypes()[i])) {
@@ -0,0 +1,41 @@
+package com.lognex.api;
+
+import com.google.gson.Gson;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+public class SharedGsonTest {
+    @Test
+    public void test_sameInstanceForSameSettings() {
+        assertSame(LognexApi.getGson(false, false), LognexApi.getGson(false, false));
+        assertSame(LognexApi.getGson(false, true), LognexApi.getGson(false, true));
+        assertSame(LognexApi.getGson(true, false), LognexApi.getGson(true, false));
+        assertSame(LognexApi.getGson(true, true), LognexApi.getGson(true, true));
+
+        assertNotSame(LognexApi.getGson(false, false), LognexApi.getGson(false, true));
+        assertNotSame(LognexApi.getGson(false, false), LognexApi.getGson(true, false));
+        assertNotSame(LognexApi.getGson(false, true), LognexApi.getGson(true, true));
+    }
+
+    @Test
+    public void test_settingsApplied() {
+        CounterpartyEntity e = new CounterpartyEntity();
+        e.setCreated(LocalDateTime.of(2018, 12, 17, 10, 30, 45, 123_000_000));
+
+        Gson gson = LognexApi.getGson(false, false);
+        Gson gsonMs = LognexApi.getGson(false, true);
+        Gson gsonPretty = LognexApi.getGson(true, false);
+
+        assertEquals(LognexApi.createGson(false, false).toJson(e), gson.toJson(e));
+        assertEquals(LognexApi.createGson(false, true).toJson(e), gsonMs.toJson(e));
+        assertEquals(LognexApi.createGson(true, false).toJson(e), gsonPretty.toJson(e));
+
+        assertTrue(gsonMs.toJson(e).contains("2018-12-17 10:30:45.123"));
+        assertFalse(gson.toJson(e).contains(".123"));
+        assertTrue(gsonPretty.toJson(e).contains("\n"));
+    }
+}
@@ -0,0 +1,220 @@
+package com.lognex.api.benchmarks;
+
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.*;
+import com.lognex.api.entities.agents.AgentEntity;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.entities.products.markers.ProductMarker;
+import com.lognex.api.utils.json.AttributeTypeAdapterFactory;
+import com.lognex.api.utils.json.LocalDateTimeSerializer;
+import com.lognex.api.utils.json.MetaTypeAdapterFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение {@link AttributeTypeAdapterFactory} с прежним <code>AttributeSerializer</code>
+ * (через дерево JSON и отдельный экземпляр GSON) на списке доп. полей разных типов. Запуск:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.lognex.api.benchmarks.AttributeBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributeBenchmark {
+    private static final Type ATTRIBUTES = new TypeToken<List<AttributeEntity>>() {
+    }.getType();
+
+    @Param({"factory", "serializer"})
+    public String adapter;
+
+    @Param({"1000"})
+    public int attributes;
+
+    private Gson gson;
+    private String json;
+    private List<AttributeEntity> values;
+
+    @Setup
+    public void setup() {
+        gson = adapter.equals("factory") ? LognexApi.createGson() : legacyGson();
+        json = LognexApi.createGson().toJson(attributes(attributes));
+    }
+
+    /**
+     * Прежний сериализатор заменяет значения типа <code>time</code> строками, поэтому
+     * список для записи создаётся заново перед каждым вызовом
+     */
+    @Setup(Level.Invocation)
+    public void setupValues() {
+        values = attributes(attributes);
+    }
+
+    @Benchmark
+    public List<AttributeEntity> read() {
+        return gson.fromJson(json, ATTRIBUTES);
+    }
+
+    @Benchmark
+    public String write() {
+        return gson.toJson(values, ATTRIBUTES);
+    }
+
+    private static List<AttributeEntity> attributes(int count) {
+        List<AttributeEntity> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AttributeEntity attribute = new AttributeEntity();
+            attribute.setId("attribute-" + i);
+            attribute.setName("Поле " + i);
+
+            switch (i % 6) {
+                case 0:
+                    attribute.setType(AttributeEntity.Type.stringValue);
+                    attribute.setValue("Строка " + i);
+                    break;
+
+                case 1:
+                    attribute.setType(AttributeEntity.Type.longValue);
+                    attribute.setValue((long) i);
+                    break;
+
+                case 2:
+                    attribute.setType(AttributeEntity.Type.doubleValue);
+                    attribute.setValue(i + 0.5);
+                    break;
+
+                case 3:
+                    attribute.setType(AttributeEntity.Type.booleanValue);
+                    attribute.setValue(i % 4 == 3);
+                    break;
+
+                case 4:
+                    attribute.setType(AttributeEntity.Type.timeValue);
+                    attribute.setValue(LocalDateTime.of(2018, 1, 2, 3, 4, 5).plusMinutes(i));
+                    break;
+
+                default:
+                    CounterpartyEntity counterparty = new CounterpartyEntity();
+                    counterparty.setId("counterparty-" + i);
+                    counterparty.setName("Контрагент " + i);
+                    counterparty.setMeta(new Meta());
+                    counterparty.getMeta().setType(Meta.Type.counterparty);
+                    counterparty.getMeta().setHref("https://online.moysklad.ru/api/remap/1.1/entity/counterparty/" + counterparty.getId());
+                    attribute.setEntityType(Meta.Type.counterparty);
+                    attribute.setValue(counterparty);
+            }
+            result.add(attribute);
+        }
+        return result;
+    }
+
+    /**
+     * GSON с теми же адаптерами, что {@link LognexApi#createGson()}, но с прежним сериализатором доп. полей
+     */
+    private static Gson legacyGson() {
+        GsonBuilder gb = new GsonBuilder();
+        for (MetaTypeAdapterFactory factory : LognexApi.createMetaTypeAdapterFactories()) {
+            gb.registerTypeAdapterFactory(factory);
+        }
+        gb.registerTypeAdapter(AttributeEntity.class, new LegacyAttributeSerializer(false));
+        gb.registerTypeAdapter(LocalDateTime.class, new LocalDateTimeSerializer(false));
+        return gb.create();
+    }
+
+    /**
+     * Прежний <code>AttributeSerializer</code>
+     */
+    private static final class LegacyAttributeSerializer implements JsonSerializer<AttributeEntity>, JsonDeserializer<AttributeEntity> {
+        private final Gson gson = new GsonBuilder().create();
+        private final DateTimeFormatter formatter;
+
+        LegacyAttributeSerializer(boolean dateWithMilliseconds) {
+            formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss" + (dateWithMilliseconds ? ".SSS" : ""));
+        }
+
+        @Override
+        public JsonElement serialize(AttributeEntity src, Type typeOfSrc, JsonSerializationContext context) {
+            JsonElement je = null;
+
+            if (src.getType() != null) {
+                if (src.getType() == AttributeEntity.Type.timeValue) {
+                    if (src.getValue() instanceof LocalDateTime) {
+                        src.setValue(context.serialize(((LocalDateTime) src.getValue()).format(formatter)));
+                    } else if (src.getValue() instanceof LocalDate) {
+                        src.setValue(context.serialize(((LocalDate) src.getValue()).format(formatter)));
+                    }
+                }
+                je = gson.toJsonTree(src, AttributeEntity.class);
+            } else if (src.getEntityType() != null) {
+                je = gson.toJsonTree(src, AttributeEntity.class).getAsJsonObject();
+                JsonObject jo = (JsonObject) je;
+                jo.add("type", jo.get("entityType"));
+                jo.remove("entityType");
+            }
+
+            return je;
+        }
+
+        @Override
+        public AttributeEntity deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+            JsonObject jo = gson.toJsonTree(json).getAsJsonObject();
+            String attrType = jo.get("type").getAsString();
+
+            try {
+                Meta.Type t = Meta.Type.valueOf(attrType);
+                jo.remove("type");
+                jo.add("entityType", new JsonPrimitive(t.name()));
+            } catch (IllegalArgumentException ignored) {
+            }
+
+            AttributeEntity ae = gson.fromJson(jo, AttributeEntity.class);
+
+            if (ae.getType() != null) {
+                switch (ae.getType()) {
+                    case longValue:
+                        ae.setValue(((Double) ae.getValue()).longValue());
+                        break;
+
+                    case timeValue:
+                        ae.setValue(LocalDateTime.parse(String.valueOf(ae.getValue()), formatter));
+                        break;
+                }
+            } else if (ae.getEntityType() != null) {
+                switch (ae.getEntityType()) {
+                    case counterparty:
+                    case organization:
+                    case employee:
+                        ae.setValue(context.deserialize(jo.get("value"), AgentEntity.class));
+                        break;
+
+                    case product:
+                    case bundle:
+                    case service:
+                        ae.setValue(context.deserialize(jo.get("value"), ProductMarker.class));
+                        break;
+                }
+            }
+
+            return ae;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AttributeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,144 @@
+package com.lognex.api.benchmarks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.MediaType;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.documents.DemandDocumentEntity;
+import com.lognex.api.entities.documents.DocumentPosition;
+import com.lognex.api.entities.products.*;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.json.JacksonCodec;
+import com.lognex.api.utils.json.JsonCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение отгрузки с 1000 позиций, товар которых выбирается по <code>meta.type</code>
+ * (см. {@link com.lognex.api.utils.json.MetaTypeAdapterFactory}). Параметр <code>metaFirst</code>
+ * задаёт, идёт ли <code>meta</code> первым полем (как в ответах API) или последним. Запуск:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.lognex.api.benchmarks.DemandReadBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DemandReadBenchmark {
+    @Param({"gson", "jackson"})
+    public String codecName;
+
+    @Param({"true", "false"})
+    public boolean metaFirst;
+
+    @Param({"1000"})
+    public int positions;
+
+    private JsonCodec codec;
+    private String json;
+
+    @Setup
+    public void setup() {
+        codec = codecName.equals("gson") ? LognexApi.getDefaultCodec(false) : new JacksonCodec(false);
+
+        List<DocumentPosition> rows = new ArrayList<>();
+        for (int i = 0; i < positions; i++) {
+            DocumentPosition position = new DocumentPosition();
+            position.setAssortment(assortment(i));
+            position.setQuantity((double) i);
+            position.setPrice(100L * i);
+            rows.add(position);
+        }
+
+        DemandDocumentEntity demand = new DemandDocumentEntity();
+        demand.setId("demand");
+        demand.setName("00001");
+        demand.setMeta(meta(Meta.Type.demand, demand.getId()));
+        demand.setPositions(new ListEntity<>());
+        demand.getPositions().setRows(rows);
+
+        JsonObject tree = LognexApi.createGson().toJsonTree(demand).getAsJsonObject();
+        for (JsonElement position : tree.getAsJsonObject("positions").getAsJsonArray("rows")) {
+            JsonObject object = position.getAsJsonObject();
+            object.add("assortment", reorder(object.getAsJsonObject("assortment")));
+        }
+        json = tree.toString();
+    }
+
+    @Benchmark
+    public DemandDocumentEntity read() throws IOException {
+        return codec.fromJson(new StringReader(json), DemandDocumentEntity.class);
+    }
+
+    /**
+     * Переносит <code>meta</code> в начало или в конец объекта
+     */
+    private JsonObject reorder(JsonObject object) {
+        JsonElement meta = object.remove("meta");
+        JsonObject result = new JsonObject();
+        if (metaFirst) result.add("meta", meta);
+        for (Map.Entry<String, JsonElement> e : object.entrySet()) result.add(e.getKey(), e.getValue());
+        if (!metaFirst) result.add("meta", meta);
+        return result;
+    }
+
+    private static AbstractProductEntity assortment(int i) {
+        AbstractProductEntity assortment;
+        Meta.Type type;
+        switch (i % 3) {
+            case 0:
+                ProductEntity product = new ProductEntity();
+                product.setArticle("A-" + i);
+                product.setExternalCode("ext" + i);
+                product.setWeight(1.5);
+                assortment = product;
+                type = Meta.Type.product;
+                break;
+
+            case 1:
+                assortment = new ServiceEntity();
+                type = Meta.Type.service;
+                break;
+
+            default:
+                assortment = new BundleEntity();
+                type = Meta.Type.bundle;
+        }
+
+        assortment.setId("assortment-" + i);
+        assortment.setName("Товар " + i);
+        assortment.setCode("c" + i);
+        assortment.setMeta(meta(type, assortment.getId()));
+        return assortment;
+    }
+
+    private static Meta meta(Meta.Type type, String id) {
+        Meta meta = new Meta();
+        meta.setType(type);
+        meta.setHref("https://online.moysklad.ru/api/remap/1.1/entity/" + type + "/" + id);
+        meta.setMediaType(MediaType.json);
+        return meta;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().
+                include(DemandReadBenchmark.class.getSimpleName()).
+                addProfiler(GCProfiler.class).
+                build()
+        ).run();
+    }
+}
@@ -0,0 +1,168 @@
+package com.lognex.api.benchmarks;
+
+import com.lognex.api.entities.Entity;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.entities.agents.EmployeeEntity;
+import com.lognex.api.entities.agents.OrganizationEntity;
+import com.lognex.api.entities.documents.DemandDocumentEntity;
+import com.lognex.api.entities.documents.DocumentPosition;
+import com.lognex.api.entities.products.ProductEntity;
+import com.lognex.api.responses.ListEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение {@link Entity#set(Entity)} и {@link Entity#clone(Entity)} с прежним копированием
+ * через рефлексию (поиск геттеров и сеттеров при каждом вызове). Запуск:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.lognex.api.benchmarks.EntityCopierBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCopierBenchmark {
+    @Param({"counterparty", "demand"})
+    public String entityName;
+
+    private Entity source;
+
+    @Setup
+    public void setup() {
+        source = entityName.equals("counterparty") ? counterparty() : demand();
+    }
+
+    @Benchmark
+    public Entity reflectiveSet() throws ReflectiveOperationException {
+        Entity target = source.getClass().getConstructor().newInstance();
+        ReflectiveCopy.set(target, source);
+        return target;
+    }
+
+    @Benchmark
+    public Entity set() throws ReflectiveOperationException {
+        Entity target = source.getClass().getConstructor().newInstance();
+        target.set(source);
+        return target;
+    }
+
+    @Benchmark
+    public Entity reflectiveClone() {
+        return ReflectiveCopy.clone(source);
+    }
+
+    @Benchmark
+    public Entity copierClone() {
+        return Entity.clone(source);
+    }
+
+    private static CounterpartyEntity counterparty() {
+        EmployeeEntity owner = new EmployeeEntity();
+        owner.setId("owner");
+        owner.setMeta(meta(Meta.Type.employee, owner.getId()));
+
+        CounterpartyEntity counterparty = new CounterpartyEntity();
+        counterparty.setId("counterparty");
+        counterparty.setMeta(meta(Meta.Type.counterparty, counterparty.getId()));
+        counterparty.setName("Контрагент");
+        counterparty.setDescription("Описание");
+        counterparty.setUpdated(LocalDateTime.of(2018, 1, 2, 3, 4, 5));
+        counterparty.setTags(new ArrayList<>(Arrays.asList("a", "b")));
+        counterparty.setEmail("mail@example.com");
+        counterparty.setOwner(owner);
+        return counterparty;
+    }
+
+    private static DemandDocumentEntity demand() {
+        List<DocumentPosition> positions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ProductEntity product = new ProductEntity();
+            product.setId("product-" + i);
+            product.setMeta(meta(Meta.Type.product, product.getId()));
+
+            DocumentPosition position = new DocumentPosition();
+            position.setAssortment(product);
+            position.setQuantity((double) i);
+            position.setPrice(100L * i);
+            positions.add(position);
+        }
+
+        OrganizationEntity organization = new OrganizationEntity();
+        organization.setId("organization");
+        organization.setMeta(meta(Meta.Type.organization, organization.getId()));
+
+        DemandDocumentEntity demand = new DemandDocumentEntity();
+        demand.setId("demand");
+        demand.setMeta(meta(Meta.Type.demand, demand.getId()));
+        demand.setName("00001");
+        demand.setMoment(LocalDateTime.of(2018, 1, 2, 3, 4, 5));
+        demand.setSum(1000L);
+        demand.setAgent(counterparty());
+        demand.setOrganization(organization);
+        demand.setPositions(new ListEntity<>());
+        demand.getPositions().setRows(positions);
+        return demand;
+    }
+
+    private static Meta meta(Meta.Type type, String id) {
+        Meta meta = new Meta();
+        meta.setType(type);
+        meta.setHref("https://online.moysklad.ru/api/remap/1.1/entity/" + type + "/" + id);
+        return meta;
+    }
+
+    /**
+     * Прежняя реализация {@link Entity#set(Entity)} и {@link Entity#clone(Entity)}
+     */
+    private static final class ReflectiveCopy {
+        static void set(Entity target, Entity source) {
+            for (Method method : source.getClass().getMethods()) {
+                if (!method.getName().startsWith("get")) continue;
+
+                Method setter;
+                try {
+                    setter = target.getClass().getMethod(method.getName().replace("get", "set"), method.getReturnType());
+                } catch (NoSuchMethodException e) {
+                    continue;
+                }
+
+                try {
+                    Object o = method.invoke(source);
+                    if (o instanceof Entity) {
+                        o = clone((Entity) o);
+                    }
+                    setter.invoke(target, o);
+                } catch (IllegalAccessException | InvocationTargetException ignored) {
+                }
+            }
+        }
+
+        static <T extends Entity> T clone(T original) {
+            try {
+                T clone = (T) original.getClass().getConstructor().newInstance();
+                set(clone, original);
+                return clone;
+            } catch (ReflectiveOperationException e) {
+                return original;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EntityCopierBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package com.lognex.api.benchmarks;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.entities.documents.CustomerOrderDocumentEntity;
+import com.lognex.api.entities.documents.DocumentPosition;
+import com.lognex.api.entities.products.ProductEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.json.JacksonCodec;
+import com.lognex.api.utils.json.JsonCodec;
+import org.apache.commons.io.output.NullWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение {@link com.lognex.api.utils.json.GsonCodec} и {@link JacksonCodec} на странице
+ * заказов покупателей (чтение строк по одной и запись). Кроме времени выводится объём
+ * выделенной памяти ({@link GCProfiler}). Запуск:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.lognex.api.benchmarks.JsonCodecBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+    @Param({"gson", "jackson"})
+    public String codecName;
+
+    @Param({"1000"})
+    public int rows;
+
+    private JsonCodec codec;
+    private ListEntity<CustomerOrderDocumentEntity> page;
+    private String json;
+
+    @Setup
+    public void setup() {
+        codec = codecName.equals("gson") ? LognexApi.getDefaultCodec(false) : new JacksonCodec(false);
+
+        page = new ListEntity<>();
+        page.setRows(new ArrayList<>());
+        for (int i = 0; i < rows; i++) page.getRows().add(order(i));
+        json = LognexApi.getDefaultCodec(false).toJson(page);
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) throws IOException {
+        codec.fromJson(new StringReader(json), CustomerOrderDocumentEntity.class, blackhole::consume);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        codec.toJson(page, new NullWriter());
+    }
+
+    private static CustomerOrderDocumentEntity order(int i) {
+        CounterpartyEntity agent = new CounterpartyEntity();
+        agent.setId("agent-" + i);
+        agent.setName("Контрагент " + i);
+        agent.setMeta(meta(Meta.Type.counterparty, agent.getId()));
+
+        List<DocumentPosition> positions = new ArrayList<>();
+        for (int j = 0; j < 10; j++) {
+            ProductEntity product = new ProductEntity();
+            product.setId("product-" + j);
+            product.setName("Товар " + j);
+            product.setMeta(meta(Meta.Type.product, product.getId()));
+
+            DocumentPosition position = new DocumentPosition();
+            position.setAssortment(product);
+            position.setQuantity((double) j);
+            position.setPrice(100L * j);
+            positions.add(position);
+        }
+
+        CustomerOrderDocumentEntity order = new CustomerOrderDocumentEntity();
+        order.setId("order-" + i);
+        order.setName(String.format("%05d", i));
+        order.setMoment(LocalDateTime.of(2018, 1, 2, 3, 4, 5));
+        order.setAgent(agent);
+        order.setPositions(new ListEntity<>());
+        order.getPositions().setRows(positions);
+        return order;
+    }
+
+    private static Meta meta(Meta.Type type, String id) {
+        Meta meta = new Meta();
+        meta.setType(type);
+        meta.setHref("https://online.moysklad.ru/api/remap/1.1/entity/" + type + "/" + id);
+        return meta;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().
+                include(JsonCodecBenchmark.class.getSimpleName()).
+                addProfiler(GCProfiler.class).
+                build()
+        ).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.lognex.api.benchmarks;
+
+import com.google.gson.Gson;
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.documents.CustomerOrderDocumentEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Затраты на JSON в одном запросе: чтение ответа и запись тела общим экземпляром GSON
+ * ({@link LognexApi#getGson(boolean, boolean)}) и экземпляром, который, как раньше,
+ * создаётся для каждого запроса ({@link LognexApi#createGson(boolean, boolean)}). Запуск:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.lognex.api.benchmarks.SharedGsonBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SharedGsonBenchmark {
+    private static final String ORDER = "{" +
+            "\"meta\":{\"href\":\"https://online.moysklad.ru/api/remap/1.1/entity/customerorder/1\",\"type\":\"customerorder\",\"mediaType\":\"application/json\"}," +
+            "\"id\":\"1\",\"name\":\"00001\",\"moment\":\"2018-01-02 03:04:05\",\"sum\":1000.0," +
+            "\"agent\":{\"meta\":{\"href\":\"https://online.moysklad.ru/api/remap/1.1/entity/counterparty/2\",\"type\":\"counterparty\"}}," +
+            "\"attributes\":[{\"id\":\"a1\",\"name\":\"Число\",\"type\":\"long\",\"value\":42}]," +
+            "\"positions\":{\"meta\":{\"href\":\"https://online.moysklad.ru/api/remap/1.1/entity/customerorder/1/positions\",\"size\":1}}" +
+            "}";
+
+    private CustomerOrderDocumentEntity order;
+
+    @Setup
+    public void setup() {
+        order = LognexApi.getGson(false, false).fromJson(ORDER, CustomerOrderDocumentEntity.class);
+    }
+
+    @Benchmark
+    public String sharedGson() {
+        return request(LognexApi.getGson(false, false));
+    }
+
+    @Benchmark
+    public String gsonPerRequest() {
+        return request(LognexApi.createGson(false, false));
+    }
+
+    private String request(Gson gson) {
+        String body = gson.toJson(order);
+        return gson.fromJson(ORDER, CustomerOrderDocumentEntity.class).getName() + body.length();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SharedGsonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
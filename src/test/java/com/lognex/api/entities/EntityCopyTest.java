@@ -0,0 +1,117 @@
+package com.lognex.api.entities;
+
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.entities.agents.EmployeeEntity;
+import com.lognex.api.entities.agents.OrganizationEntity;
+import com.lognex.api.entities.documents.DemandDocumentEntity;
+import com.lognex.api.entities.documents.DocumentPosition;
+import com.lognex.api.responses.ListEntity;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EntityCopyTest {
+    @Test
+    public void test_set() {
+        CounterpartyEntity source = new CounterpartyEntity();
+        source.setId("ID");
+        source.setName("name");
+        source.setUpdated(LocalDateTime.now());
+        source.setTags(new ArrayList<>());
+        EmployeeEntity owner = new EmployeeEntity();
+        owner.setId("OWNER");
+        source.setOwner(owner);
+
+        CounterpartyEntity target = new CounterpartyEntity();
+        target.setDescription("description");
+        target.set(source);
+
+        assertEquals("ID", target.getId());
+        assertEquals("name", target.getName());
+        assertEquals(source.getUpdated(), target.getUpdated());
+        assertSame(source.getTags(), target.getTags());
+        assertNull(target.getDescription());
+        assertSame(owner, target.getOwner());
+    }
+
+    @Test
+    public void test_clone() {
+        DemandDocumentEntity source = new DemandDocumentEntity();
+        source.setName("0001");
+        source.setSum(100L);
+        OrganizationEntity organization = new OrganizationEntity();
+        organization.setName("organization");
+        source.setOrganization(organization);
+        List<AttributeEntity> attributes = new ArrayList<>();
+        source.setAttributes(attributes);
+
+        DemandDocumentEntity clone = Entity.clone(source);
+
+        assertNotSame(source, clone);
+        assertEquals("0001", clone.getName());
+        assertEquals(Long.valueOf(100), clone.getSum());
+        assertNotSame(organization, clone.getOrganization());
+        assertEquals("organization", clone.getOrganization().getName());
+        assertNotSame(attributes, clone.getAttributes());
+        assertEquals(attributes, clone.getAttributes());
+
+        source.setName("0002");
+        assertEquals("0001", Entity.clone(clone).getName());
+        assertEquals("0002", Entity.clone(source).getName());
+    }
+
+    @Test
+    public void test_cloneIsDeep() {
+        Meta meta = new Meta();
+        meta.setHref("https://online.moysklad.ru/api/remap/1.1/entity/demand/1");
+        meta.setType(Meta.Type.demand);
+
+        DemandDocumentEntity source = new DemandDocumentEntity();
+        source.setMeta(meta);
+        AttributeEntity attribute = new AttributeEntity();
+        attribute.setName("attribute");
+        source.setAttributes(new ArrayList<>(Collections.singletonList(attribute)));
+        DocumentPosition position = new DocumentPosition();
+        position.setQuantity(1.0);
+        source.setPositions(new ListEntity<>());
+        source.getPositions().setMeta(new Meta());
+        source.getPositions().setRows(new ArrayList<>(Collections.singletonList(position)));
+
+        DemandDocumentEntity clone = Entity.clone(source);
+        assertEquals(source, clone);
+
+        clone.getMeta().setHref("changed");
+        clone.getAttributes().get(0).setName("changed");
+        clone.getAttributes().add(new AttributeEntity());
+        clone.getPositions().getMeta().setSize(10);
+        clone.getPositions().getRows().get(0).setQuantity(2.0);
+        clone.getPositions().getRows().clear();
+
+        assertEquals("https://online.moysklad.ru/api/remap/1.1/entity/demand/1", source.getMeta().getHref());
+        assertEquals(Meta.Type.demand, clone.getMeta().getType());
+        assertEquals(1, source.getAttributes().size());
+        assertEquals("attribute", source.getAttributes().get(0).getName());
+        assertNull(source.getPositions().getMeta().getSize());
+        assertEquals(1, source.getPositions().getRows().size());
+        assertEquals(Double.valueOf(1.0), source.getPositions().getRows().get(0).getQuantity());
+    }
+
+    @Test
+    public void test_differentClasses() {
+        CounterpartyEntity source = new CounterpartyEntity();
+        source.setId("ID");
+        source.setName("name");
+        source.setCompanyType(CompanyType.legal);
+
+        MetaEntity target = new OrganizationEntity();
+        target.set(source);
+
+        assertEquals("ID", target.getId());
+        assertEquals("name", target.getName());
+    }
+}
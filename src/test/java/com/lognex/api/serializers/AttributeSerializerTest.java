@@ -6,6 +6,7 @@ import com.lognex.api.entities.AttributeEntity;
 import com.lognex.api.entities.CustomEntity;
 import com.lognex.api.entities.MediaType;
 import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.StoreEntity;
 import com.lognex.api.entities.products.ProductEntity;
 import com.lognex.api.utils.TestAsserts;
 import com.lognex.api.utils.TestRandomizers;
@@ -219,4 +220,39 @@ public class AttributeSerializerTest implements TestAsserts, TestRandomizers {
         assertEquals(CustomEntity.class, parsed.getValue().getClass());
         assertEquals("CUSTOM VALUE", parsed.getValueAs(CustomEntity.class).getName());
     }
+
+    @Test
+    public void test_serializeDoesNotModifySource() {
+        Gson gsonCustom = LognexApi.createGson();
+
+        AttributeEntity e = new AttributeEntity();
+        e.setType(AttributeEntity.Type.timeValue);
+        LocalDateTime date = LocalDateTime.of(2018, 1, 2, 3, 4, 5);
+        e.setValue(date);
+
+        assertEquals("{\"type\":\"time\",\"value\":\"2018-01-02 03:04:05\"}", gsonCustom.toJson(e));
+        assertSame(date, e.getValue());
+        assertEquals("{\"type\":\"time\",\"value\":\"2018-01-02 03:04:05\"}", gsonCustom.toJson(e));
+    }
+
+    @Test
+    public void test_deserializeValueBeforeType() {
+        Gson gsonCustom = LognexApi.createGson();
+
+        AttributeEntity parsed = gsonCustom.fromJson("{\"value\":1234567,\"id\":\"ID\",\"type\":\"long\"}", AttributeEntity.class);
+        assertEquals(AttributeEntity.Type.longValue, parsed.getType());
+        assertEquals(1234567L, parsed.getValue());
+        assertEquals("ID", parsed.getId());
+
+        parsed = gsonCustom.fromJson("{\"value\":{\"meta\":{\"type\":\"store\"},\"name\":\"STORE\"},\"type\":\"store\"}", AttributeEntity.class);
+        assertEquals(Meta.Type.store, parsed.getEntityType());
+        assertEquals("STORE", parsed.getValueAs(StoreEntity.class).getName());
+
+        try {
+            gsonCustom.fromJson("{\"value\":1}", AttributeEntity.class);
+            fail("Ожидалось исключение IllegalArgumentException!");
+        } catch (IllegalArgumentException ex) {
+            assertEquals("В пришедшей сущности дополнительного параметра нет поля 'type'!", ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package com.lognex.api.serializers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.Entity;
+import com.lognex.api.entities.ImageEntity;
+import com.lognex.api.entities.products.ProductEntity;
+import com.lognex.api.utils.LognexApiException;
+import com.lognex.api.utils.ScriptedHttpClient;
+import com.lognex.api.utils.json.JacksonCodec;
+import com.lognex.api.utils.json.JsonCodec;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ImageEntitySerializerTest {
+    /**
+     * Размер тела запроса, которое хранится в памяти и отправляется с известной длиной
+     */
+    private static final int JSON_BUFFER_SIZE = 64 * 1024;
+
+    @Test
+    public void test_serializeFileContent() throws IOException {
+        File file = imageFile(1000);
+        ImageEntity image = new ImageEntity();
+        image.setTitle("Фото");
+        image.setContent(file);
+
+        Gson gson = LognexApi.createGson();
+        JsonObject json = gson.toJsonTree(image).getAsJsonObject();
+
+        assertEquals("Фото", json.get("title").getAsString());
+        assertEquals(file.getName(), json.get("filename").getAsString());
+        assertEquals(Base64.getEncoder().encodeToString(Files.readAllBytes(file.toPath())), json.get("content").getAsString());
+        assertEquals(json.get("content").getAsString(), image.encodeContent());
+        assertNull(image.getContent());
+
+        ImageEntity clone = Entity.clone(image);
+        assertNull(clone.getContent());
+        assertSame(file, clone.getContentFile());
+        assertEquals(image, clone);
+        assertEquals(json, gson.toJsonTree(clone));
+
+        image.setContent("AAAA");
+        assertNull(image.getContentFile());
+        assertEquals("AAAA", gson.toJsonTree(image).getAsJsonObject().get("content").getAsString());
+    }
+
+    @Test
+    public void test_streamFileContent() throws IOException, LognexApiException {
+        for (JsonCodec codec : new JsonCodec[]{LognexApi.getDefaultCodec(false), new JacksonCodec(false)}) {
+            for (int size : new int[]{0, 1, 2, 3, 3 * 16 * 1024 + 1, 100_001}) {
+                assertStreamed(codec, imageFile(size));
+            }
+        }
+    }
+
+    /**
+     * Проверяет тело запроса в момент отправки: после получения ответа сущность
+     * заполняется его полями, а тело сериализуется заново при каждой записи
+     */
+    private static void assertStreamed(JsonCodec codec, File file) throws IOException, LognexApiException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long[] length = new long[1];
+        String[] content = new String[1];
+        ScriptedHttpClient client = new ScriptedHttpClient().byDefault(r -> {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) r).getEntity();
+            try {
+                entity.writeTo(out);
+                length[0] = entity.getContentLength();
+                content[0] = IOUtils.toString(entity.getContent(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return ScriptedHttpClient.response(200, "{\"name\":\"Товар\"}");
+        });
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client).codec(codec);
+
+        ProductEntity product = new ProductEntity();
+        product.setName("Товар");
+        product.setImage(new ImageEntity());
+        product.getImage().setContent(file);
+        JsonElement expected = LognexApi.createGson().toJsonTree(product);
+        api.entity().product().post(product);
+
+        String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(json.length() > JSON_BUFFER_SIZE ? -1 : out.size(), length[0]);
+        assertEquals(expected, new JsonParser().parse(json));
+        assertEquals(json, content[0]);
+    }
+
+    private static File imageFile(int size) throws IOException {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+
+        File file = File.createTempFile("image", ".png");
+        file.deleteOnExit();
+        Files.write(file.toPath(), data);
+        return file;
+    }
+}
@@ -0,0 +1,210 @@
+package com.lognex.api.serializers;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.AttributeEntity;
+import com.lognex.api.entities.ImageEntity;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.entities.discounts.AccumulationDiscountEntity;
+import com.lognex.api.entities.discounts.DiscountEntity;
+import com.lognex.api.entities.documents.CustomerOrderDocumentEntity;
+import com.lognex.api.entities.products.ProductEntity;
+import com.lognex.api.entities.products.ServiceEntity;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.LognexApiException;
+import com.lognex.api.utils.ScriptedHttpClient;
+import com.lognex.api.utils.json.JacksonCodec;
+import com.lognex.api.utils.json.JsonCodec;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+import org.reflections.Reflections;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JacksonCodecTest {
+    private static final String ORDER = "{" +
+            "\"meta\":{\"href\":\"https://online.moysklad.ru/api/remap/1.1/entity/customerorder/1\",\"type\":\"customerorder\",\"mediaType\":\"application/json\"}," +
+            "\"id\":\"1\",\"name\":\"00001\",\"moment\":\"2018-01-02 03:04:05.006\",\"sum\":1000.0,\"unknownField\":[1,{\"a\":null}]," +
+            "\"agent\":{\"meta\":{\"href\":\"https://online.moysklad.ru/api/remap/1.1/entity/counterparty/2\",\"type\":\"counterparty\"},\"name\":\"Агент\",\"companyType\":\"legal\"}," +
+            "\"attributes\":[" +
+            "{\"value\":42,\"type\":\"long\",\"id\":\"a1\",\"name\":\"Число\"}," +
+            "{\"type\":\"time\",\"value\":\"2018-01-02 03:04:05\",\"id\":\"a2\"}," +
+            "{\"type\":\"product\",\"value\":{\"meta\":{\"href\":\"https://online.moysklad.ru/api/remap/1.1/entity/product/3\",\"type\":\"product\"},\"name\":\"Товар\"}}" +
+            "]," +
+            "\"positions\":{\"meta\":{\"size\":2,\"limit\":1000,\"offset\":0},\"rows\":[" +
+            "{\"quantity\":1.0,\"price\":100.0,\"assortment\":{\"meta\":{\"type\":\"product\",\"href\":\"https://online.moysklad.ru/api/remap/1.1/entity/product/3\"},\"name\":\"Товар\",\"article\":\"A1\"}}," +
+            "{\"quantity\":2.0,\"price\":200.0,\"assortment\":{\"meta\":{\"type\":\"service\",\"href\":\"https://online.moysklad.ru/api/remap/1.1/entity/service/4\"},\"name\":\"Услуга\"}}" +
+            "]}" +
+            "}";
+
+    private final JsonCodec gson = LognexApi.getDefaultCodec(true);
+    private final JsonCodec jackson = new JacksonCodec(true);
+
+    @Test
+    public void test_readsAsGson() throws IOException {
+        CustomerOrderDocumentEntity expected = gson.fromJson(new StringReader(ORDER), CustomerOrderDocumentEntity.class);
+        CustomerOrderDocumentEntity actual = jackson.fromJson(new StringReader(ORDER), CustomerOrderDocumentEntity.class);
+
+        assertEquals(CounterpartyEntity.class, actual.getAgent().getClass());
+        assertEquals(ProductEntity.class, actual.getPositions().getRows().get(0).getAssortment().getClass());
+        assertEquals(ServiceEntity.class, actual.getPositions().getRows().get(1).getAssortment().getClass());
+        assertEquals(LocalDateTime.of(2018, 1, 2, 3, 4, 5, 6_000_000), actual.getMoment());
+
+        List<AttributeEntity> attributes = actual.getAttributes();
+        assertEquals(42L, attributes.get(0).getValue());
+        assertEquals(LocalDateTime.of(2018, 1, 2, 3, 4, 5), attributes.get(1).getValue());
+        assertEquals(ProductEntity.class, attributes.get(2).getValue().getClass());
+
+        assertEquals(tree(gson, expected), tree(gson, actual));
+        assertEquals(tree(gson, expected), tree(jackson, expected));
+    }
+
+    @Test
+    public void test_polymorphicErrors() throws IOException {
+        assertNull(jackson.fromJson(new StringReader(""), CounterpartyEntity.class));
+
+        for (String agent : new String[]{"[]", "{}", "{\"meta\":{}}", "{\"meta\":{\"type\":\"product\"}}"}) {
+            try {
+                jackson.fromJson(new StringReader("{\"agent\":" + agent + "}"), CustomerOrderDocumentEntity.class);
+                fail(agent);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("Can't parse field 'agent'"));
+            }
+        }
+
+        DiscountEntity discount = jackson.fromJson(new StringReader("{\"meta\":{\"type\":\"discount\"},\"name\":\"1\"}"), DiscountEntity.class);
+        assertEquals(DiscountEntity.class, discount.getClass());
+        discount = jackson.fromJson(new StringReader("{\"meta\":{\"type\":\"accumulationdiscount\"},\"name\":\"2\"}"), DiscountEntity.class);
+        assertEquals(AccumulationDiscountEntity.class, discount.getClass());
+        assertEquals("2", discount.getName());
+    }
+
+    @Test
+    public void test_writesAsGson() throws IOException {
+        CustomerOrderDocumentEntity order = gson.fromJson(new StringReader(ORDER), CustomerOrderDocumentEntity.class);
+        order.setCreated(LocalDateTime.of(2019, 1, 1, 0, 0));
+
+        ImageEntity image = new ImageEntity();
+        image.setTitle("Фото");
+        ProductEntity product = new ProductEntity();
+        product.setImage(image);
+
+        assertEquals(tree(gson, order), tree(jackson, order));
+        assertEquals(tree(gson, product), tree(jackson, product));
+    }
+
+    @Test
+    public void test_streamsRows() throws IOException {
+        String json = "{\"context\":{\"employee\":{\"meta\":{\"type\":\"employee\"}}},\"rows\":[" + ORDER + "," + ORDER + "],\"meta\":{\"size\":2}}";
+
+        List<CustomerOrderDocumentEntity> rows = new ArrayList<>();
+        ListEntity<CustomerOrderDocumentEntity> page = jackson.fromJson(new StringReader(json), CustomerOrderDocumentEntity.class, rows::add);
+
+        assertEquals(2, rows.size());
+        assertTrue(page.getRows().isEmpty());
+        assertEquals(Integer.valueOf(2), page.getMeta().getSize());
+        assertNotNull(page.getContext().getEmployee());
+        assertEquals(2, rows.get(1).getPositions().getRows().size());
+
+        ListEntity<CustomerOrderDocumentEntity> list = jackson.fromJson(
+                new StringReader(json),
+                TypeToken.getParameterized(ListEntity.class, CustomerOrderDocumentEntity.class).getType()
+        );
+        assertEquals(2, list.getRows().size());
+    }
+
+    @Test
+    public void test_bulkResponse() throws IOException {
+        String json = "[{\"name\":\"1\"},{\"errors\":[{\"error\":\"Ошибка\",\"code\":1}]}," +
+                "{\"name\":\"3\",\"meta\":{\"type\":\"product\"}},{\"code\":\"4\",\"errors\":[{\"error\":\"Ошибка 4\"}]}]";
+        BulkResponse<ProductEntity> response = jackson.fromJson(
+                new StringReader(json),
+                TypeToken.getParameterized(BulkResponse.class, ProductEntity.class).getType()
+        );
+
+        assertEquals(4, response.getItems().size());
+        assertEquals("1", response.getItems().get(0).getEntity().getName());
+        assertEquals("Ошибка", response.getItems().get(1).getError().getErrors().get(0).getError());
+        assertEquals("3", response.getItems().get(2).getEntity().getName());
+        assertEquals(Meta.Type.product, response.getItems().get(2).getEntity().getMeta().getType());
+        assertEquals("Ошибка 4", response.getItems().get(3).getError().getErrors().get(0).getError());
+
+        json = "[{\"name\":\"1\"},{\"errors\":[{\"error\":\"Ошибка\",\"code\":1}]}]";
+        response = jackson.fromJson(
+                new StringReader(json),
+                TypeToken.getParameterized(BulkResponse.class, ProductEntity.class).getType()
+        );
+        assertEquals(new JsonParser().parse(json), new JsonParser().parse(jackson.toJson(response)));
+    }
+
+    @Test
+    public void test_fileContent() throws IOException {
+        File file = File.createTempFile("image", ".png");
+        file.deleteOnExit();
+        byte[] data = new byte[100_001];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) i;
+        Files.write(file.toPath(), data);
+
+        ProductEntity product = new ProductEntity();
+        product.setImage(new ImageEntity());
+        product.getImage().setContent(file);
+
+        JsonElement json = new JsonParser().parse(jackson.toJson(product));
+        assertEquals(file.getName(), json.getAsJsonObject().getAsJsonObject("image").get("filename").getAsString());
+        assertEquals(Base64.getEncoder().encodeToString(data), json.getAsJsonObject().getAsJsonObject("image").get("content").getAsString());
+    }
+
+    @Test
+    public void test_entitiesWithoutFields() throws IOException {
+        for (Class<? extends MetaEntity> cl : new Reflections("com.lognex.api").getSubTypesOf(MetaEntity.class)) {
+            if (Modifier.isAbstract(cl.getModifiers()) || cl.getEnclosingClass() != null || cl == AttributeEntity.class || cl == DiscountEntity.class) continue;
+
+            assertEquals(cl.getName(), cl, jackson.fromJson(new StringReader("{}"), cl).getClass());
+        }
+    }
+
+    @Test
+    public void test_api() throws IOException, LognexApiException {
+        String counterparty = "{\"id\":\"2\",\"name\":\"Агент\",\"created\":\"2018-01-02 03:04:05.006\"}";
+        ScriptedHttpClient client = new ScriptedHttpClient().
+                respond(200, counterparty).
+                respond(200, "{\"rows\":[" + counterparty + "," + counterparty + "]}").
+                respond(200, counterparty);
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client).
+                timeWithMilliseconds().
+                codec(jackson);
+
+        assertEquals("Агент", api.entity().counterparty().get("2").getName());
+
+        List<CounterpartyEntity> rows = new ArrayList<>();
+        api.entity().counterparty().get(rows::add);
+        assertEquals(2, rows.size());
+        assertEquals(LocalDateTime.of(2018, 1, 2, 3, 4, 5, 6_000_000), rows.get(1).getCreated());
+
+        CounterpartyEntity created = api.entity().counterparty().post(rows.get(0));
+        assertEquals("2", created.getId());
+        assertEquals(new JsonParser().parse(counterparty), new JsonParser().parse(EntityUtils.toString(
+                ((HttpEntityEnclosingRequest) client.getLastExecutedRequest()).getEntity()
+        )));
+    }
+
+    private static JsonElement tree(JsonCodec codec, Object value) {
+        return new JsonParser().parse(codec.toJson(value));
+    }
+}
@@ -0,0 +1,92 @@
+package com.lognex.api.serializers;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.LognexApiException;
+import com.lognex.api.utils.ScriptedHttpClient;
+import com.lognex.api.utils.json.JsonCodec;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public class JsonCodecTest {
+    @Test
+    public void test_defaultCodec() throws IOException {
+        JsonCodec codec = LognexApi.getDefaultCodec(true);
+
+        assertSame(codec, new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]").timeWithMilliseconds().getCodec());
+        assertNull(codec.fromJson(new StringReader(""), CounterpartyEntity.class));
+
+        LocalDateTime date = LocalDateTime.of(2018, 1, 2, 3, 4, 5, 6_000_000);
+        assertEquals("\"2018-01-02 03:04:05.006\"", codec.toJson(date));
+        assertEquals(date, codec.fromJson(new StringReader("\"2018-01-02 03:04:05.006\""), LocalDateTime.class));
+    }
+
+    @Test
+    public void test_customCodec() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().
+                respond(200, "{\"name\":\"1\"}").
+                respond(200, "{\"rows\":[{\"name\":\"2\"}]}");
+        CountingCodec codec = new CountingCodec(LognexApi.getDefaultCodec(false));
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client).codec(codec);
+
+        CounterpartyEntity counterparty = new CounterpartyEntity();
+        counterparty.setName("1");
+        CounterpartyEntity created = api.entity().counterparty().post(counterparty);
+        assertEquals("1", created.getName());
+        assertEquals(
+                "{\"name\":\"1\"}",
+                EntityUtils.toString(((HttpEntityEnclosingRequest) client.getLastExecutedRequest()).getEntity())
+        );
+
+        List<String> names = new ArrayList<>();
+        api.entity().counterparty().get(c -> names.add(c.getName()));
+        assertEquals(1, names.size());
+        assertEquals("2", names.get(0));
+
+        assertEquals(1, codec.writes);
+        assertEquals(2, codec.reads);
+    }
+
+    private static final class CountingCodec implements JsonCodec {
+        private final JsonCodec delegate;
+        private int reads;
+        private int writes;
+
+        private CountingCodec(JsonCodec delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <T> T fromJson(Reader reader, Type type) throws IOException {
+            reads++;
+            return delegate.fromJson(reader, type);
+        }
+
+        @Override
+        public <T extends MetaEntity> ListEntity<T> fromJson(Reader reader, Class<T> rowClass, Consumer<? super T> rowConsumer) throws IOException {
+            reads++;
+            return delegate.fromJson(reader, rowClass, rowConsumer);
+        }
+
+        @Override
+        public void toJson(Object value, Writer writer) throws IOException {
+            writes++;
+            delegate.toJson(value, writer);
+        }
+    }
+}
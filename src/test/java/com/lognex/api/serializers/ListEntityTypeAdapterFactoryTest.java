@@ -0,0 +1,82 @@
+package com.lognex.api.serializers;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.LognexApiException;
+import com.lognex.api.utils.RetryPolicy;
+import com.lognex.api.utils.ScriptedHttpClient;
+import com.lognex.api.utils.TestAsserts;
+import com.lognex.api.utils.TestRandomizers;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ListEntityTypeAdapterFactoryTest implements TestAsserts, TestRandomizers {
+    private static final String page = "{" +
+            "\"context\":{\"employee\":{\"meta\":{\"href\":\"https://test/employee\",\"type\":\"employee\"}}}," +
+            "\"unknown\":[{\"a\":1}]," +
+            "\"meta\":{\"href\":\"https://test/counterparty\",\"type\":\"counterparty\",\"size\":3,\"limit\":25,\"offset\":0}," +
+            "\"rows\":[" +
+            "{\"meta\":{\"type\":\"counterparty\"},\"name\":\"1\"}," +
+            "{\"meta\":{\"type\":\"counterparty\"},\"name\":\"2\"}," +
+            "{\"meta\":{\"type\":\"counterparty\"},\"name\":\"3\"}" +
+            "]}";
+
+    @Test
+    public void test_read() {
+        Gson gson = LognexApi.createGson();
+
+        ListEntity<CounterpartyEntity> le = gson.fromJson(page, new TypeToken<ListEntity<CounterpartyEntity>>() {
+        }.getType());
+
+        assertEquals(Meta.Type.counterparty, le.getMeta().getType());
+        assertEquals(Integer.valueOf(3), le.getMeta().getSize());
+        assertEquals("https://test/employee", le.getContext().getEmployee().getMeta().getHref());
+        assertEquals(3, le.getRows().size());
+        assertEquals("3", le.getRows().get(2).getName());
+
+        ListEntity<CounterpartyEntity> empty = gson.fromJson("{\"rows\":null}", new TypeToken<ListEntity<CounterpartyEntity>>() {
+        }.getType());
+        assertTrue(empty.getRows().isEmpty());
+    }
+
+    @Test
+    public void test_rowConsumer() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().respond(200, page);
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client);
+
+        List<String> names = new ArrayList<>();
+        ListEntity<CounterpartyEntity> le = api.entity().counterparty().get(c -> names.add(c.getName()));
+
+        assertEquals(3, names.size());
+        assertEquals("1", names.get(0));
+        assertEquals("3", names.get(2));
+        assertTrue(le.getRows().isEmpty());
+        assertEquals(Integer.valueOf(3), le.getMeta().getSize());
+    }
+
+    @Test
+    public void test_rowConsumerNotRetriedAfterRows() throws LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().
+                respond(200, page.substring(0, page.indexOf("{\"meta\":{\"type\":\"counterparty\"},\"name\":\"3\"}")));
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client).
+                retryPolicy(new RetryPolicy().initialDelay(1));
+
+        List<String> names = new ArrayList<>();
+        try {
+            api.entity().counterparty().get(c -> names.add(c.getName()));
+            fail("Ожидалось исключение IOException!");
+        } catch (IOException e) {
+            assertEquals(2, names.size());
+            assertEquals(1, client.getExecutedRequests().size());
+        }
+    }
+}
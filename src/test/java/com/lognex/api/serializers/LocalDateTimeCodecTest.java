@@ -0,0 +1,63 @@
+package com.lognex.api.serializers;
+
+import com.lognex.api.utils.json.LocalDateTimeCodec;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class LocalDateTimeCodecTest {
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter formatterWithMs = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    @Test
+    public void test_formatMatchesFormatter() {
+        for (int i = 0; i < 10000; i++) {
+            LocalDateTime date = randomDate();
+
+            assertEquals(date.format(formatter), LocalDateTimeCodec.format(date, false));
+            assertEquals(date.format(formatterWithMs), LocalDateTimeCodec.format(date, true));
+        }
+    }
+
+    @Test
+    public void test_parseBothForms() {
+        for (int i = 0; i < 10000; i++) {
+            LocalDateTime date = randomDate();
+
+            assertEquals(date.withNano(0), LocalDateTimeCodec.parse(date.format(formatter)));
+            assertEquals(date, LocalDateTimeCodec.parse(date.format(formatterWithMs)));
+        }
+
+        assertEquals(LocalDateTime.of(2018, 1, 2, 3, 4, 5, 100_000_000), LocalDateTimeCodec.parse("2018-01-02 03:04:05.1"));
+        assertEquals(LocalDateTime.of(2018, 1, 2, 3, 4, 5, 123_456_789), LocalDateTimeCodec.parse("2018-01-02 03:04:05.123456789"));
+    }
+
+    @Test
+    public void test_parseInvalid() {
+        for (String s : new String[]{
+                "", "2018-01-02", "2018-01-02T03:04:05", "2018-01-02 03:04:05.", "2018-01-02 03:04:05,123",
+                "2018-13-02 03:04:05", "2018-02-30 03:04:05", "2018-01-02 24:00:00", "2018-01-0a 03:04:05",
+                "2018-01-02 03:04:05.1234567890"
+        }) {
+            try {
+                LocalDateTimeCodec.parse(s);
+                fail("Ожидалось исключение DateTimeParseException для '" + s + "'!");
+            } catch (DateTimeParseException ignored) {
+            }
+        }
+    }
+
+    private static LocalDateTime randomDate() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        return LocalDateTime.of(
+                r.nextInt(1, 10000), r.nextInt(1, 13), r.nextInt(1, 29),
+                r.nextInt(24), r.nextInt(60), r.nextInt(60), r.nextInt(1000) * 1_000_000
+        );
+    }
+}
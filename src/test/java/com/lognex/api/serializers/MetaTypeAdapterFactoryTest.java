@@ -0,0 +1,125 @@
+package com.lognex.api.serializers;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.entities.agents.AgentEntity;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.entities.documents.DemandDocumentEntity;
+import com.lognex.api.entities.documents.DocumentPosition;
+import com.lognex.api.entities.products.ProductEntity;
+import com.lognex.api.entities.products.VariantEntity;
+import com.lognex.api.utils.TestAsserts;
+import com.lognex.api.utils.TestRandomizers;
+import com.lognex.api.utils.json.MetaTypeAdapterFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class MetaTypeAdapterFactoryTest implements TestAsserts, TestRandomizers {
+    @Test
+    public void test_metaFirst() {
+        Gson gson = LognexApi.createGson();
+
+        DocumentPosition position = gson.fromJson("{" +
+                "\"meta\":{\"href\":\"https://test/position\",\"type\":\"demandposition\"}," +
+                "\"quantity\":2.0," +
+                "\"assortment\":{" +
+                "\"meta\":{\"href\":\"https://test/product\",\"type\":\"product\"}," +
+                "\"unknownObject\":{\"a\":[1,2,{\"b\":null}]}," +
+                "\"name\":\"product\"," +
+                "\"things\":[\"1\",\"2\"]," +
+                "\"supplier\":{\"meta\":{\"href\":\"https://test/counterparty\",\"type\":\"counterparty\"},\"name\":\"supplier\"}" +
+                "}," +
+                "\"price\":100" +
+                "}", DocumentPosition.class);
+
+        assertEquals(Double.valueOf(2), position.getQuantity());
+        assertEquals(Long.valueOf(100), position.getPrice());
+
+        ProductEntity product = (ProductEntity) position.getAssortment();
+        assertEquals("https://test/product", product.getMeta().getHref());
+        assertEquals(Meta.Type.product, product.getMeta().getType());
+        assertEquals("product", product.getName());
+        assertEquals(Arrays.asList("1", "2"), product.getThings());
+
+        CounterpartyEntity supplier = (CounterpartyEntity) product.getSupplier();
+        assertEquals("https://test/counterparty", supplier.getMeta().getHref());
+        assertEquals("supplier", supplier.getName());
+    }
+
+    @Test
+    public void test_metaNotFirst() {
+        Gson gson = LognexApi.createGson();
+
+        DocumentPosition position = gson.fromJson("{" +
+                "\"assortment\":{\"name\":\"variant\",\"meta\":{\"href\":\"https://test/variant\",\"type\":\"variant\"}}" +
+                "}", DocumentPosition.class);
+
+        VariantEntity variant = (VariantEntity) position.getAssortment();
+        assertEquals("variant", variant.getName());
+        assertEquals("https://test/variant", variant.getMeta().getHref());
+    }
+
+    @Test
+    public void test_nullAndEmpty() {
+        Gson gson = LognexApi.createGson();
+
+        assertNull(gson.fromJson("{\"assortment\":null}", DocumentPosition.class).getAssortment());
+
+        try {
+            gson.fromJson("{\"assortment\":{}}", DocumentPosition.class);
+            fail("Ожидалось исключение JsonParseException!");
+        } catch (JsonParseException e) {
+            assertEquals("Can't parse field 'product': meta is null", e.getMessage());
+        }
+
+        try {
+            gson.fromJson("{\"meta\":null,\"name\":\"agent\"}", AgentEntity.class);
+            fail("Ожидалось исключение JsonParseException!");
+        } catch (JsonParseException e) {
+            assertEquals("Can't parse field 'agent': meta is null", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_serializeAgentAsBaseClass() {
+        Gson gson = LognexApi.createGson();
+
+        CounterpartyEntity agent = new CounterpartyEntity();
+        agent.setMeta(new Meta());
+        agent.getMeta().setType(Meta.Type.counterparty);
+        agent.setTags(Arrays.asList("tag"));
+
+        DemandDocumentEntity demand = new DemandDocumentEntity();
+        demand.setAgent(agent);
+
+        assertEquals("{\"agent\":{\"meta\":{\"type\":\"counterparty\"}}}", gson.toJson(demand));
+    }
+
+    @Test
+    public void test_mapFieldInSubtype() {
+        Gson gson = new GsonBuilder().
+                registerTypeAdapterFactory(new MetaTypeAdapterFactory("entity", MetaEntity.class).subtype(Meta.Type.product, MapEntity.class)).
+                create();
+
+        MapEntity entity = (MapEntity) gson.fromJson(
+                "{\"meta\":{\"type\":\"product\"},\"values\":{\"1\":\"one\",\"2\":\"two\"},\"name\":\"map\"}",
+                MetaEntity.class
+        );
+
+        assertEquals(Meta.Type.product, entity.getMeta().getType());
+        assertEquals("map", entity.getName());
+        assertEquals("two", entity.values.get(2));
+    }
+
+    private static final class MapEntity extends MetaEntity {
+        private Map<Integer, String> values;
+    }
+}
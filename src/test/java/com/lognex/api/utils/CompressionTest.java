@@ -0,0 +1,110 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class CompressionTest {
+    private static final String page = "{\"meta\":{\"size\":2},\"rows\":[{\"name\":\"1\"},{\"name\":\"2\"}]}";
+
+    @Test
+    public void test_gzipResponse() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().byDefault(r -> compressedResponse("gzip"));
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client);
+
+        assertEquals(2, api.entity().counterparty().get().getRows().size());
+        assertEquals("gzip, deflate", client.getLastExecutedRequest().getFirstHeader("Accept-Encoding").getValue());
+
+        List<String> names = new ArrayList<>();
+        api.entity().counterparty().get(c -> names.add(c.getName()));
+        assertEquals(2, names.size());
+    }
+
+    @Test
+    public void test_deflateResponse() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().byDefault(r -> compressedResponse("deflate"));
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client);
+
+        assertEquals("2", api.entity().counterparty().get().getRows().get(1).getName());
+    }
+
+    @Test
+    public void test_responseCompressionDisabled() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().respond(200, page);
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client).
+                responseCompression(false);
+
+        api.entity().counterparty().get();
+        assertNull(client.getLastExecutedRequest().getFirstHeader("Accept-Encoding"));
+    }
+
+    @Test
+    public void test_requestCompression() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().
+                respond(200, "[" + String.join(",", Collections.nCopies(200, "{}")) + "]");
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client).
+                requestCompression();
+
+        List<CounterpartyEntity> counterparties = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            CounterpartyEntity counterparty = new CounterpartyEntity();
+            counterparty.setName("Контрагент " + i);
+            counterparties.add(counterparty);
+        }
+
+        api.entity().counterparty().post(counterparties);
+        HttpEntity entity = ((HttpEntityEnclosingRequest) client.getLastExecutedRequest()).getEntity();
+        assertEquals("gzip", entity.getContentEncoding().getValue());
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        entity.writeTo(compressed);
+        String json = readGzip(compressed.toByteArray());
+        assertTrue(json.startsWith("[{\"name\":\"Контрагент 0\"}"));
+
+        CounterpartyEntity counterparty = new CounterpartyEntity();
+        counterparty.setName("1");
+        api.entity().counterparty().post(counterparty);
+        assertNull(((HttpEntityEnclosingRequest) client.getLastExecutedRequest()).getEntity().getContentEncoding());
+    }
+
+    private static ScriptedHttpClient.Response compressedResponse(String encoding) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = encoding.equals("gzip") ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes)) {
+            out.write(page.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        ByteArrayEntity entity = new ByteArrayEntity(bytes.toByteArray(), ContentType.APPLICATION_JSON);
+        entity.setContentEncoding(encoding);
+
+        ScriptedHttpClient.Response response = new ScriptedHttpClient.Response(200);
+        response.setEntity(entity);
+        return response;
+    }
+
+    private static String readGzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+}
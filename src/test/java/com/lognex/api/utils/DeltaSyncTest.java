@@ -0,0 +1,149 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.entities.CurrencyEntity;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.products.ProductEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.json.LocalDateTimeCodec;
+import com.lognex.api.utils.params.ApiParam;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.lognex.api.utils.params.FilterParam.filterEq;
+import static org.junit.Assert.*;
+
+public class DeltaSyncTest {
+    private static final LocalDateTime start = LocalDateTime.of(2018, 6, 1, 12, 0);
+
+    private final List<ProductEntity> server = new ArrayList<>();
+    private final List<String> requests = new ArrayList<>();
+
+    @Test
+    public void test_syncReturnsOnlyChanges() throws IOException, LognexApiException {
+        // По 10 товаров, изменённых в одну секунду
+        for (int i = 0; i < 2500; i++) server.add(product(i, start.plusSeconds(i / 10).plusNanos(i * 1000)));
+
+        InMemoryWatermarkStore store = new InMemoryWatermarkStore();
+        DeltaSync<ProductEntity> sync = sync(store);
+
+        List<String> upserts = new ArrayList<>();
+        assertEquals(2500, sync.sync(e -> upserts.add(e.getId())));
+        assertEquals(2500, new HashSet<>(upserts).size());
+        assertEquals("|order=updated,asc;id,asc|1000|0", requests.get(0));
+        assertTrue(requests.get(1).startsWith("updated>=2018-06-01 12:01:39|"));
+
+        WatermarkStore.Watermark watermark = store.load(sync.getKey());
+        assertEquals(start.plusSeconds(249), watermark.getUpdated());
+        assertEquals(10, watermark.getIds().size());
+
+        // Повторная синхронизация без изменений получает только сущности последней секунды
+        requests.clear();
+        upserts.clear();
+        assertEquals(0, sync.sync(e -> upserts.add(e.getId())));
+        assertEquals(Collections.singletonList("updated>=2018-06-01 12:04:09|order=updated,asc;id,asc|1000|0"), requests);
+
+        // Изменение в секунду отметки и после неё
+        server.get(5).setUpdated(start.plusSeconds(249));
+        server.get(7).setUpdated(start.plusSeconds(300));
+        server.add(product(2500, start.plusSeconds(300)));
+
+        upserts.clear();
+        assertEquals(3, sync.sync(e -> upserts.add(e.getId())));
+        assertEquals(Arrays.asList("00005", "00007", "02500"), upserts);
+        assertEquals(new HashSet<>(Arrays.asList("00007", "02500")), store.load(sync.getKey()).getIds());
+    }
+
+    @Test
+    public void test_boundaryLargerThanPage() throws IOException, LognexApiException {
+        for (int i = 0; i < 2300; i++) server.add(product(i, start));
+
+        DeltaSync<ProductEntity> sync = sync(new InMemoryWatermarkStore());
+        List<String> upserts = new ArrayList<>();
+        assertEquals(2300, sync.sync(e -> upserts.add(e.getId())));
+        assertEquals(2300, new HashSet<>(upserts).size());
+
+        requests.clear();
+        assertEquals(0, sync.sync(e -> fail()));
+        assertEquals(3, requests.size());
+        assertTrue(requests.get(2).endsWith("|1000|2000"));
+    }
+
+    @Test
+    public void test_fileStoreResumesAfterFailure() throws IOException, LognexApiException {
+        for (int i = 0; i < 1500; i++) server.add(product(i, start.plusSeconds(i)));
+
+        File file = Files.createTempDirectory("sync").resolve("watermarks.properties").toFile();
+        DeltaSync<ProductEntity> sync = sync(new FileWatermarkStore(file));
+
+        try {
+            sync.sync(e -> {
+                if (e.getId().equals("01200")) throw new IOException("test");
+            });
+            fail("Ожидалось исключение IOException!");
+        } catch (IOException e) {
+            assertEquals("test", e.getMessage());
+        }
+
+        // Отметка сохранена после первой страницы и прочитана новым хранилищем из файла
+        sync = sync(new FileWatermarkStore(file));
+        assertEquals(start.plusSeconds(999), sync.watermark().getUpdated());
+        assertEquals(Collections.singleton("00999"), sync.watermark().getIds());
+
+        List<String> upserts = new ArrayList<>();
+        assertEquals(500, sync.sync(e -> upserts.add(e.getId())));
+        assertEquals("01000", upserts.get(0));
+
+        sync.reset();
+        assertNull(sync.watermark());
+        assertNull(new FileWatermarkStore(file).load(sync.getKey()));
+    }
+
+    @Test
+    public void test_params() throws IOException, LognexApiException {
+        sync(new InMemoryWatermarkStore()).params(filterEq("archived", "false")).sync(e -> fail());
+        assertEquals(Collections.singletonList("archived=false|order=updated,asc;id,asc|1000|0"), requests);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_entityWithoutUpdated() {
+        new DeltaSync<>("/entity/currency/", CurrencyEntity.class, params -> null, new InMemoryWatermarkStore());
+    }
+
+    private DeltaSync<ProductEntity> sync(WatermarkStore store) {
+        return new DeltaSync<>("/entity/product/", ProductEntity.class, this::page, store);
+    }
+
+    private static ProductEntity product(int i, LocalDateTime updated) {
+        ProductEntity e = new ProductEntity();
+        e.setId(String.format("%05d", i));
+        e.setUpdated(updated);
+        return e;
+    }
+
+    private ListEntity<ProductEntity> page(ApiParam... params) {
+        Map<ApiParam.Type, List<ApiParam>> byType = Arrays.stream(params).collect(Collectors.groupingBy(ApiParam::getType));
+        String filter = byType.containsKey(ApiParam.Type.filter) ? ApiParam.renderStringQueryFromList(ApiParam.Type.filter, byType.get(ApiParam.Type.filter)) : "";
+        String order = ApiParam.renderStringQueryFromList(ApiParam.Type.order, byType.get(ApiParam.Type.order));
+        int limit = Integer.parseInt(ApiParam.renderStringQueryFromList(ApiParam.Type.limit, byType.get(ApiParam.Type.limit)));
+        int offset = Integer.parseInt(ApiParam.renderStringQueryFromList(ApiParam.Type.offset, byType.get(ApiParam.Type.offset)));
+        requests.add(filter + "|order=" + order + "|" + limit + "|" + offset);
+
+        LocalDateTime from = filter.startsWith("updated>=") ? LocalDateTimeCodec.parse(filter.substring(9)) : LocalDateTime.MIN;
+        List<ProductEntity> filtered = server.stream().
+                filter(e -> !e.getUpdated().isBefore(from)).
+                sorted(Comparator.comparing(ProductEntity::getUpdated).thenComparing(ProductEntity::getId)).
+                collect(Collectors.toList());
+
+        ListEntity<ProductEntity> le = new ListEntity<>();
+        le.setMeta(new Meta());
+        le.getMeta().setSize(filtered.size());
+        le.setRows(new ArrayList<>(filtered.subList(Math.min(offset, filtered.size()), Math.min(offset + limit, filtered.size()))));
+        return le;
+    }
+}
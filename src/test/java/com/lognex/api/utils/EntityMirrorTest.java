@@ -0,0 +1,191 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.Entity;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.products.ProductEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.json.LocalDateTimeCodec;
+import com.lognex.api.utils.params.ApiParam;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.lognex.api.utils.params.ExpandParam.expand;
+import static com.lognex.api.utils.params.FilterParam.filterEq;
+import static com.lognex.api.utils.params.LimitParam.limit;
+import static com.lognex.api.utils.params.OffsetParam.offset;
+import static org.junit.Assert.*;
+
+public class EntityMirrorTest {
+    private static final LocalDateTime start = LocalDateTime.of(2018, 6, 1, 12, 0);
+
+    private final List<ProductEntity> server = new ArrayList<>();
+    private int requests;
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("mirror").toFile();
+        for (int i = 0; i < 10; i++) server.add(product(i, start.plusSeconds(i)));
+    }
+
+    @Test
+    public void test_readsAndIndexes() throws IOException, LognexApiException {
+        EntityMirror<ProductEntity> mirror = open();
+        assertEquals(10, mirror.refresh());
+        assertEquals(10, mirror.size());
+
+        ProductEntity product = mirror.get("00003");
+        assertEquals("Товар 3", product.getName());
+        product.setName("Изменено");
+        assertEquals("Товар 3", mirror.get("00003").getName());
+        assertNull(mirror.get("missing"));
+
+        assertEquals("00003", mirror.find(EntityMirror.Index.article, "A-3").get(0).getId());
+        assertEquals("00005", mirror.find(EntityMirror.Index.externalCode, "ext5").get(0).getId());
+        assertEquals("00006", mirror.find(EntityMirror.Index.code, "c6").get(0).getId());
+        assertEquals("00007", mirror.find(EntityMirror.Index.syncId, "sync-7").get(0).getId());
+        assertEquals(5, mirror.find(EntityMirror.Index.article, "A-even").size());
+        assertTrue(mirror.find(EntityMirror.Index.article, "missing").isEmpty());
+
+        ListEntity<ProductEntity> page = mirror.get(filterEq("article", "A-even"), limit(2), offset(1));
+        assertEquals(Integer.valueOf(5), page.getMeta().getSize());
+        assertEquals(Arrays.asList("00002", "00004"), ids(page.getRows()));
+
+        page = mirror.get(filterEq("article", "A-even"), filterEq("code", "c6"));
+        assertEquals(Collections.singletonList("00006"), ids(page.getRows()));
+        assertEquals(10, mirror.get().getRows().size());
+
+        try {
+            mirror.get(expand("owner"));
+            fail("Ожидалось исключение IllegalArgumentException!");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void test_persistsAndRefreshesIncrementally() throws IOException, LognexApiException {
+        open().refresh();
+
+        server.get(2).setArticle("A-new");
+        server.get(2).setUpdated(start.plusSeconds(100));
+        server.add(product(10, start.plusSeconds(100)));
+
+        requests = 0;
+        EntityMirror<ProductEntity> mirror = open();
+        assertEquals(10, mirror.size());
+        assertEquals(0, requests);
+
+        assertEquals(2, mirror.refresh());
+        assertEquals(11, mirror.size());
+        assertEquals(5, mirror.find(EntityMirror.Index.article, "A-even").size());
+        assertEquals("00002", mirror.find(EntityMirror.Index.article, "A-new").get(0).getId());
+
+        mirror = open();
+        assertEquals(11, mirror.size());
+        assertEquals("A-new", mirror.get("00002").getArticle());
+        assertEquals(0, mirror.refresh());
+
+        mirror.clear();
+        assertEquals(0, open().size());
+        assertEquals(11, mirror.refresh());
+    }
+
+    @Test
+    public void test_compactsJournal() throws IOException, LognexApiException {
+        for (int i = 10; i < 1500; i++) server.add(product(i, start.plusSeconds(i)));
+
+        EntityMirror<ProductEntity> mirror = open();
+        assertEquals(1500, mirror.refresh());
+        Path journal = dir.toPath().resolve("entity_product.journal.jsonl");
+        assertFalse(Files.exists(journal));
+        assertEquals(1500, Files.readAllLines(dir.toPath().resolve("entity_product.snapshot.jsonl")).size());
+
+        server.get(0).setUpdated(start.plusSeconds(2000));
+        assertEquals(1, mirror.refresh());
+        assertEquals(1, Files.readAllLines(journal).size());
+
+        // Прерванная запись журнала
+        Files.write(journal, "{\"id\":\"00001\",\"na".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        mirror = open();
+        assertEquals(1500, mirror.size());
+        assertEquals(start.plusSeconds(2000), mirror.get("00000").getUpdated());
+        assertEquals(1, Files.readAllLines(journal).size());
+
+        // Новые записи не дописываются к прерванной строке
+        server.get(1).setUpdated(start.plusSeconds(2001));
+        assertEquals(1, mirror.refresh());
+        assertEquals(2, Files.readAllLines(journal).size());
+
+        mirror = open();
+        assertEquals(1500, mirror.size());
+        assertEquals(start.plusSeconds(2001), mirror.get("00001").getUpdated());
+        assertEquals(start.plusSeconds(2000), mirror.get("00000").getUpdated());
+    }
+
+    @Test
+    public void test_mirrorsShareDirectory() throws IOException, LognexApiException {
+        EntityMirror<ProductEntity> first = open();
+        EntityMirror<ProductEntity> second = EntityMirror.open("entity_service", ProductEntity.class, this::page, LognexApi.getDefaultCodec(false), dir);
+        assertEquals(10, first.refresh());
+        assertEquals(10, second.refresh());
+
+        server.get(3).setUpdated(start.plusSeconds(100));
+        assertEquals(1, first.refresh());
+
+        second = EntityMirror.open("entity_service", ProductEntity.class, this::page, LognexApi.getDefaultCodec(false), dir);
+        assertEquals(1, second.refresh());
+        assertEquals(0, open().refresh());
+    }
+
+    private EntityMirror<ProductEntity> open() throws IOException {
+        return EntityMirror.open("entity_product", ProductEntity.class, this::page, LognexApi.getDefaultCodec(false), dir);
+    }
+
+    private static ProductEntity product(int i, LocalDateTime updated) {
+        ProductEntity e = new ProductEntity();
+        e.setId(String.format("%05d", i));
+        e.setName("Товар " + i);
+        e.setUpdated(updated);
+        e.setArticle(i % 2 == 0 ? "A-even" : "A-" + i);
+        e.setExternalCode("ext" + i);
+        e.setCode("c" + i);
+        e.setSyncId("sync-" + i);
+        return e;
+    }
+
+    private static List<String> ids(List<ProductEntity> rows) {
+        return rows.stream().map(ProductEntity::getId).collect(Collectors.toList());
+    }
+
+    private ListEntity<ProductEntity> page(ApiParam... params) {
+        requests++;
+        Map<ApiParam.Type, List<ApiParam>> byType = Arrays.stream(params).collect(Collectors.groupingBy(ApiParam::getType));
+        String filter = byType.containsKey(ApiParam.Type.filter) ? ApiParam.renderStringQueryFromList(ApiParam.Type.filter, byType.get(ApiParam.Type.filter)) : "";
+        int limit = Integer.parseInt(ApiParam.renderStringQueryFromList(ApiParam.Type.limit, byType.get(ApiParam.Type.limit)));
+        int offset = Integer.parseInt(ApiParam.renderStringQueryFromList(ApiParam.Type.offset, byType.get(ApiParam.Type.offset)));
+
+        LocalDateTime from = filter.startsWith("updated>=") ? LocalDateTimeCodec.parse(filter.substring(9)) : LocalDateTime.MIN;
+        List<ProductEntity> filtered = server.stream().
+                filter(e -> !e.getUpdated().isBefore(from)).
+                sorted(Comparator.comparing(ProductEntity::getUpdated).thenComparing(ProductEntity::getId)).
+                map(Entity::clone).
+                collect(Collectors.toList());
+
+        ListEntity<ProductEntity> le = new ListEntity<>();
+        le.setMeta(new Meta());
+        le.getMeta().setSize(filtered.size());
+        le.setRows(new ArrayList<>(filtered.subList(Math.min(offset, filtered.size()), Math.min(offset + limit, filtered.size()))));
+        return le;
+    }
+}
@@ -0,0 +1,105 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.MetaEntity;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import com.lognex.api.entities.agents.EmployeeEntity;
+import com.lognex.api.entities.documents.DemandDocumentEntity;
+import com.lognex.api.entities.documents.DocumentPosition;
+import com.lognex.api.entities.products.ProductEntity;
+import com.lognex.api.responses.BulkResponse;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.params.ApiParam;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ExpandPlanTest {
+    @Test
+    public void test_params() {
+        ExpandPlan plan = ExpandPlan.of("agent", " state ", "positions", "positions.assortment", "agent", "", null);
+
+        assertEquals(Arrays.asList("agent", "positions.assortment", "state"), plan.getExpandPaths());
+        assertTrue(plan.getResolvePaths().isEmpty());
+        assertEquals(100, plan.limit());
+
+        ApiParam[] params = plan.params();
+        assertEquals(2, params.length);
+        assertEquals("agent,positions.assortment,state", ApiParam.renderStringQueryFromList(ApiParam.Type.expand, Collections.singletonList(params[0])));
+        assertEquals("100", ApiParam.renderStringQueryFromList(ApiParam.Type.limit, Collections.singletonList(params[1])));
+
+        ExpandPlan empty = ExpandPlan.of();
+        assertNull(empty.expand());
+        assertEquals(1000, empty.limit());
+        assertEquals(1, empty.params().length);
+
+        try {
+            ExpandPlan.of("agent..group");
+            fail("Ожидалось исключение IllegalArgumentException!");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void test_resolveBeyondDepth() throws IOException {
+        ScriptedHttpClient client = new ScriptedHttpClient().byDefault(request -> {
+            String uri = request.getRequestLine().getUri();
+            return ScriptedHttpClient.response(200, "{\"name\":\"Сотрудник " + uri.substring(uri.lastIndexOf('/') + 1) + "\"}");
+        });
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client);
+
+        ExpandPlan plan = ExpandPlan.of("positions.assortment.supplier.owner", "agent");
+        assertEquals(Arrays.asList("agent", "positions.assortment.supplier"), plan.getExpandPaths());
+        assertEquals(Collections.singletonList("positions.assortment.supplier.owner"), plan.getResolvePaths());
+
+        List<DemandDocumentEntity> demands = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            demands.add(demand(String.valueOf(i % 3), String.valueOf(i % 2)));
+        }
+
+        BulkResponse<MetaEntity> response = plan.resolve(api, demands);
+
+        assertEquals(3, client.getExecutedRequests().size());
+        assertEquals(20, response.getItems().size());
+        assertFalse(response.hasErrors());
+        assertEquals("Сотрудник 1", owner(demands.get(3), 1).getName());
+        assertEquals("Сотрудник 0", owner(demands.get(3), 0).getName());
+    }
+
+    private static DemandDocumentEntity demand(String firstOwner, String secondOwner) {
+        DemandDocumentEntity demand = new DemandDocumentEntity();
+        demand.setPositions(new ListEntity<>());
+        demand.getPositions().setRows(new ArrayList<>());
+
+        for (String owner : new String[]{firstOwner, secondOwner}) {
+            EmployeeEntity employee = new EmployeeEntity();
+            Meta meta = new Meta();
+            meta.setHref("https://test.moysklad/api/remap/1.1/entity/employee/" + owner);
+            employee.setMeta(meta);
+
+            CounterpartyEntity supplier = new CounterpartyEntity();
+            supplier.setOwner(employee);
+
+            ProductEntity product = new ProductEntity();
+            product.setSupplier(supplier);
+
+            DocumentPosition position = new DocumentPosition();
+            position.setAssortment(product);
+            demand.getPositions().getRows().add(position);
+        }
+
+        return demand;
+    }
+
+    private static EmployeeEntity owner(DemandDocumentEntity demand, int position) {
+        ProductEntity product = (ProductEntity) demand.getPositions().getRows().get(position).getAssortment();
+        return ((CounterpartyEntity) product.getSupplier()).getOwner();
+    }
+}
@@ -0,0 +1,109 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.ExportExtension;
+import com.lognex.api.entities.ExportRequestEntity;
+import com.lognex.api.entities.TemplateEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ExportStreamingTest {
+    private static final byte[] data = new byte[1024 * 1024 + 17];
+
+    static {
+        new Random(1).nextBytes(data);
+    }
+
+    @Test
+    public void test_saveToFile() throws IOException, LognexApiException {
+        LognexApi api = api(new ScriptedHttpClient().byDefault(r -> response()));
+        Path dir = Files.createTempDirectory("export");
+        File file = dir.resolve("sub").resolve("demand.pdf").toFile();
+
+        api.entity().demand("ID").export(new ExportRequestEntity(), file);
+
+        assertArrayEquals(data, Files.readAllBytes(file.toPath()));
+        assertEquals(1, dir.resolve("sub").toFile().list().length);
+    }
+
+    @Test
+    public void test_saveToFileKeepsFileOnError() throws IOException {
+        LognexApi api = api(new ScriptedHttpClient().respond(500, "{\"errors\":[{\"error\":\"Ошибка\"}]}"));
+        Path dir = Files.createTempDirectory("export");
+        Path file = dir.resolve("demand.pdf");
+        Files.write(file, "old".getBytes(StandardCharsets.UTF_8));
+
+        try {
+            api.entity().demand("ID").export(new ExportRequestEntity(), file.toFile());
+            fail("Ожидалось исключение LognexApiException!");
+        } catch (LognexApiException e) {
+            assertEquals(500, e.getStatusCode());
+        }
+
+        assertEquals("old", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        assertEquals(1, dir.toFile().list().length);
+    }
+
+    @Test
+    public void test_writeToStreamAndChannel() throws IOException, LognexApiException {
+        LognexApi api = api(new ScriptedHttpClient().byDefault(r -> response()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        api.entity().demand("ID").export(new ExportRequestEntity(), out);
+        assertArrayEquals(data, out.toByteArray());
+
+        Path file = Files.createTempFile("export", ".pdf");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.position(3);
+            api.entity().demand("ID").export(new ExportRequestEntity(), channel);
+            assertEquals(3 + data.length, channel.position());
+        }
+
+        byte[] written = Files.readAllBytes(file);
+        assertArrayEquals(data, Arrays.copyOfRange(written, 3, written.length));
+    }
+
+    @Test
+    public void test_writeTemplateToChannel() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().byDefault(r -> response());
+        LognexApi api = api(client);
+
+        TemplateEntity template = new TemplateEntity();
+        template.setName("Шаблон");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        api.entity().demand("ID").export(template, ExportExtension.pdf, Channels.newChannel(out));
+        assertArrayEquals(data, out.toByteArray());
+
+        ExportRequestEntity request = api.getCodec().fromJson(new InputStreamReader(
+                ((HttpEntityEnclosingRequest) client.getLastExecutedRequest()).getEntity().getContent(), StandardCharsets.UTF_8
+        ), ExportRequestEntity.class);
+        assertEquals(ExportExtension.pdf, request.getExtension());
+        assertEquals("Шаблон", request.getTemplate().getName());
+    }
+
+    private static LognexApi api(ScriptedHttpClient client) {
+        return new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client);
+    }
+
+    private static ScriptedHttpClient.Response response() {
+        ScriptedHttpClient.Response response = new ScriptedHttpClient.Response(200);
+        response.setEntity(new ByteArrayEntity(data));
+        return response;
+    }
+}
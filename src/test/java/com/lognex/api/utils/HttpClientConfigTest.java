@@ -0,0 +1,62 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.LognexApi;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.*;
+
+public class HttpClientConfigTest {
+    @Test
+    public void test_poolSettings() throws Exception {
+        try (CloseableHttpClient client = new HttpClientConfig().maxConnections(40).maxConnectionsPerRoute(20).validateAfterInactivity(500).build()) {
+            PoolingHttpClientConnectionManager cm = connectionManager(client);
+
+            assertEquals(40, cm.getMaxTotal());
+            assertEquals(20, cm.getDefaultMaxPerRoute());
+            assertEquals(500, cm.getValidateAfterInactivity());
+        }
+    }
+
+    @Test
+    public void test_defaults() throws Exception {
+        try (CloseableHttpClient client = new HttpClientConfig().build()) {
+            PoolingHttpClientConnectionManager cm = connectionManager(client);
+
+            assertEquals(32, cm.getMaxTotal());
+            assertEquals(32, cm.getDefaultMaxPerRoute());
+        }
+
+        assertEquals(0, new HttpClientConfig().getSocketTimeoutMillis());
+    }
+
+    @Test
+    public void test_apiClosesOwnClients() throws Exception {
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", new HttpClientConfig());
+        CloseableHttpAsyncClient asyncClient = api.getAsyncClient();
+        assertTrue(asyncClient.isRunning());
+
+        api.close();
+        assertFalse(asyncClient.isRunning());
+        try {
+            api.getClient().execute(new HttpGet("http://127.0.0.1:1/"));
+            fail("Ожидалось исключение IllegalStateException!");
+        } catch (IllegalStateException ignored) {
+        }
+
+        MockHttpClient client = new MockHttpClient();
+        new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client).close();
+        client.execute(new HttpGet("http://127.0.0.1:1/"));
+    }
+
+    private static PoolingHttpClientConnectionManager connectionManager(CloseableHttpClient client) throws ReflectiveOperationException {
+        Field field = client.getClass().getDeclaredField("connManager");
+        field.setAccessible(true);
+        return (PoolingHttpClientConnectionManager) field.get(client);
+    }
+}
@@ -0,0 +1,117 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.ProductFolderEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.params.ApiParam;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.lognex.api.utils.params.ExpandParam.expand;
+import static com.lognex.api.utils.params.FilterParam.filterEq;
+import static com.lognex.api.utils.params.LimitParam.limit;
+import static com.lognex.api.utils.params.OffsetParam.offset;
+import static org.junit.Assert.*;
+
+public class ListEntityIteratorTest {
+    @Test
+    public void test_iteratesAllPagesLazily() {
+        List<String> requests = new ArrayList<>();
+        ListEntityIterator<ProductFolderEntity> it = new ListEntityIterator<>(
+                params -> page(requests, 2500, params),
+                filterEq("name", "a"), limit(5), offset(10)
+        );
+
+        assertTrue(requests.isEmpty());
+        assertNull(it.getSize());
+
+        int count = 0;
+        while (it.hasNext()) {
+            ProductFolderEntity e = it.next();
+            assertEquals(String.valueOf(count), e.getId());
+            count++;
+
+            if (count == 1) assertEquals(1, requests.size());
+        }
+
+        assertEquals(2500, count);
+        assertEquals(Integer.valueOf(2500), it.getSize());
+        assertEquals(
+                Arrays.asList("name=a|1000|0", "name=a|1000|1000", "name=a|1000|2000"),
+                requests
+        );
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void test_expandReducesPageSize() {
+        List<String> requests = new ArrayList<>();
+        List<ProductFolderEntity> rows = ListEntityIterator.stream(new ListEntityIterator<>(
+                params -> page(requests, 150, params),
+                expand("owner")
+        )).collect(Collectors.toList());
+
+        assertEquals(150, rows.size());
+        assertEquals(Arrays.asList("|100|0", "|100|100"), requests);
+    }
+
+    @Test
+    public void test_emptyList() {
+        List<String> requests = new ArrayList<>();
+        Iterator<ProductFolderEntity> it = new ListEntityIterator<>(params -> page(requests, 0, params));
+
+        assertFalse(it.hasNext());
+        assertFalse(it.hasNext());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void test_exceptionsAreUnchecked() {
+        Iterator<ProductFolderEntity> it = new ListEntityIterator<>(params -> {
+            throw new IOException("test");
+        });
+
+        try {
+            it.hasNext();
+            fail("Ожидалось исключение UncheckedIOException!");
+        } catch (UncheckedIOException e) {
+            assertEquals("test", e.getCause().getMessage());
+        }
+
+        it = new ListEntityIterator<>(params -> {
+            throw new LognexApiException("uri", 500, "Internal Server Error");
+        });
+
+        try {
+            it.hasNext();
+            fail("Ожидалось исключение UncheckedLognexApiException!");
+        } catch (UncheckedLognexApiException e) {
+            assertEquals(500, e.getCause().getStatusCode());
+        }
+    }
+
+    private static ListEntity<ProductFolderEntity> page(List<String> requests, int size, ApiParam... params) {
+        Map<ApiParam.Type, List<ApiParam>> byType = Arrays.stream(params).collect(Collectors.groupingBy(ApiParam::getType));
+        String filter = byType.containsKey(ApiParam.Type.filter) ? ApiParam.renderStringQueryFromList(ApiParam.Type.filter, byType.get(ApiParam.Type.filter)) : "";
+        int limit = Integer.parseInt(ApiParam.renderStringQueryFromList(ApiParam.Type.limit, byType.get(ApiParam.Type.limit)));
+        int offset = Integer.parseInt(ApiParam.renderStringQueryFromList(ApiParam.Type.offset, byType.get(ApiParam.Type.offset)));
+        requests.add(filter + "|" + limit + "|" + offset);
+
+        ListEntity<ProductFolderEntity> le = new ListEntity<>();
+        le.setMeta(new Meta());
+        le.getMeta().setSize(size);
+        le.getMeta().setLimit(limit);
+        le.getMeta().setOffset(offset);
+        le.setRows(new ArrayList<>());
+        for (int i = offset; i < Math.min(size, offset + limit); i++) {
+            ProductFolderEntity e = new ProductFolderEntity();
+            e.setId(String.valueOf(i));
+            le.getRows().add(e);
+        }
+        return le;
+    }
+}
@@ -0,0 +1,118 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.ProductFolderEntity;
+import com.lognex.api.responses.ListEntity;
+import com.lognex.api.utils.params.ApiParam;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class ParallelListEntityIteratorTest {
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void test_rowsInOrder() {
+        List<Integer> offsets = Collections.synchronizedList(new ArrayList<>());
+        ParallelListEntityIterator<ProductFolderEntity> it = new ParallelListEntityIterator<>(
+                params -> page(offsets, 5500, params),
+                executor, 3
+        );
+
+        int count = 0;
+        while (it.hasNext()) {
+            assertEquals(String.valueOf(count++), it.next().getId());
+        }
+
+        assertEquals(5500, count);
+        assertEquals(Integer.valueOf(5500), it.getSize());
+
+        List<Integer> sorted = new ArrayList<>(offsets);
+        Collections.sort(sorted);
+        assertEquals(Arrays.asList(0, 1000, 2000, 3000, 4000, 5000), sorted);
+        assertEquals(Integer.valueOf(0), offsets.get(0));
+    }
+
+    @Test
+    public void test_prefetchIsBounded() {
+        AtomicInteger requests = new AtomicInteger();
+        ParallelListEntityIterator<ProductFolderEntity> it = new ParallelListEntityIterator<>(
+                params -> {
+                    requests.incrementAndGet();
+                    return page(new ArrayList<>(), 10000, params);
+                },
+                Runnable::run, 2
+        );
+
+        assertTrue(it.hasNext());
+        assertEquals(3, requests.get());
+
+        for (int i = 0; i < 1000; i++) it.next();
+        assertTrue(it.hasNext());
+        assertEquals(4, requests.get());
+
+        it.close();
+        assertFalse(it.hasNext());
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    public void test_errorOnPage() {
+        ParallelListEntityIterator<ProductFolderEntity> it = new ParallelListEntityIterator<>(
+                params -> {
+                    ListEntity<ProductFolderEntity> le = page(new ArrayList<>(), 3000, params);
+                    if (le.getMeta().getOffset() == 2000) throw new LognexApiException("uri", 503, "Service Unavailable");
+                    return le;
+                },
+                executor, 2
+        );
+
+        List<ProductFolderEntity> rows = new ArrayList<>();
+        try {
+            while (it.hasNext()) rows.add(it.next());
+            fail("Ожидалось исключение UncheckedLognexApiException!");
+        } catch (UncheckedLognexApiException e) {
+            assertEquals(503, e.getCause().getStatusCode());
+        }
+
+        assertEquals(2000, rows.size());
+    }
+
+    private static ListEntity<ProductFolderEntity> page(List<Integer> offsets, int size, ApiParam... params) {
+        Map<ApiParam.Type, List<ApiParam>> byType = Arrays.stream(params).collect(Collectors.groupingBy(ApiParam::getType));
+        int limit = Integer.parseInt(ApiParam.renderStringQueryFromList(ApiParam.Type.limit, byType.get(ApiParam.Type.limit)));
+        int offset = Integer.parseInt(ApiParam.renderStringQueryFromList(ApiParam.Type.offset, byType.get(ApiParam.Type.offset)));
+        offsets.add(offset);
+
+        ListEntity<ProductFolderEntity> le = new ListEntity<>();
+        le.setMeta(new Meta());
+        le.getMeta().setSize(size);
+        le.getMeta().setLimit(limit);
+        le.getMeta().setOffset(offset);
+        le.setRows(new ArrayList<>());
+        for (int i = offset; i < Math.min(size, offset + limit); i++) {
+            ProductFolderEntity e = new ProductFolderEntity();
+            e.setId(String.valueOf(i));
+            le.getRows().add(e);
+        }
+        return le;
+    }
+}
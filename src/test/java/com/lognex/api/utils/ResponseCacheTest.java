@@ -0,0 +1,129 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.CurrencyEntity;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ResponseCacheTest {
+    private static final String currency = "{\"id\":\"ID\",\"version\":1,\"name\":\"руб\",\"meta\":{\"href\":\"https://test.moysklad/api/remap/1.1/entity/currency/ID\"}}";
+
+    @Test
+    public void test_hit() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().respond(200, currency);
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+        LognexApi api = api(client).responseCache(cache);
+
+        CurrencyEntity first = api.entity().currency().get("ID");
+        first.setName("изменено");
+        first.getMeta().setHref("изменено");
+        CurrencyEntity second = api.entity().currency().get("ID");
+
+        assertEquals("руб", second.getName());
+        assertEquals("https://test.moysklad/api/remap/1.1/entity/currency/ID", second.getMeta().getHref());
+        assertNotSame(first, second);
+        assertEquals(1, client.getExecutedRequests().size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void test_revalidateWithEtag() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().
+                respond(200, currency, "ETag", "\"v1\"").
+                respond(304, null);
+        InMemoryResponseCache cache = new InMemoryResponseCache(10, 0);
+        LognexApi api = api(client).responseCache(cache);
+
+        api.entity().currency().get("ID");
+        CurrencyEntity revalidated = api.entity().currency().get("ID");
+
+        assertEquals("руб", revalidated.getName());
+        assertEquals("\"v1\"", client.getLastExecutedRequest().getFirstHeader("If-None-Match").getValue());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getRevalidationCount());
+    }
+
+    @Test
+    public void test_revalidateWithVersion() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().
+                respond(200, currency).
+                respond(200, currency).
+                respond(200, "{\"id\":\"ID\",\"version\":2,\"name\":\"RUB\"}");
+        InMemoryResponseCache cache = new InMemoryResponseCache(10, 0);
+        LognexApi api = api(client).responseCache(cache);
+
+        api.entity().currency().get("ID");
+        assertEquals("руб", api.entity().currency().get("ID").getName());
+        assertEquals(1, cache.getRevalidationCount());
+        assertNull(client.getLastExecutedRequest().getFirstHeader("If-None-Match"));
+
+        assertEquals("RUB", api.entity().currency().get("ID").getName());
+        assertEquals(1, cache.getRevalidationCount());
+    }
+
+    @Test
+    public void test_invalidateOnUpdate() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().byDefault(r -> ScriptedHttpClient.response(200, currency));
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+        LognexApi api = api(client).responseCache(cache);
+
+        CurrencyEntity entity = api.entity().currency().get("ID");
+        api.entity().currency().put("ID", entity);
+        api.entity().currency().get("ID");
+
+        assertEquals(3, client.getExecutedRequests().size());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void test_invalidateOnBulkUpdateAndDelete() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().byDefault(r -> ScriptedHttpClient.response(
+                200, r.getRequestLine().getUri().endsWith("/ID") ? currency : "[" + currency + "]"
+        ));
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+        LognexApi api = api(client).responseCache(cache);
+
+        CurrencyEntity entity = api.entity().currency().get("ID");
+        api.entity().currency().post(Collections.singletonList(entity));
+        api.entity().currency().get("ID");
+        assertEquals(0, cache.getHitCount());
+        assertEquals("https://test.moysklad/api/remap/1.1/entity/currency/", client.getExecutedRequests().get(1).getRequestLine().getUri());
+
+        api.entity().currency().get("ID");
+        assertEquals(1, cache.getHitCount());
+
+        api.entity().currency().deleteEntities(Collections.singletonList(entity));
+        assertTrue(client.getLastExecutedRequest().getRequestLine().getUri().endsWith("/delete"));
+        api.entity().currency().get("ID");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(5, client.getExecutedRequests().size());
+    }
+
+    @Test
+    public void test_evictionAndCacheableClasses() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().byDefault(r -> ScriptedHttpClient.response(200, currency));
+        InMemoryResponseCache cache = new InMemoryResponseCache(1, 60_000, CurrencyEntity.class);
+        LognexApi api = api(client).responseCache(cache);
+
+        api.entity().currency().get("1");
+        api.entity().currency().get("2");
+        api.entity().currency().get("1");
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(1, cache.size());
+
+        api.entity().counterparty().get("1");
+        api.entity().counterparty().get("1");
+        assertEquals(5, client.getExecutedRequests().size());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    private static LognexApi api(ScriptedHttpClient client) {
+        return new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client);
+    }
+}
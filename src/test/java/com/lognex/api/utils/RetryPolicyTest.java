@@ -0,0 +1,116 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.agents.CounterpartyEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.SocketException;
+
+import static org.junit.Assert.*;
+
+public class RetryPolicyTest {
+    private ScriptedHttpClient client;
+    private LognexApi api;
+
+    @Before
+    public void init() {
+        client = new ScriptedHttpClient();
+        api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client).
+                retryPolicy(new RetryPolicy().initialDelay(1).maxDelay(5));
+    }
+
+    @Test
+    public void test_retryOnStatus() throws IOException, LognexApiException {
+        client.respond(503, "{\"errors\":[]}").respond(429, "{\"errors\":[]}");
+
+        CounterpartyEntity e = api.entity().counterparty().get("ID");
+
+        assertNotNull(e);
+        assertEquals(3, client.getExecutedRequests().size());
+    }
+
+    @Test
+    public void test_retryOnIOException() throws IOException, LognexApiException {
+        client.fail(new SocketException("Connection reset"));
+
+        api.entity().counterparty().delete("ID");
+
+        assertEquals(2, client.getExecutedRequests().size());
+    }
+
+    @Test
+    public void test_maxAttempts() throws IOException {
+        client.respond(500, "{\"errors\":[]}").respond(500, "{\"errors\":[]}").respond(500, "{\"errors\":[]}");
+
+        try {
+            api.entity().counterparty().get("ID");
+            fail("Ожидалось исключение LognexApiException!");
+        } catch (LognexApiException e) {
+            assertEquals(500, e.getStatusCode());
+        }
+
+        assertEquals(3, client.getExecutedRequests().size());
+    }
+
+    @Test
+    public void test_notRetryable() throws IOException {
+        client.respond(400, "{\"errors\":[]}");
+
+        try {
+            api.entity().counterparty().get("ID");
+            fail("Ожидалось исключение LognexApiException!");
+        } catch (LognexApiException e) {
+            assertEquals(400, e.getStatusCode());
+        }
+
+        assertEquals(1, client.getExecutedRequests().size());
+    }
+
+    @Test
+    public void test_postNotRetriedByDefault() throws IOException {
+        client.respond(503, "{\"errors\":[]}");
+
+        try {
+            api.entity().counterparty().post(new CounterpartyEntity());
+            fail("Ожидалось исключение LognexApiException!");
+        } catch (LognexApiException e) {
+            assertEquals(503, e.getStatusCode());
+        }
+
+        assertEquals(1, client.getExecutedRequests().size());
+
+        RetryPolicy policy = new RetryPolicy();
+        assertFalse(policy.shouldRetry(new HttpPost("http://test"), 503, 1));
+        assertTrue(policy.retryNonIdempotent(true).shouldRetry(new HttpPost("http://test"), 503, 1));
+    }
+
+    @Test
+    public void test_delay() {
+        RetryPolicy policy = new RetryPolicy().initialDelay(100).multiplier(2).maxDelay(1000).jitter(0);
+
+        assertEquals(100, policy.delayMillis(1, null));
+        assertEquals(200, policy.delayMillis(2, null));
+        assertEquals(400, policy.delayMillis(3, null));
+        assertEquals(1000, policy.delayMillis(10, null));
+
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 429, "Too Many Requests");
+        response.setHeader("X-Lognex-Retry-After", "3000");
+        assertEquals(3000, policy.delayMillis(1, response));
+
+        policy.jitter(0.5);
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.delayMillis(2, null);
+            assertTrue(delay >= 100 && delay <= 200);
+        }
+
+        assertFalse(policy.shouldRetry(new HttpGet("http://test"), 503, 3));
+        assertTrue(policy.shouldRetry(new HttpGet("http://test"), 503, 2));
+    }
+}
@@ -0,0 +1,100 @@
+package com.lognex.api.utils;
+
+import lombok.Getter;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * HTTP-клиент для тестов, отвечающий на запросы заранее заданными ответами
+ * (по очереди, а когда очередь пуста — с помощью обработчика по умолчанию)
+ */
+public class ScriptedHttpClient extends CloseableHttpClient {
+    private final Deque<Object> script = new ArrayDeque<>();
+
+    @Getter
+    private final List<HttpRequest> executedRequests = Collections.synchronizedList(new ArrayList<>());
+
+    private Function<HttpRequest, CloseableHttpResponse> defaultHandler = r -> response(200, "{}");
+
+    public static Response response(int statusCode, String body) {
+        Response response = new Response(statusCode);
+        if (body != null) response.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return response;
+    }
+
+    public ScriptedHttpClient respond(int statusCode, String body, String... headers) {
+        Response response = response(statusCode, body);
+        for (int i = 0; i + 1 < headers.length; i += 2) {
+            response.setHeader(headers[i], headers[i + 1]);
+        }
+        script.add(response);
+        return this;
+    }
+
+    public ScriptedHttpClient fail(IOException e) {
+        script.add(e);
+        return this;
+    }
+
+    public ScriptedHttpClient byDefault(Function<HttpRequest, CloseableHttpResponse> handler) {
+        this.defaultHandler = handler;
+        return this;
+    }
+
+    public HttpRequest getLastExecutedRequest() {
+        synchronized (executedRequests) {
+            return executedRequests.isEmpty() ? null : executedRequests.get(executedRequests.size() - 1);
+        }
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(HttpHost httpHost, HttpRequest httpRequest, HttpContext httpContext) throws IOException {
+        executedRequests.add(httpRequest);
+
+        Object next;
+        synchronized (script) {
+            next = script.poll();
+        }
+
+        if (next instanceof IOException) throw (IOException) next;
+        if (next != null) return (CloseableHttpResponse) next;
+        return defaultHandler.apply(httpRequest);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public HttpParams getParams() {
+        return null;
+    }
+
+    @Override
+    public ClientConnectionManager getConnectionManager() {
+        return null;
+    }
+
+    public static class Response extends BasicHttpResponse implements CloseableHttpResponse {
+        public Response(int statusCode) {
+            super(HttpVersion.HTTP_1_1, statusCode, "Status " + statusCode);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
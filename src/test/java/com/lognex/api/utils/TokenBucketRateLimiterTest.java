@@ -0,0 +1,137 @@
+package com.lognex.api.utils;
+
+import com.lognex.api.LognexApi;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TokenBucketRateLimiterTest {
+    @Test
+    public void test_burstThenRefill() throws IOException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 500, 5);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire();
+            limiter.release();
+        }
+        assertTrue(elapsedMillis(start) < 100);
+
+        limiter.acquire();
+        limiter.release();
+        assertTrue(elapsedMillis(start) >= 80);
+    }
+
+    @Test
+    public void test_maxConcurrent() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1000, 1);
+        limiter.acquire();
+
+        AtomicBoolean acquired = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                limiter.acquire();
+                acquired.set(true);
+                limiter.release();
+            } catch (IOException ignored) {
+            }
+            done.countDown();
+        });
+        thread.start();
+
+        assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+        assertFalse(acquired.get());
+
+        limiter.release();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertTrue(acquired.get());
+    }
+
+    @Test
+    public void test_pauseOn429() throws IOException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1000, 5);
+
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 429, "Too Many Requests");
+        response.setHeader("X-Lognex-Retry-After", "200");
+
+        limiter.acquire();
+        limiter.onResponse(response);
+        limiter.release();
+
+        long start = System.nanoTime();
+        limiter.acquire();
+        limiter.release();
+        assertTrue(elapsedMillis(start) >= 150);
+    }
+
+    @Test
+    public void test_retryAfterHeaders() {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 429, "Too Many Requests");
+        assertEquals(0, TokenBucketRateLimiter.retryAfterMillis(response));
+
+        response.setHeader("Retry-After", "2");
+        assertEquals(2000, TokenBucketRateLimiter.retryAfterMillis(response));
+
+        response.setHeader("X-Lognex-Reset", "1500");
+        assertEquals(1500, TokenBucketRateLimiter.retryAfterMillis(response));
+
+        response.setHeader("X-Lognex-Retry-After", "700");
+        assertEquals(700, TokenBucketRateLimiter.retryAfterMillis(response));
+    }
+
+    @Test
+    public void test_sharedByLogin() {
+        assertSame(TokenBucketRateLimiter.forLogin("admin@test"), TokenBucketRateLimiter.forLogin("admin@test"));
+        assertNotSame(TokenBucketRateLimiter.forLogin("admin@test"), TokenBucketRateLimiter.forLogin("user@test"));
+
+        LognexApi api = new LognexApi("test.moysklad", true, "admin@test", "", new MockHttpClient()).rateLimit();
+        assertSame(TokenBucketRateLimiter.forLogin("admin@test"), api.getRateLimiter());
+    }
+
+    @Test
+    public void test_usedByExecutor() throws IOException, LognexApiException {
+        AtomicInteger acquired = new AtomicInteger();
+        AtomicInteger responses = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", new MockHttpClient());
+        api.rateLimiter(new RateLimiter() {
+            @Override
+            public void acquire() {
+                acquired.incrementAndGet();
+            }
+
+            @Override
+            public void onResponse(HttpResponse response) {
+                responses.incrementAndGet();
+            }
+
+            @Override
+            public void release() {
+                released.incrementAndGet();
+            }
+        });
+
+        api.entity().counterparty().get();
+        api.entity().counterparty().get("ID");
+        api.entity().counterparty().delete("ID");
+
+        assertEquals(3, acquired.get());
+        assertEquals(3, responses.get());
+        assertEquals(3, released.get());
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,125 @@
+package com.lognex.api.utils;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.lognex.api.LognexApi;
+import com.lognex.api.entities.CurrencyEntity;
+import com.lognex.api.entities.Meta;
+import com.lognex.api.entities.WebHookEntity;
+import com.lognex.api.entities.WebHookEventEntity;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WebHookReceiverTest {
+    private static final String HREF = "https://online.moysklad.ru/api/remap/1.1/entity/product/7944ef04-f831-11e5-7a69-971500188b19";
+    private static final String BODY = "{\"events\":[" +
+            "{\"meta\":{\"type\":\"product\",\"href\":\"" + HREF + "\"},\"action\":\"UPDATE\",\"accountId\":\"84e60e93-f826-11e5-7a69-8f550000094d\"}," +
+            "{\"meta\":{\"type\":\"product\",\"href\":\"" + HREF + "1\"},\"action\":\"DELETE\",\"accountId\":\"84e60e93-f826-11e5-7a69-8f550000094d\"}" +
+            "]}";
+
+    private final LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", new ScriptedHttpClient());
+    private WebHookReceiver receiver;
+
+    @After
+    public void tearDown() {
+        if (receiver != null) receiver.close();
+    }
+
+    @Test
+    public void test_receivesEvents() throws IOException {
+        List<WebHookEventEntity> events = new ArrayList<>();
+        receiver = new WebHookReceiver(api).
+                listener(events::add).
+                start(new InetSocketAddress("127.0.0.1", 0), "/moysklad");
+
+        assertEquals(200, request("POST", BODY));
+        assertEquals(2, events.size());
+        assertEquals(WebHookEntity.EntityAction.UPDATE, events.get(0).getAction());
+        assertEquals(Meta.Type.product, events.get(0).getMeta().getType());
+        assertEquals("7944ef04-f831-11e5-7a69-971500188b19", events.get(0).getEntityId());
+        assertEquals("84e60e93-f826-11e5-7a69-8f550000094d", events.get(0).getAccountId());
+        assertEquals(WebHookEntity.EntityAction.DELETE, events.get(1).getAction());
+
+        assertEquals(405, request("GET", null));
+        assertEquals(400, request("POST", "{\"events\":"));
+        assertEquals(2, events.size());
+
+        receiver.listener(event -> {
+            throw new IllegalStateException("test");
+        });
+        assertEquals(500, request("POST", BODY));
+        assertEquals(3, events.size());
+    }
+
+    @Test
+    public void test_invalidatesCache() throws IOException {
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+        cache.put(HREF, new ResponseCache.Entry(new CurrencyEntity(), null, null));
+        cache.put(HREF + "?expand=owner", new ResponseCache.Entry(new CurrencyEntity(), null, null));
+        cache.put(HREF + "2", new ResponseCache.Entry(new CurrencyEntity(), null, null));
+
+        List<WebHookEventEntity> events = new WebHookReceiver(api).
+                listener(WebHookListener.invalidate(cache)).
+                dispatch(new StringReader(BODY));
+
+        assertEquals(2, events.size());
+        assertNull(cache.get(HREF));
+        assertNull(cache.get(HREF + "?expand=owner"));
+        assertNotNull(cache.get(HREF + "2"));
+    }
+
+    @Test
+    public void test_webhookClient() throws IOException, LognexApiException {
+        ScriptedHttpClient client = new ScriptedHttpClient().respond(200, "{\"id\":\"ID\",\"entityType\":\"product\",\"enabled\":true}");
+        LognexApi api = new LognexApi("test.moysklad", true, "[API_LOGIN]", "[API_PASSWORD]", client);
+
+        WebHookEntity webhook = new WebHookEntity();
+        webhook.setEntityType("product");
+        webhook.setAction(WebHookEntity.EntityAction.UPDATE);
+        webhook.setUrl("http://example.com/moysklad");
+        api.entity().webhook().post(webhook);
+
+        assertEquals("POST", client.getLastExecutedRequest().getRequestLine().getMethod());
+        assertEquals("https://test.moysklad/api/remap/1.1/entity/webhook/", client.getLastExecutedRequest().getRequestLine().getUri());
+        JsonObject body = new JsonParser().parse(IOUtils.toString(
+                ((HttpEntityEnclosingRequest) client.getLastExecutedRequest()).getEntity().getContent(), StandardCharsets.UTF_8
+        )).getAsJsonObject();
+        assertEquals("product", body.get("entityType").getAsString());
+        assertEquals("UPDATE", body.get("action").getAsString());
+        assertEquals("ID", webhook.getId());
+        assertTrue(webhook.getEnabled());
+    }
+
+    private int request(String method, String body) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + receiver.getAddress().getPort() + "/moysklad");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        try {
+            return connection.getResponseCode();
+        } finally {
+            connection.disconnect();
+        }
+    }
+}